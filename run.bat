@@ -1,7 +1,7 @@
 @echo off
 echo Compiling Java source files...
 
-javac -cp "lib/mysql-connector-j-9.2.0.jar;." src\model\*.java src\view\*.java src\viewmodel\*.java src\config\*.java src\Main.java
+javac -cp "lib/mysql-connector-j-9.2.0.jar;." src\model\*.java src\view\*.java src\viewmodel\*.java src\replay\*.java src\bot\*.java src\server\*.java src\net\*.java src\config\*.java src\Main.java
 if %errorlevel% neq 0 (
     echo Compilation failed.
     pause
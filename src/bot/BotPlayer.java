@@ -0,0 +1,102 @@
+/******************************************
+ * Filename		: BotPlayer.java
+ * Description	: Scripted player that drives a GameViewModel through its per-tick input API.
+ *                Picks the best catchable planet, leads the shot by the lasso travel time
+ *                and steers the character towards targets that are out of reach.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-06
+******************************************/
+package bot;
+
+import model.GameCharacter;
+import model.Lasso;
+import model.SkillBall;
+import viewmodel.GameViewModel;
+
+public class BotPlayer {
+    // lasso extension per tick, must match Lasso speed
+    private static final int LASSO_SPEED = 25;
+    // keep some distance from the max length so the catch radius still overlaps
+    private static final int REACH_MARGIN = 40;
+    // dead zone for steering so the character does not jitter around the target
+    private static final int STEER_DEAD_ZONE = 12;
+
+    private final GameViewModel viewModel;  // session driven by this bot
+    private final boolean avoidGas;         // skip gas planets when choosing targets
+
+    public BotPlayer(GameViewModel viewModel, boolean avoidGas) {
+        this.viewModel = viewModel;
+        this.avoidGas = avoidGas;
+    }
+
+    // decide input for the next tick, call before every viewModel.tick()
+    public void act() {
+        GameCharacter character = viewModel.getCharacter();
+        Lasso lasso = viewModel.getLasso();
+        int centerX = character.getX() + character.getWidth() / 2;
+        int centerY = character.getY() + character.getHeight() / 2;
+
+        SkillBall target = chooseTarget(centerX, centerY, lasso.getMaxLength() - REACH_MARGIN);
+        if (target == null) {
+            viewModel.setInput(0);
+            return;
+        }
+
+        // lead the target by the time the lasso needs to reach it
+        int[] aim = predict(target, centerX, centerY);
+        int dx = aim[0] - centerX;
+        int dy = aim[1] - centerY;
+        int reach = lasso.getMaxLength() - REACH_MARGIN;
+
+        if (!lasso.isActive() && dx * dx + dy * dy <= reach * reach) {
+            viewModel.setInput(0);
+            viewModel.requestLasso(aim[0], aim[1]);
+            return;
+        }
+
+        // steer towards the target row and column while waiting
+        int input = 0;
+        if (dy < -STEER_DEAD_ZONE) input |= GameViewModel.INPUT_UP;
+        if (dy > STEER_DEAD_ZONE) input |= GameViewModel.INPUT_DOWN;
+        if (dx < -reach / 2) input |= GameViewModel.INPUT_LEFT;
+        if (dx > reach / 2) input |= GameViewModel.INPUT_RIGHT;
+        viewModel.setInput(input);
+    }
+
+    // highest value free ball, ties broken by distance; balls still off screen are ignored
+    private SkillBall chooseTarget(int centerX, int centerY, int reach) {
+        SkillBall best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (SkillBall ball : viewModel.getSkillBalls()) {
+            if (ball.isCollected() || ball.isInCutscene() || ball.isMovingToBasket()) continue;
+            if (avoidGas && "gas_planet".equals(ball.getBallType())) continue;
+            if (ball.getX() < 0 || ball.getX() > viewModel.getGameWidth()) continue;
+
+            double dx = ball.getX() - centerX;
+            double dy = ball.getY() - centerY;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            // value dominates, distance beyond reach is penalised heavily
+            double score = ball.getValue() - distance * 0.1 - Math.max(0, distance - reach);
+            if (score > bestScore) {
+                bestScore = score;
+                best = ball;
+            }
+        }
+        return best;
+    }
+
+    // ball position when a lasso thrown now would arrive
+    private int[] predict(SkillBall ball, int centerX, int centerY) {
+        int x = ball.getX();
+        int y = ball.getY();
+        // two refinement passes are enough at these speeds
+        for (int pass = 0; pass < 2; pass++) {
+            double distance = Math.hypot(x - centerX, y - centerY);
+            int ticks = (int) Math.ceil(distance / LASSO_SPEED);
+            int step = ball.isMovingRight() ? ball.getSpeed() : -ball.getSpeed();
+            x = ball.getX() + step * ticks;
+        }
+        return new int[] {x, y};
+    }
+}
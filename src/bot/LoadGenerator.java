@@ -0,0 +1,123 @@
+/******************************************
+ * Filename		: LoadGenerator.java
+ * Description	: Runs many independent headless bot sessions in parallel on a fork-join pool.
+ *                Reports sessions per second, ticks per second per core and score write throughput.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-06
+******************************************/
+package bot;
+
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import model.AssetLoading;
+import model.DatabaseService;
+import viewmodel.GameViewModel;
+
+public class LoadGenerator {
+    private static final int GAME_WIDTH = 1280;
+    private static final int GAME_HEIGHT = 720;
+
+    private final int sessions;         // number of independent sessions to run
+    private final int maxTicks;         // tick limit per session, sessions also end on game over
+    private final int parallelism;      // worker threads in the pool
+    private final long seedBase;        // session i uses seedBase + i
+    private final ScoreSink sink;       // where finished scores are written
+
+    // results
+    private final LongAdder totalTicks = new LongAdder();
+    private final LongAdder totalScore = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final AtomicLong finished = new AtomicLong();
+    private long elapsedNanos;
+
+    public LoadGenerator(int sessions, int maxTicks, int parallelism, long seedBase, ScoreSink sink) {
+        this.sessions = sessions;
+        this.maxTicks = maxTicks;
+        this.parallelism = parallelism;
+        this.seedBase = seedBase;
+        this.sink = sink;
+    }
+
+    // run all sessions and block until they are done
+    public void run() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            final int index = i;
+            pool.execute(() -> runSession(index));
+        }
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    // one complete bot session followed by a score write
+    private void runSession(int index) {
+        GameViewModel viewModel = new GameViewModel(GAME_WIDTH, GAME_HEIGHT, seedBase + index);
+        viewModel.setQuiet(true);
+        viewModel.startSimulation("bot-" + index);
+        BotPlayer bot = new BotPlayer(viewModel, true);
+
+        while (viewModel.isGameRunning() && viewModel.getTickCount() < maxTicks) {
+            bot.act();
+            viewModel.tick();
+        }
+
+        long writeStart = System.nanoTime();
+        sink.save(viewModel.getCurrentPlayer());
+        writeNanos.add(System.nanoTime() - writeStart);
+
+        totalTicks.add(viewModel.getTickCount());
+        totalScore.add(viewModel.getCurrentPlayer().getSkor());
+        finished.incrementAndGet();
+    }
+
+    // print throughput summary
+    public void report(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        long ticks = totalTicks.sum();
+        double writeSeconds = writeNanos.sum() / 1e9;
+        out.println("Sessions:        " + finished.get() + " on " + parallelism + " threads in "
+                + String.format("%.2f", seconds) + " s");
+        out.println("Sessions/s:      " + String.format("%.1f", finished.get() / seconds));
+        // threads beyond the core count share cores, so divide by the cores the pool can use
+        int cores = Math.min(parallelism, Runtime.getRuntime().availableProcessors());
+        out.println("Ticks/s:         " + String.format("%.0f", ticks / seconds)
+                + " (" + String.format("%.0f", ticks / seconds / cores) + " per core on " + cores + " cores)");
+        out.println("Score writes/s:  " + String.format("%.0f", finished.get() / Math.max(writeSeconds, 1e-9))
+                + " per writer, avg " + String.format("%.3f", writeSeconds * 1000 / Math.max(1, finished.get())) + " ms");
+        out.println("Average score:   " + String.format("%.1f", totalScore.sum() / (double) Math.max(1, finished.get()))
+                + ", average length " + (ticks / Math.max(1, finished.get())) + " ticks");
+    }
+
+    // usage: java bot.LoadGenerator [sessions] [maxTicks] [threads] [--db]
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : 3750; // one minute of play
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        boolean useDatabase = false;
+        for (String arg : args) {
+            if ("--db".equals(arg)) useDatabase = true;
+        }
+
+        // headless: no sprites, and sessions and score writes keep their log to themselves
+        AssetLoading.setEnabled(false);
+
+        LocalScoreStore localStore = new LocalScoreStore();
+        ScoreSink sink = localStore;
+        if (useDatabase) {
+            DatabaseService database = new DatabaseService();
+            database.setQuiet(true);
+            sink = database::saveOrUpdatePlayer;
+        }
+        LoadGenerator generator = new LoadGenerator(sessions, maxTicks, threads, 1L, sink);
+        generator.run();
+
+        System.out.println("Score backend:   " + (useDatabase ? "MySQL (DatabaseService)" : "local in-memory store"));
+        generator.report(System.out);
+    }
+}
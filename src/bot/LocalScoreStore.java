@@ -0,0 +1,37 @@
+/******************************************
+ * Filename		: LocalScoreStore.java
+ * Description	: In-memory stand-in for the leaderboard table.
+ *                Accumulates score and count per username like DatabaseService does.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-06
+******************************************/
+package bot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import model.Player;
+
+public class LocalScoreStore implements ScoreSink {
+    // username -> {score, count}, same accumulate semantics as the thasil table
+    private final ConcurrentHashMap<String, int[]> rows = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Player player) {
+        rows.merge(player.getUsername(), new int[] {player.getSkor(), player.getCount()},
+                (old, add) -> new int[] {old[0] + add[0], old[1] + add[1]});
+    }
+
+    // all players ordered by score, like DatabaseService.getAllPlayers
+    public List<Player> getAllPlayers() {
+        List<Player> players = new ArrayList<>();
+        rows.forEach((name, row) -> players.add(new Player(name, row[0], row[1])));
+        players.sort((a, b) -> Integer.compare(b.getSkor(), a.getSkor()));
+        return players;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+}
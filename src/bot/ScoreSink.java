@@ -0,0 +1,17 @@
+/******************************************
+ * Filename		: ScoreSink.java
+ * Description	: Destination for finished session scores used by the load generator.
+ *                Implemented by DatabaseService or by the in-memory LocalScoreStore.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-06
+******************************************/
+package bot;
+
+import model.Player;
+
+@FunctionalInterface
+public interface ScoreSink {
+    // store or accumulate the result of one session
+    void save(Player player);
+}
@@ -0,0 +1,53 @@
+/******************************************
+ * Filename		: AnimationClock.java
+ * Description	: model class defining every sprite animation and the frame it shows at a given time.
+ *                an entity keeps only its animation id and the session time the animation started (its phase),
+ *                the frame is derived from the session clock when drawing, so nothing is updated per tick.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-20
+******************************************/
+package model;
+
+public final class AnimationClock {
+    // animation ids
+    public static final int PLANET = 0;
+    public static final int BLACKHOLE = 1;
+    public static final int CHARACTER_IDLE = 2;
+    public static final int CHARACTER_FORWARD = 3;
+    public static final int CHARACTER_BACKWARD = 4;
+    public static final int CHARACTER_UP = 5;
+    public static final int CHARACTER_DOWN = 6;
+
+    // milliseconds each frame is shown, by animation id
+    private static final int[] FRAME_DELAYS = {
+        50,     // planet
+        50,     // blackhole
+        150,    // idle, slower
+        200,    // forward, medium speed for directional movement
+        200,    // backward
+        120,    // up, slightly faster for vertical movement
+        120     // down
+    };
+
+    private AnimationClock() {
+    }
+
+    // frame shown at session time now by an animation that started at phase, looping over frameCount frames
+    public static int frameAt(int animation, long phase, long now, int frameCount) {
+        long elapsed = now - phase;
+        if (frameCount <= 1 || elapsed <= 0) {
+            return 0;
+        }
+        return (int) ((elapsed / FRAME_DELAYS[animation]) % frameCount);
+    }
+
+    // phase that shows frame at time, to carry over state saved as (frame, time of that frame)
+    public static long phaseOf(int animation, int frame, long time) {
+        return time - (long) frame * FRAME_DELAYS[animation];
+    }
+
+    public static int getFrameDelay(int animation) {
+        return FRAME_DELAYS[animation];
+    }
+}
@@ -0,0 +1,26 @@
+/******************************************
+ * Filename		: AssetLoading.java
+ * Description	: model class holding the global switch for sprite loading.
+ *                headless sessions (replays, benchmarks) turn it off so entities skip image decoding.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-02
+******************************************/
+package model;
+
+public final class AssetLoading {
+    // whether entities should load sprites, true for the normal windowed game
+    private static volatile boolean enabled = true;
+
+    private AssetLoading() {
+    }
+
+    // turn sprite loading on or off for entities created afterwards
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,108 @@
+/******************************************
+ * Filename		: BallKernelBenchmark.java
+ * Description	: Throughput check of the scalar and vector lasso reach test.
+ *                For 1k to 1M positions, repeats the test until a measurement lasts about 20 ms, keeps
+ *                the best of several, and prints millions of entities per second for both versions. The
+ *                vector results are compared with the scalar ones first, a mismatch exits with 1. Without
+ *                the vector kernels (see BallKernels) only the scalar column is filled.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-25
+******************************************/
+package model;
+
+import java.util.SplittableRandom;
+
+public class BallKernelBenchmark {
+    private static final int[] ENTITY_COUNTS = {1000, 10000, 100000, 1000000};
+    private static final long TARGET_NANOS = 20_000_000;
+    private static final int ROUNDS = 5;
+
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static volatile int sink;           // keeps results alive so loops are not dropped
+
+    // usage: java --add-modules jdk.incubator.vector model.BallKernelBenchmark
+    public static void main(String[] args) {
+        BallKernels scalar = BallKernels.scalar();
+        BallKernels vector = BallKernels.vector();
+        System.out.println("Kernels: " + scalar.getName() + " against "
+                + (vector == null ? "none (vector kernels not available)" : vector.getName()));
+        // the vector api is only fast once compiled, run the test a while before measuring, with
+        // early hits as well as full scans so no branch is first taken during a measurement
+        Data warmup = new Data(10000);
+        long warmupStart = System.nanoTime();
+        while (System.nanoTime() - warmupStart < WARMUP_NANOS) {
+            time(scalar, warmup, 16);
+            if (vector != null) {
+                time(vector, warmup, 16);
+                warmup.sameResults(scalar, vector);
+            }
+        }
+        System.out.println(String.format("%10s %14s %14s %9s", "entities", "scalar M/s", "vector M/s", "speedup"));
+        for (int count : ENTITY_COUNTS) {
+            Data data = new Data(count);
+            if (vector != null && !data.sameResults(scalar, vector)) {
+                System.out.println("FAIL: vector kernels differ from scalar at " + count + " entities");
+                System.exit(1);
+            }
+            double scalarRate = rate(scalar, data);
+            double vectorRate = vector == null ? Double.NaN : rate(vector, data);
+            System.out.println(String.format("%10d %14.1f %14s %9s", count, scalarRate,
+                    vector == null ? "-" : String.format("%.1f", vectorRate),
+                    vector == null ? "-" : String.format("%.2fx", vectorRate / scalarRate)));
+        }
+        System.out.println("OK: vector and scalar kernels agree");
+    }
+
+    // millions of entities per second, best of ROUNDS after a warm-up round
+    private static double rate(BallKernels kernels, Data data) {
+        int repeats = 1;
+        while (time(kernels, data, repeats) < TARGET_NANOS / 4) {
+            repeats *= 2;
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            best = Math.min(best, time(kernels, data, repeats));
+        }
+        return (double) data.count * repeats / best * 1000;
+    }
+
+    private static long time(BallKernels kernels, Data data, int repeats) {
+        long start = System.nanoTime();
+        for (int r = 0; r < repeats; r++) {
+            // nothing in reach, so the whole array is tested
+            sink += kernels.firstWithin(data.x, data.y, data.eligible, data.count, 640, -500, 60 * 60);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // positions spread a little past the screen, like balls entering and leaving
+    private static final class Data {
+        final int count;
+        final int[] x, y;
+        final boolean[] eligible;
+
+        Data(int count) {
+            this.count = count;
+            SplittableRandom random = new SplittableRandom(count);
+            x = new int[count];
+            y = new int[count];
+            eligible = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                x[i] = random.nextInt(-100, 1380);
+                y[i] = random.nextInt(-100, 820);
+                eligible[i] = random.nextInt(10) != 0;
+            }
+        }
+
+        boolean sameResults(BallKernels scalar, BallKernels vector) {
+            boolean same = true;
+            // a reach test around every 97th position, so hits land on every lane and in the tail
+            for (int i = 0; i < count && same; i += 97) {
+                same = scalar.firstWithin(x, y, eligible, count, x[i], y[i], 60 * 60)
+                        == vector.firstWithin(x, y, eligible, count, x[i], y[i], 60 * 60);
+            }
+            return same;
+        }
+    }
+}
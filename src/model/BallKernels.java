@@ -0,0 +1,73 @@
+/******************************************
+ * Filename		: BallKernels.java
+ * Description	: model class with the data-parallel loop over ball positions held in primitive arrays,
+ *                the lasso reach test. moving and culling balls stay plain loops, vectorizing them was slower.
+ *                the scalar version here always works; simd.VectorBallKernels does the same with the
+ *                jdk.incubator.vector API and is picked at startup when it was compiled and the module is
+ *                added (--add-modules jdk.incubator.vector). -Ddino.simd=false keeps the scalar version.
+ *                both give identical results, positions are whole pixels.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-25
+******************************************/
+package model;
+
+public abstract class BallKernels {
+    private static final String VECTOR_CLASS = "simd.VectorBallKernels";
+    private static final BallKernels SCALAR = new Scalar();
+    private static final BallKernels VECTOR = loadVector();
+    private static final BallKernels SELECTED =
+            VECTOR != null && !"false".equals(System.getProperty("dino.simd")) ? VECTOR : SCALAR;
+
+    // first index below count that is eligible and closer to (centerX, centerY) than the radius, -1 if none;
+    // distances are squared in int like the game does
+    public abstract int firstWithin(int[] x, int[] y, boolean[] eligible, int count,
+                                    int centerX, int centerY, int radiusSquared);
+
+    public abstract String getName();
+
+    // kernels chosen at startup
+    public static BallKernels get() {
+        return SELECTED;
+    }
+
+    public static BallKernels scalar() {
+        return SCALAR;
+    }
+
+    // vector kernels, null when they are not compiled in or the incubator module is missing
+    public static BallKernels vector() {
+        return VECTOR;
+    }
+
+    private static BallKernels loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (BallKernels) Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static final class Scalar extends BallKernels {
+        @Override
+        public int firstWithin(int[] x, int[] y, boolean[] eligible, int count,
+                               int centerX, int centerY, int radiusSquared) {
+            for (int i = 0; i < count; i++) {
+                int dx = centerX - x[i];
+                int dy = centerY - y[i];
+                if (eligible[i] && dx * dx + dy * dy < radiusSquared) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public String getName() {
+            return "scalar";
+        }
+    }
+}
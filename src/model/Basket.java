@@ -8,10 +8,10 @@
 ******************************************/
 package model;
 
-import java.awt.Graphics2D;
 import java.awt.Image;
-import java.awt.image.BufferedImage;
-import javax.swing.ImageIcon;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class Basket {
     // Position and size properties
@@ -21,11 +21,8 @@ public class Basket {
     private int height;                         // height of the basket
     
     // Image and animation properties
-    private Image blackholeImage;               // current displayed image
-    private Image[] animationFrames;            // array storing all animation frames
-    private int currentFrame = 0;               // current animation frame index
-    private long lastFrameTime = 0;             // timestamp of last frame change
-    private static final int FRAME_DELAY = 50;  // milliseconds between animation frames
+    private SpriteFrames animationFrames;       // shared animation frames, null when not loaded
+    private long animationPhase = 0;            // session time the animation started, frames follow the clock
     
     public Basket(int x, int y, int width, int height) {
         this.x = x;
@@ -35,81 +32,21 @@ public class Basket {
         loadImage();
     }
 
+    // loads the blackhole frames (spritesheet preferred, static fallback), shared with other baskets of this size
     private void loadImage() {
-        try {
-            // load animated spritesheet first
-            ImageIcon spriteIcon = new ImageIcon("assets/blackhole_sp.png");
-            
-            // Check if spritesheet loaded successfully
-            if (spriteIcon.getIconWidth() > 0) {
-                System.out.println("Successfully loaded blackhole spritesheet from: assets/blackhole_sp.png");
-                createAnimationFrames(spriteIcon);
-            } else {
-                // Fall back to static image if spritesheet fails
-                loadStaticImage();
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to load blackhole spritesheet, trying static image...");
-            loadStaticImage();
+        // headless sessions render nothing, so skip decoding entirely
+        if (!AssetLoading.isEnabled()) {
+            return;
         }
-    }
-    
-    private void createAnimationFrames(ImageIcon spriteIcon) {
-        try {
-            Image spriteSheet = spriteIcon.getImage();
-            animationFrames = new Image[50]; // standard 50 frames for blackhole animation
-
-            // calculate frame dimensions
-            int frameWidth = spriteSheet.getWidth(null) / 50;
-            int frameHeight = spriteSheet.getHeight(null);
-            
-            System.out.println("Blackhole spritesheet dimensions: " + spriteSheet.getWidth(null) + 
-                             "x" + frameHeight + ", frame width: " + frameWidth);
-            
-            // extract and scale each frame from the spritesheet
-            for (int i = 0; i < 50; i++) {
-                // Create buffered image for each frame
-                BufferedImage frameImg = new BufferedImage(frameWidth, frameHeight, BufferedImage.TYPE_INT_ARGB);
-                Graphics2D g = frameImg.createGraphics();
-                
-                // Extract specific frame from spritesheet
-                g.drawImage(spriteSheet, 0, 0, frameWidth, frameHeight, 
-                           i * frameWidth, 0, (i + 1) * frameWidth, frameHeight, null);
-                g.dispose();
-                
-                // Scale frame to basket size with smooth scaling
-                animationFrames[i] = frameImg.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-            }
-            
-            // set first frame as initial display image
-            blackholeImage = animationFrames[0];
-            System.out.println("Created " + animationFrames.length + " animation frames for blackhole");
-            
-        } catch (Exception e) {
-            System.err.println("Error creating animation frames: " + e.getMessage());
-            loadStaticImage();
-        }
-    }
-
-    private void loadStaticImage() {
-        try {
-            ImageIcon icon = new ImageIcon("assets/blackhole.png");
-            
-            if (icon.getIconWidth() > 0) {
-                blackholeImage = icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                animationFrames = null; // No animation frames for static image
-                System.out.println("Successfully loaded blackhole static image from: assets/blackhole.png");
-            } else {
+        animationFrames = SpriteFrames.strip("assets/blackhole_sp.png", 50, width, height);
+        if (animationFrames == null) {
+            // fall back to static image if spritesheet fails
+            animationFrames = SpriteFrames.single("assets/blackhole.png", width, height);
+            if (animationFrames == null) {
                 System.err.println("Failed to load blackhole.png from assets/ directory");
-                blackholeImage = null;
-                animationFrames = null;
             }
-        } catch (Exception e) {
-            System.err.println("Failed to load static blackhole image: " + e.getMessage());
-            blackholeImage = null;
-            animationFrames = null;
         }
-    }    
+    }
 
     // check if a point is within the basket's area
     public boolean contains(int pointX, int pointY) {
@@ -117,17 +54,17 @@ public class Basket {
                pointY >= y && pointY <= y + height;
     }
     
-    public void updateAnimation() {
-        if (animationFrames != null) {
-            long currentTime = System.currentTimeMillis();
-            // Check if enough time has passed for next frame
-            if (currentTime - lastFrameTime > FRAME_DELAY) {
-                // Cycle to next frame (loops back to 0 after last frame)
-                currentFrame = (currentFrame + 1) % animationFrames.length;
-                blackholeImage = animationFrames[currentFrame];
-                lastFrameTime = currentTime;
-            }
-        }
+    // writes animation state for replay snapshots
+    public void writeState(DataOutput out) throws IOException {
+        // frame 0 at the phase time, older snapshots store (frame, time of that frame) here
+        out.writeInt(0);
+        out.writeLong(animationPhase);
+    }
+    
+    // restores animation state written by writeState
+    public void readState(DataInput in) throws IOException {
+        int frame = in.readInt();
+        animationPhase = AnimationClock.phaseOf(AnimationClock.BLACKHOLE, frame, in.readLong());
     }
     
     // getters and setters
@@ -166,8 +103,18 @@ public class Basket {
         this.height = height; 
     }
     
-    // getter for the current blackhole image
-    public Image getBlackholeImage() { 
-        return blackholeImage; 
+    // getter for the blackhole image shown at session time now
+    public Image getBlackholeImage(long now) { 
+        return animationFrames == null ? null : animationFrames.getFrame(getFrameIndex(now)); 
+    }
+    
+    // shared frames and the index of the one shown at session time now, for atlas drawing
+    public SpriteFrames getFrames() {
+        return animationFrames;
+    }
+    
+    public int getFrameIndex(long now) {
+        return animationFrames == null ? 0
+                : AnimationClock.frameAt(AnimationClock.BLACKHOLE, animationPhase, now, animationFrames.getFrameCount());
     }
 }
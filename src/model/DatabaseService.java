@@ -14,6 +14,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class DatabaseService {    
+    private boolean quiet;  // no console log of each save, for bulk writers such as the load generator
+    
+    // turn the per-save log on or off
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
 
     // test database connection
     public boolean testConnection() {
@@ -58,7 +64,7 @@ public class DatabaseService {
             return;
         }
         
-        System.out.println("Attempting to save player: " + player.getUsername() + 
+        if (!quiet) System.out.println("Attempting to save player: " + player.getUsername() + 
                           " Score: " + player.getSkor() + " Count: " + player.getCount());
         
         // SQL queries for database operations
@@ -67,7 +73,7 @@ public class DatabaseService {
         String updateQuery = "UPDATE thasil SET skor = skor + ?, count = count + ? WHERE username = ?";
         
         try (Connection conn = DatabaseConfig.getConnection()) {
-            System.out.println("Database connection established");
+            if (!quiet) System.out.println("Database connection established");
             
             // Check if player already exists in database
             try (PreparedStatement checkStmt = conn.prepareStatement(checkQuery)) {
@@ -76,23 +82,23 @@ public class DatabaseService {
                 
                 if (rs.next()) {
                     // Player exists - update their scores by adding new values
-                    System.out.println("Player exists, updating scores");
+                    if (!quiet) System.out.println("Player exists, updating scores");
                     try (PreparedStatement updateStmt = conn.prepareStatement(updateQuery)) {
                         updateStmt.setInt(1, player.getSkor());
                         updateStmt.setInt(2, player.getCount());
                         updateStmt.setString(3, player.getUsername());
                         int rowsAffected = updateStmt.executeUpdate();
-                        System.out.println("Updated " + rowsAffected + " rows");
+                        if (!quiet) System.out.println("Updated " + rowsAffected + " rows");
                     }
                 } else {
                     // Player doesn't exist - insert new record
-                    System.out.println("New player, inserting record");
+                    if (!quiet) System.out.println("New player, inserting record");
                     try (PreparedStatement insertStmt = conn.prepareStatement(insertQuery)) {
                         insertStmt.setString(1, player.getUsername());
                         insertStmt.setInt(2, player.getSkor());
                         insertStmt.setInt(3, player.getCount());
                         int rowsAffected = insertStmt.executeUpdate();
-                        System.out.println("Inserted " + rowsAffected + " rows");
+                        if (!quiet) System.out.println("Inserted " + rowsAffected + " rows");
                     }
                 }
             }
@@ -0,0 +1,48 @@
+/******************************************
+ * Filename		: Easing.java
+ * Description	: model class with easing curves stored as lookup tables.
+ *                each curve is sampled once at class load and read back with linear interpolation, so easing
+ *                a tween costs a multiply and two array reads instead of pow, sin or sqrt calls. tables are
+ *                built with StrictMath so every machine eases to the same values.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-21
+******************************************/
+package model;
+
+import java.util.function.DoubleUnaryOperator;
+
+public final class Easing {
+    // samples per curve, the elastic wobble needs the finest steps
+    private static final int SAMPLES = 1024;
+
+    public static final Easing LINEAR = new Easing(t -> t);
+    public static final Easing QUAD_IN = new Easing(t -> t * t);
+    public static final Easing QUAD_OUT = new Easing(t -> 1 - (1 - t) * (1 - t));
+    public static final Easing CUBIC_OUT = new Easing(t -> 1 - StrictMath.pow(1 - t, 3));
+    // overshoots and settles, for a springy pop
+    public static final Easing ELASTIC_OUT = new Easing(t -> t == 0 || t == 1 ? t
+            : StrictMath.pow(2, -10 * t) * StrictMath.sin((t * 10 - 0.75) * (2 * StrictMath.PI / 3)) + 1);
+
+    private final double[] table;           // curve at 0, 1/SAMPLES, ..., 1
+
+    private Easing(DoubleUnaryOperator curve) {
+        table = new double[SAMPLES + 1];
+        for (int i = 0; i <= SAMPLES; i++) {
+            table[i] = curve.applyAsDouble(i / (double) SAMPLES);
+        }
+    }
+
+    // eased progress for t in 0..1, t outside is clamped
+    public double apply(double t) {
+        if (t <= 0) {
+            return table[0];
+        }
+        if (t >= 1) {
+            return table[SAMPLES];
+        }
+        double position = t * SAMPLES;
+        int index = (int) position;
+        return table[index] + (table[index + 1] - table[index]) * (position - index);
+    }
+}
@@ -0,0 +1,255 @@
+/******************************************
+ * Filename		: FrameCache.java
+ * Description	: model class keeping pre-scaled animation frames on disk so later launches skip png decoding
+ *                and smooth scaling. each frame set is one versioned file holding the sha-256 of its source
+ *                sheet, the slice and target size, then raw argb pixels; a changed sheet or size no longer
+ *                matches and the set is rebuilt. pixels are read through a memory-mapped FileChannel straight
+ *                into DataBufferInt backed images.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-19
+******************************************/
+package model;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class FrameCache {
+    private static final int MAGIC = 0x44465243;            // "DFRC"
+    // bump when the file layout or the scaling of SpriteFrames changes, old files are then rebuilt
+    private static final int VERSION = 1;
+    private static final int DIGEST_BYTES = 32;
+    private static final int MAX_KEY_BYTES = 1024;
+    // pixel data starts on a multiple of this offset
+    private static final int ALIGNMENT = 64;
+    private static final DirectColorModel ARGB = (DirectColorModel) ColorModel.getRGBdefault();
+
+    // -Ddino.framecache=<directory>, or off to always decode
+    private static final String DIRECTORY = System.getProperty("dino.framecache", "cache/frames");
+
+    // sheet digests by path, recomputed when the file changes
+    private static final ConcurrentHashMap<String, Digest> digests = new ConcurrentHashMap<>();
+
+    private static volatile long hits;
+    private static volatile long misses;
+
+    private FrameCache() {
+    }
+
+    public static boolean isEnabled() {
+        return !"off".equals(DIRECTORY);
+    }
+
+    // sha-256 of a source sheet, hashed once per file version
+    public static byte[] digest(File source) throws IOException {
+        long modified = source.lastModified();
+        long length = source.length();
+        Digest known = digests.get(source.getPath());
+        if (known != null && known.modified == modified && known.length == length) {
+            return known.hash;
+        }
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 not available", e);
+        }
+        try (InputStream in = Files.newInputStream(source.toPath())) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                sha.update(buffer, 0, read);
+            }
+        }
+        byte[] hash = sha.digest();
+        digests.put(source.getPath(), new Digest(modified, length, hash));
+        return hash;
+    }
+
+    // frames stored for this key and source digest, null when missing or out of date
+    public static BufferedImage[] read(String key, byte[] sourceDigest, int width, int height, int frameCount) {
+        BufferedImage[] frames = readFrames(key, sourceDigest, width, height, frameCount, 0, frameCount);
+        if (isEnabled()) {
+            if (frames != null) hits++;
+            else misses++;
+        }
+        return frames;
+    }
+
+    // a single stored frame, used to bring back a frame the FrameStore evicted
+    public static BufferedImage readFrame(String key, byte[] sourceDigest, int width, int height, int frameCount, int index) {
+        BufferedImage[] frames = readFrames(key, sourceDigest, width, height, frameCount, index, 1);
+        return frames == null ? null : frames[0];
+    }
+
+    // frames first to first + count of a stored set, only that part of the file is mapped
+    private static BufferedImage[] readFrames(String key, byte[] sourceDigest, int width, int height, int frameCount,
+                                              int first, int count) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path file = fileFor(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            int headerSize = headerSize(keyBytes.length);
+            long frameBytes = (long) width * height * 4;
+            if (channel.size() != headerSize + frameCount * frameBytes) {
+                return null;
+            }
+            // check the header with a plain read so stale files are never mapped
+            ByteBuffer header = ByteBuffer.allocate(headerSize);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (!matches(header, keyBytes, sourceDigest, width, height, frameCount)) {
+                return null;
+            }
+
+            IntBuffer pixels = channel.map(FileChannel.MapMode.READ_ONLY, headerSize + first * frameBytes,
+                                           count * frameBytes).asIntBuffer();
+            BufferedImage[] frames = new BufferedImage[count];
+            for (int i = 0; i < count; i++) {
+                int[] data = new int[width * height];
+                pixels.get(data);
+                frames[i] = wrap(data, width, height);
+            }
+            return frames;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable frame cache " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // store frames for later launches, failures only cost the next launch a decode
+    public static void write(String key, byte[] sourceDigest, BufferedImage[] frames, int width, int height) {
+        if (!isEnabled()) {
+            return;
+        }
+        Path file = fileFor(key);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) {
+            return;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), "frames", ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(headerSize(keyBytes.length));
+                header.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height).putInt(frames.length);
+                header.put(sourceDigest).putInt(keyBytes.length).put(keyBytes);
+                header.position(header.capacity()).flip();
+                writeFully(channel, header);
+
+                ByteBuffer pixels = ByteBuffer.allocate(width * height * 4);
+                int[] row = new int[width * height];
+                for (BufferedImage frame : frames) {
+                    frame.getRGB(0, 0, width, height, row, 0, width);
+                    pixels.clear();
+                    pixels.asIntBuffer().put(row);
+                    writeFully(channel, pixels);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write frame cache " + file + ": " + e.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // a stray temp file is harmless
+                }
+            }
+        }
+    }
+
+    public static long getHitCount() {
+        return hits;
+    }
+
+    public static long getMissCount() {
+        return misses;
+    }
+
+    // argb image backed directly by the given pixels
+    private static BufferedImage wrap(int[] data, int width, int height) {
+        DataBufferInt buffer = new DataBufferInt(data, data.length);
+        WritableRaster raster = Raster.createPackedRaster(buffer, width, height, width, ARGB.getMasks(), null);
+        return new BufferedImage(ARGB, raster, false, null);
+    }
+
+    private static boolean matches(ByteBuffer header, byte[] keyBytes, byte[] sourceDigest,
+                                   int width, int height, int frameCount) {
+        if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != width
+                || header.getInt() != height || header.getInt() != frameCount) {
+            return false;
+        }
+        byte[] storedDigest = new byte[DIGEST_BYTES];
+        header.get(storedDigest);
+        if (!Arrays.equals(storedDigest, sourceDigest) || header.getInt() != keyBytes.length) {
+            return false;
+        }
+        byte[] storedKey = new byte[keyBytes.length];
+        header.get(storedKey);
+        return Arrays.equals(storedKey, keyBytes);
+    }
+
+    // magic, version, width, height, count, digest, key length and key, padded to the alignment
+    private static int headerSize(int keyLength) {
+        int size = 5 * 4 + DIGEST_BYTES + 4 + keyLength;
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    // readable name from the sheet plus a hash of the whole key, so different slices never collide
+    private static Path fileFor(String key) {
+        String sheet = new File(key.substring(0, key.indexOf('#'))).getName().replace(".png", "");
+        return Paths.get(DIRECTORY, sheet + "-" + Integer.toHexString(key.hashCode()) + ".frames");
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class Digest {
+        final long modified;
+        final long length;
+        final byte[] hash;
+
+        Digest(long modified, long length, byte[] hash) {
+            this.modified = modified;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+}
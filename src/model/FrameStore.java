@@ -0,0 +1,160 @@
+/******************************************
+ * Filename		: FrameStore.java
+ * Description	: model class keeping sprite memory within a budget: the animation frames of all SpriteFrames
+ *                sets plus the texture atlas pages they are drawn from. pages cannot be dropped while their
+ *                atlas is in use, so a set copied to a page gives up its own frames, and when the total goes
+ *                over the budget the least recently used frames are evicted; a dropped frame is loaded again
+ *                the next time it is asked for. report() lists the memory held by the atlas and by each asset.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-19
+******************************************/
+package model;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FrameStore {
+    // -Ddino.framebudget=<megabytes>, atlas pages included; two pages (32 MB) hold every sprite of the game
+    private static final long DEFAULT_BUDGET_MB = 64;
+
+    private static FrameStore shared;
+
+    private final long budget;                              // bytes
+    private final List<SpriteFrames> sets = new ArrayList<>();
+    private long resident;                                  // bytes of all frames in memory
+    private long atlasBytes;                                // bytes of live texture atlas pages
+    private int atlasPages;
+    private long clock;                                     // ticks on every frame use
+    private long evictions;
+    private long regenerations;
+
+    public FrameStore(long budgetBytes) {
+        this.budget = budgetBytes;
+    }
+
+    // one store for every frame set of the application
+    public static synchronized FrameStore getShared() {
+        if (shared == null) {
+            shared = new FrameStore(Long.getLong("dino.framebudget", DEFAULT_BUDGET_MB) * 1024 * 1024);
+        }
+        return shared;
+    }
+
+    // start accounting for a freshly loaded set, may evict older frames
+    synchronized void register(SpriteFrames set) {
+        sets.add(set);
+        for (int i = 0; i < set.getFrameCount(); i++) {
+            if (set.resident(i) != null) {
+                resident += set.getFrameBytes();
+                set.lastUsed[i] = ++clock;
+            }
+        }
+        trim(set, -1);
+    }
+
+    // a frame for use, loaded again if it was evicted
+    synchronized BufferedImage frame(SpriteFrames set, int index) {
+        set.lastUsed[index] = ++clock;
+        set.uses++;
+        BufferedImage frame = set.resident(index);
+        if (frame == null) {
+            frame = set.regenerate(index);
+            if (frame != null) {
+                set.regenerations++;
+                regenerations++;
+                resident += set.getFrameBytes();
+                trim(set, index);
+            }
+        }
+        return frame;
+    }
+
+    // drop every frame of a set, its pixels live elsewhere now (an atlas page)
+    synchronized void release(SpriteFrames set) {
+        for (int i = 0; i < set.getFrameCount(); i++) {
+            if (set.resident(i) != null) {
+                set.evict(i);
+                resident -= set.getFrameBytes();
+            }
+        }
+    }
+
+    // count a new texture atlas page against the budget, may evict frames to make room
+    public synchronized void chargeAtlasPage(long bytes) {
+        atlasBytes += bytes;
+        atlasPages++;
+        trim(null, -1);
+    }
+
+    // an atlas page is no longer reachable
+    public synchronized void releaseAtlasPage(long bytes) {
+        atlasBytes -= bytes;
+        atlasPages--;
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    // frames and atlas pages together
+    public synchronized long getResidentBytes() {
+        return resident + atlasBytes;
+    }
+
+    public synchronized long getAtlasBytes() {
+        return atlasBytes;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized long getRegenerationCount() {
+        return regenerations;
+    }
+
+    // memory held by each asset, one line per frame set
+    public synchronized String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Frame store: %.1f of %.1f MB resident, %d evictions, %d regenerations%n",
+                (resident + atlasBytes) / 1048576.0, budget / 1048576.0, evictions, regenerations));
+        report.append(String.format("  %-40s %3d pages   %8.1f KB%n", "texture atlas", atlasPages, atlasBytes / 1024.0));
+        for (SpriteFrames set : sets) {
+            int residentFrames = 0;
+            for (int i = 0; i < set.getFrameCount(); i++) {
+                if (set.resident(i) != null) residentFrames++;
+            }
+            report.append(String.format("  %-40s %3d/%-3d frames %8.1f KB  uses %-8d evicted %-5d regenerated %d%n",
+                    set.getKey(), residentFrames, set.getFrameCount(), residentFrames * set.getFrameBytes() / 1024.0,
+                    set.uses, set.evictions, set.regenerations));
+        }
+        return report.toString();
+    }
+
+    // evict least recently used frames until within budget, never the frame just loaded
+    private void trim(SpriteFrames keepSet, int keepIndex) {
+        while (resident + atlasBytes > budget) {
+            SpriteFrames oldestSet = null;
+            int oldestIndex = -1;
+            long oldest = Long.MAX_VALUE;
+            for (SpriteFrames set : sets) {
+                for (int i = 0; i < set.getFrameCount(); i++) {
+                    if (set.lastUsed[i] < oldest && set.resident(i) != null && !(set == keepSet && i == keepIndex)) {
+                        oldest = set.lastUsed[i];
+                        oldestSet = set;
+                        oldestIndex = i;
+                    }
+                }
+            }
+            if (oldestSet == null) {
+                return;
+            }
+            oldestSet.evict(oldestIndex);
+            oldestSet.evictions++;
+            evictions++;
+            resident -= oldestSet.getFrameBytes();
+        }
+    }
+}
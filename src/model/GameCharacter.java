@@ -9,12 +9,11 @@
 package model;
 
 import java.awt.Image;
-import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import javax.imageio.ImageIO;
-import javax.swing.ImageIcon;
 
 public class GameCharacter {
     // animation states for different character movements
@@ -32,14 +31,13 @@ public class GameCharacter {
     private int maxHp;                  // maximum health points
     
     // animation system properties  
-    private Map<AnimationState, Image[]> animations;    // stores animation frames for each state
+    private Map<AnimationState, SpriteFrames> animations; // shared animation frames for each state
+    private static volatile boolean animationsReported; // frames are shared, so only the first load is logged
     private AnimationState currentState;                // current animation state
-    private int currentFrame;                          // current frame index
-    private long lastFrameTime;                        // timestamp of last frame change
-    private int frameDelay;                            // milliseconds between frames
+    private long animationPhase;                       // session time the current state's animation started
     
     // hp display image
-    private Image pawImage;                            // paw image for HP display    
+    private SpriteFrames pawImage;                     // paw image for HP display    
     // constructor to initialize character with position and default values
     public GameCharacter(int x, int y) {
         this.x = x;
@@ -53,207 +51,159 @@ public class GameCharacter {
         // animation setup
         this.animations = new HashMap<>();
         this.currentState = AnimationState.IDLE;
-        this.currentFrame = 0;
-        this.lastFrameTime = System.currentTimeMillis();
-        this.frameDelay = 100; // 100ms between frames
+        this.animationPhase = 0; // session clock starts at 0
         
-        loadAnimations();
-        loadPawImage();
+        // headless sessions render nothing, so skip decoding entirely
+        if (AssetLoading.isEnabled()) {
+            loadAnimations();
+            loadPawImage();
+        }
     }
     
-    // loads character animations from sprite sheet
+    // loads character animations from sprite sheet, frames are shared between characters
     private void loadAnimations() {
-        try {
-            BufferedImage spriteSheet = loadSpriteSheet();
-            if (spriteSheet != null) {
-                System.out.println("Loaded character spritesheet: " + spriteSheet.getWidth() + "x" + spriteSheet.getHeight());
-                
-                // Sprite sheet dimensions: 640x240
-                // 5 rows, each row has different number of frames
-                // All frames are 64px wide x 48px tall
-
-                int rowHeight = 48; // 240/5 = 48 pixels per row
-
-                // row 0: idle (10 frames) - each frame is 64px wide
-                Image[] idleFrames = extractFramesFromRow(spriteSheet, 0, 10, rowHeight);
-                animations.put(AnimationState.IDLE, idleFrames);
-                System.out.println("Loaded IDLE animation: " + idleFrames.length + " frames");
-                
-                // row 1: forward (2 frames) - each frame is 64px wide
-                Image[] forwardFrames = extractFramesFromRow(spriteSheet, 1, 2, rowHeight);
-                animations.put(AnimationState.FORWARD, forwardFrames);
-                System.out.println("Loaded FORWARD animation: " + forwardFrames.length + " frames");
-                
-                // row 2: backward (3 frames) - each frame is 64px wide
-                Image[] backwardFrames = extractFramesFromRow(spriteSheet, 2, 3, rowHeight);
-                animations.put(AnimationState.BACKWARD, backwardFrames);
-                System.out.println("Loaded BACKWARD animation: " + backwardFrames.length + " frames");
-                
-                // row 3: down (4 frames) - each frame is 64px wide
-                Image[] downFrames = extractFramesFromRow(spriteSheet, 3, 4, rowHeight);
-                animations.put(AnimationState.DOWN, downFrames);
-                System.out.println("Loaded DOWN animation: " + downFrames.length + " frames");
-                
-                // row 4: up (3 frames) - each frame is 64px wide
-                Image[] upFrames = extractFramesFromRow(spriteSheet, 4, 3, rowHeight);
-                animations.put(AnimationState.UP, upFrames);
-                System.out.println("Loaded UP animation: " + upFrames.length + " frames");
-                
-            } else {
+        // Sprite sheet dimensions: 640x240
+        // 5 rows, each row has different number of frames
+        // All frames are 64px wide x 48px tall
+        int[] frameCounts = {10, 2, 3, 4, 3};
+        AnimationState[] rowStates = {
+            AnimationState.IDLE, AnimationState.FORWARD, AnimationState.BACKWARD, AnimationState.DOWN, AnimationState.UP
+        };
+        for (int row = 0; row < rowStates.length; row++) {
+            SpriteFrames frames = SpriteFrames.row("assets/player.png", row, 5, frameCounts[row], 64, width, height);
+            if (frames == null) {
                 System.err.println("Could not load sprite sheet, using fallback");
                 loadFallbackImage();
+                return;
             }
-        } catch (Exception e) {
-            System.err.println("Error loading animations: " + e.getMessage());
-            e.printStackTrace();
-            loadFallbackImage();
-        }    
-    }
-      // loads sprite sheet from assets directory
-    private BufferedImage loadSpriteSheet() {
-        try {
-            File file = new File("assets/player.png");
-            if (file.exists()) {
-                return ImageIO.read(file);
-            } else {
-                System.err.println("Failed to load sprite sheet from: assets/player.png");
+            animations.put(rowStates[row], frames);
+            if (!animationsReported) {
+                System.out.println("Loaded " + rowStates[row] + " animation: " + frames.getFrameCount() + " frames");
             }
-        } catch (Exception e) {
-            System.err.println("Error loading sprite sheet: " + e.getMessage());
         }
-        return null;
+        animationsReported = true;
     }
-    
-    // extracts animation frames from a specific row in the sprite sheet
-    private Image[] extractFramesFromRow(BufferedImage spriteSheet, int row, int frameCount, int rowHeight) {        Image[] frames = new Image[frameCount];
-        
-        // all frames are 64 pixels wide, regardless of animation type
-        int frameWidth = 64; // fixed frame width for all animations
-        int startY = row * rowHeight;
-        
-        for (int i = 0; i < frameCount; i++) {
-            int startX = i * frameWidth;
-            
-            // make sure we don't go out of bounds
-            if (startX + frameWidth > spriteSheet.getWidth()) {
-                frameWidth = spriteSheet.getWidth() - startX;
-            }
-            
-            BufferedImage frameImage = spriteSheet.getSubimage(startX, startY, frameWidth, rowHeight);
-            frames[i] = frameImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        }
-          return frames;
-    }
-      // loads fallback image when sprite sheet is not available
+
+    // loads fallback image when sprite sheet is not available
     private void loadFallbackImage() {
-        try {
-            ImageIcon icon = new ImageIcon("assets/player.png");
-            
-            if (icon.getIconWidth() > 0) {
-                Image fallbackImage = icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                // use fallback image for all states
-                for (AnimationState state : AnimationState.values()) {
-                    animations.put(state, new Image[]{fallbackImage});
-                }
-            } else {
-                System.err.println("Failed to load fallback image from: assets/player.png");
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to load fallback image: " + e.getMessage());
+        SpriteFrames fallback = SpriteFrames.single("assets/player.png", width, height);
+        if (fallback == null) {
+            System.err.println("Failed to load fallback image from: assets/player.png");
+            return;
+        }
+        // use fallback image for all states
+        for (AnimationState state : AnimationState.values()) {
+            animations.put(state, fallback);
         }
     }
       // loads paw image for HP display
     private void loadPawImage() {
-        try {
-            ImageIcon icon = new ImageIcon("assets/paw.png");
-            
-            if (icon.getIconWidth() > 0) {
-                pawImage = icon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH); // increased from 30x30 to 40x40
-            } else {
-                System.err.println("Failed to load paw image from: assets/paw.png");
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to load paw image: " + e.getMessage());
-        }
-    }
-    
-    // updates animation frame based on time and current state
-    public void updateAnimation() {        
-        long currentTime = System.currentTimeMillis();
-        
-        // set different frame delays for different animations
-        int currentFrameDelay = getFrameDelayForState(currentState);
-        
-        if (currentTime - lastFrameTime > currentFrameDelay) {
-            Image[] frames = animations.get(currentState);
-            if (frames != null && frames.length > 0) {
-                currentFrame = (currentFrame + 1) % frames.length;
-                lastFrameTime = currentTime;
-            }
+        pawImage = SpriteFrames.single("assets/paw.png", 40, 40); // increased from 30x30 to 40x40
+        if (pawImage == null) {
+            System.err.println("Failed to load paw image from: assets/paw.png");
         }
     }
     
-    // returns frame delay specific to animation state
-    private int getFrameDelayForState(AnimationState state) {        
+    // animation id of a state, frame delays are defined by the AnimationClock
+    private static int animationOf(AnimationState state) {
         switch (state) {
-            case IDLE:
-                return 150; // slower for idle animation
             case FORWARD:
+                return AnimationClock.CHARACTER_FORWARD;
             case BACKWARD:
-                return 200; // medium speed for directional movement
+                return AnimationClock.CHARACTER_BACKWARD;
             case UP:
+                return AnimationClock.CHARACTER_UP;
             case DOWN:
-                return 120; // slightly faster for vertical movement
+                return AnimationClock.CHARACTER_DOWN;
             default:
-                return frameDelay; // default frame delay
+                return AnimationClock.CHARACTER_IDLE;
         }
     }
     
-    // gets current animation frame for rendering
-    public Image getCurrentFrame() {
-        Image[] frames = animations.get(currentState);
-        if (frames != null && frames.length > 0 && currentFrame < frames.length) {
-            return frames[currentFrame];
-        }        return null;
+    // gets the animation frame shown at session time now
+    public Image getCurrentFrame(long now) {
+        SpriteFrames frames = animations.get(currentState);
+        return frames == null ? null : frames.getFrame(getFrameIndex(now));
     }
     
-    // sets animation state and resets frame if state changes
-    public void setState(AnimationState state) {
+    // shared frames of the current state, null when sprites are not loaded
+    public SpriteFrames getFrames() {
+        return animations.get(currentState);
+    }
+    
+    // index into getFrames() of the frame shown at session time now
+    public int getFrameIndex(long now) {
+        SpriteFrames frames = animations.get(currentState);
+        return frames == null ? 0
+                : AnimationClock.frameAt(animationOf(currentState), animationPhase, now, frames.getFrameCount());
+    }
+    
+    // sets animation state, a new state starts its animation from the first frame at now
+    public void setState(AnimationState state, long now) {
         if (this.currentState != state) {
             this.currentState = state;
-            this.currentFrame = 0; // reset to first frame of new animation
+            this.animationPhase = now;
         }
     }
     
-    // returns current player image for rendering
-    public Image getPlayerImage() { 
-        return getCurrentFrame(); 
+    public AnimationState getState() {
+        return currentState;
+    }
+    
+    // returns player image shown at session time now
+    public Image getPlayerImage(long now) { 
+        return getCurrentFrame(now); 
     }
     
-    // movement methods that update position and animation state
-    public void moveUp() {
+    // movement methods that update position and animation state (now is the session clock in ms)
+    public void moveUp(long now) {
         y -= speed;
-        setState(AnimationState.UP);
+        setState(AnimationState.UP, now);
     }
     
-    public void moveDown() {
+    public void moveDown(long now) {
         y += speed;
-        setState(AnimationState.DOWN);
+        setState(AnimationState.DOWN, now);
     }
     
-    public void moveLeft() {
+    public void moveLeft(long now) {
         x -= speed;
-        setState(AnimationState.BACKWARD);
+        setState(AnimationState.BACKWARD, now);
     }
     
-    public void moveRight() {
+    public void moveRight(long now) {
         x += speed;
-        setState(AnimationState.FORWARD);
+        setState(AnimationState.FORWARD, now);
     }
     
     // sets character to idle state
-    public void setIdle() {
-        setState(AnimationState.IDLE);
+    public void setIdle(long now) {
+        setState(AnimationState.IDLE, now);
+    }
+    
+    // writes character state for replay snapshots
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(x);
+        out.writeInt(y);
+        out.writeInt(hp);
+        out.writeInt(maxHp);
+        out.writeInt(speed);
+        out.writeInt(currentState.ordinal());
+        // frame 0 at the phase time, older snapshots store (frame, time of that frame) here
+        out.writeInt(0);
+        out.writeLong(animationPhase);
+    }
+    
+    // restores character state written by writeState
+    public void readState(DataInput in) throws IOException {
+        x = in.readInt();
+        y = in.readInt();
+        hp = in.readInt();
+        maxHp = in.readInt();
+        speed = in.readInt();
+        currentState = AnimationState.values()[in.readInt()];
+        int frame = in.readInt();
+        animationPhase = AnimationClock.phaseOf(animationOf(currentState), frame, in.readLong());
     }
     
     // getters and setters for character properties
@@ -284,7 +234,7 @@ public class GameCharacter {
         }
     }
     
-    public Image getPawImage() { return pawImage; }
+    public Image getPawImage() { return pawImage == null ? null : pawImage.getFrame(0); }
     
     // health management methods
     public void takeDamage(int damage) {
@@ -0,0 +1,103 @@
+/******************************************
+ * Filename		: GravityBenchmark.java
+ * Description	: Cost and accuracy check for the Barnes-Hut gravity field.
+ *                For 1k, 10k and 50k bodies in clustered clouds, times one tick (tree build plus every
+ *                acceleration) at each theta and compares it with direct O(n^2) summation. The direct
+ *                reference is computed for a sample of bodies and scaled up to the full count, and the
+ *                sample also gives the error of the tree: the RMS of |tree - direct| over the RMS of |direct|.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-23
+******************************************/
+package model;
+
+import java.util.SplittableRandom;
+
+public class GravityBenchmark {
+    private static final int[] BODY_COUNTS = {1000, 10000, 50000};
+    private static final int SAMPLE = 500;          // bodies summed directly for the reference
+    private static final int ROUNDS = 7;            // timed ticks per case, the fastest is kept
+
+    // usage: java model.GravityBenchmark [theta ...]
+    public static void main(String[] args) {
+        double[] thetas = {0.3, 0.5, 0.8};
+        if (args.length > 0) {
+            thetas = new double[args.length];
+            for (int i = 0; i < args.length; i++) {
+                thetas[i] = Double.parseDouble(args[i]);
+            }
+        }
+
+        System.out.println(String.format("%8s %6s %10s %10s %10s %9s %9s",
+                "bodies", "theta", "build ms", "force ms", "direct ms", "speedup", "error"));
+        for (int bodies : BODY_COUNTS) {
+            for (double theta : thetas) {
+                GravityField field = new GravityField(theta, 2);
+                populate(field, bodies);
+                double buildMillis = Double.MAX_VALUE;
+                double forceMillis = Double.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    field.build();
+                    long built = System.nanoTime();
+                    field.computeAccelerations();
+                    long done = System.nanoTime();
+                    buildMillis = Math.min(buildMillis, (built - start) / 1e6);
+                    forceMillis = Math.min(forceMillis, (done - built) / 1e6);
+                }
+
+                // direct sums for a spread of bodies, timed and compared with the tree
+                int stride = bodies / SAMPLE;
+                double[] exact = new double[2];
+                double errorSquared = 0, magnitudeSquared = 0;
+                long directNanos = Long.MAX_VALUE;
+                for (int round = 0; round < 3; round++) {
+                    long start = System.nanoTime();
+                    for (int i = 0; i < bodies; i += stride) {
+                        field.computeDirect(i, exact);
+                    }
+                    directNanos = Math.min(directNanos, System.nanoTime() - start);
+                }
+                for (int i = 0; i < bodies; i += stride) {
+                    field.computeDirect(i, exact);
+                    double ex = field.getAccelerationX(i) - exact[0];
+                    double ey = field.getAccelerationY(i) - exact[1];
+                    errorSquared += ex * ex + ey * ey;
+                    magnitudeSquared += exact[0] * exact[0] + exact[1] * exact[1];
+                }
+                double directMillis = directNanos / 1e6 * stride;
+                System.out.println(String.format("%8d %6.2f %10.3f %10.3f %10.1f %8.1fx %8.3f%%",
+                        bodies, theta, buildMillis, forceMillis, directMillis,
+                        directMillis / (buildMillis + forceMillis),
+                        100 * Math.sqrt(errorSquared / magnitudeSquared)));
+            }
+        }
+    }
+
+    // a few gaussian clusters over a sparse background, the same bodies for every theta
+    private static void populate(GravityField field, int bodies) {
+        SplittableRandom random = new SplittableRandom(bodies);
+        double[][] clusters = new double[8][];
+        for (int i = 0; i < clusters.length; i++) {
+            clusters[i] = new double[] {random.nextDouble(10000), random.nextDouble(10000), 100 + random.nextDouble(600)};
+        }
+        for (int i = 0; i < bodies; i++) {
+            double x, y;
+            if (i % 5 == 0) {
+                x = random.nextDouble(10000);
+                y = random.nextDouble(10000);
+            } else {
+                double[] cluster = clusters[i % clusters.length];
+                x = cluster[0] + gaussian(random) * cluster[2];
+                y = cluster[1] + gaussian(random) * cluster[2];
+            }
+            field.addBody(x, y, 0.5 + random.nextDouble());
+        }
+    }
+
+    // box-muller, SplittableRandom has no nextGaussian on older JDKs
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,284 @@
+/******************************************
+ * Filename		: GravityField.java
+ * Description	: model class computing gravitational pull between bodies with a Barnes-Hut quadtree.
+ *                the tree is rebuilt from the body positions every tick; a cell far enough away (its size
+ *                over its distance below theta) acts as one body at its centre of mass, so all pulls cost
+ *                O(n log n) instead of O(n^2). theta 0 visits every body, larger values are faster and
+ *                coarser. bodies and cells live in primitive arrays that only grow, so a steady number
+ *                of bodies rebuilds and walks the tree without allocating. bodies without mass are pulled
+ *                but do not pull.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-23
+******************************************/
+package model;
+
+import java.util.Arrays;
+
+public final class GravityField {
+    public static final double DEFAULT_THETA = 0.5;
+    // cells stop splitting this deep, bodies closer than that share one cell
+    private static final int MAX_DEPTH = 24;
+    private static final int EMPTY = -1;        // leaf without a body
+    private static final int SHARED = -2;       // leaf at MAX_DEPTH holding several bodies
+
+    private double theta;
+    private double thetaSquared;
+    private final double softeningSquared;      // keeps close passes finite, in px squared
+
+    // bodies, in the order they were added
+    private double[] bodyX = new double[16];
+    private double[] bodyY = new double[16];
+    private double[] bodyMass = new double[16];
+    private double[] accelerationX = new double[16];
+    private double[] accelerationY = new double[16];
+    private int bodyCount;
+
+    // cells, 0 is the root and the four children of a split cell are consecutive
+    private double[] cellX = new double[64];    // cell centre
+    private double[] cellY = new double[64];
+    private double[] cellHalf = new double[64]; // half the cell side
+    private double[] cellMass = new double[64];
+    private double[] massX = new double[64];    // centre of mass, mass weighted sum while building
+    private double[] massY = new double[64];
+    private int[] firstChild = new int[64];     // EMPTY for a leaf
+    private int[] leafBody = new int[64];       // body of a leaf, EMPTY or SHARED
+    private int cellCount;
+    private final int[] stack = newWalkStack();
+
+    public GravityField(double theta, double softening) {
+        setTheta(theta);
+        this.softeningSquared = softening * softening;
+    }
+
+    public void setTheta(double theta) {
+        if (!(theta >= 0)) {
+            throw new IllegalArgumentException("theta must be 0 or more: " + theta);
+        }
+        this.theta = theta;
+        this.thetaSquared = theta * theta;
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    // drop every body, the arrays are kept for the next tick
+    public void clear() {
+        bodyCount = 0;
+    }
+
+    // add a body for the next build, returns its index
+    public int addBody(double x, double y, double mass) {
+        if (bodyCount == bodyX.length) {
+            int capacity = bodyCount * 2;
+            bodyX = Arrays.copyOf(bodyX, capacity);
+            bodyY = Arrays.copyOf(bodyY, capacity);
+            bodyMass = Arrays.copyOf(bodyMass, capacity);
+            accelerationX = Arrays.copyOf(accelerationX, capacity);
+            accelerationY = Arrays.copyOf(accelerationY, capacity);
+        }
+        bodyX[bodyCount] = x;
+        bodyY[bodyCount] = y;
+        bodyMass[bodyCount] = mass;
+        return bodyCount++;
+    }
+
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    // build the tree over the bodies with mass
+    public void build() {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < bodyCount; i++) {
+            if (bodyMass[i] > 0) {
+                minX = Math.min(minX, bodyX[i]);
+                minY = Math.min(minY, bodyY[i]);
+                maxX = Math.max(maxX, bodyX[i]);
+                maxY = Math.max(maxY, bodyY[i]);
+            }
+        }
+        cellCount = 0;
+        if (minX > maxX) {
+            // nothing pulls, keep an empty root
+            newCell(0, 0, 1);
+            return;
+        }
+        // square root cell, a little larger so bodies on the far edge fall inside
+        double half = Math.max(maxX - minX, maxY - minY) * 0.5 + 1;
+        newCell((minX + maxX) * 0.5, (minY + maxY) * 0.5, half);
+        for (int i = 0; i < bodyCount; i++) {
+            if (bodyMass[i] > 0) {
+                insert(i);
+            }
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cellMass[cell] > 0) {
+                massX[cell] /= cellMass[cell];
+                massY[cell] /= cellMass[cell];
+            }
+        }
+    }
+
+    // walk down from the root adding the body to every cell on its way, splitting an occupied leaf
+    private void insert(int body) {
+        double x = bodyX[body];
+        double y = bodyY[body];
+        double mass = bodyMass[body];
+        int cell = 0;
+        int depth = 0;
+        while (true) {
+            if (firstChild[cell] == EMPTY) {
+                int occupant = leafBody[cell];
+                if (occupant == EMPTY || depth >= MAX_DEPTH) {
+                    leafBody[cell] = occupant == EMPTY ? body : SHARED;
+                    addMass(cell, x, y, mass);
+                    return;
+                }
+                // move the occupant one level down, then carry on through the split cell
+                split(cell);
+                int child = childFor(cell, bodyX[occupant], bodyY[occupant]);
+                leafBody[child] = occupant;
+                addMass(child, bodyX[occupant], bodyY[occupant], bodyMass[occupant]);
+                leafBody[cell] = EMPTY;
+            }
+            addMass(cell, x, y, mass);
+            cell = childFor(cell, x, y);
+            depth++;
+        }
+    }
+
+    private void split(int cell) {
+        double quarter = cellHalf[cell] * 0.5;
+        int first = cellCount;
+        // order: top left, top right, bottom left, bottom right, matching childFor
+        newCell(cellX[cell] - quarter, cellY[cell] - quarter, quarter);
+        newCell(cellX[cell] + quarter, cellY[cell] - quarter, quarter);
+        newCell(cellX[cell] - quarter, cellY[cell] + quarter, quarter);
+        newCell(cellX[cell] + quarter, cellY[cell] + quarter, quarter);
+        firstChild[cell] = first;
+    }
+
+    private int childFor(int cell, double x, double y) {
+        return firstChild[cell] + (x >= cellX[cell] ? 1 : 0) + (y >= cellY[cell] ? 2 : 0);
+    }
+
+    private void addMass(int cell, double x, double y, double mass) {
+        cellMass[cell] += mass;
+        massX[cell] += x * mass;
+        massY[cell] += y * mass;
+    }
+
+    private void newCell(double x, double y, double half) {
+        if (cellCount == cellX.length) {
+            int capacity = cellCount * 2;
+            cellX = Arrays.copyOf(cellX, capacity);
+            cellY = Arrays.copyOf(cellY, capacity);
+            cellHalf = Arrays.copyOf(cellHalf, capacity);
+            cellMass = Arrays.copyOf(cellMass, capacity);
+            massX = Arrays.copyOf(massX, capacity);
+            massY = Arrays.copyOf(massY, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            leafBody = Arrays.copyOf(leafBody, capacity);
+        }
+        int cell = cellCount++;
+        cellX[cell] = x;
+        cellY[cell] = y;
+        cellHalf[cell] = half;
+        cellMass[cell] = 0;
+        massX[cell] = 0;
+        massY[cell] = 0;
+        firstChild[cell] = EMPTY;
+        leafBody[cell] = EMPTY;
+    }
+
+    // acceleration of every body from the tree built last, read back with getAccelerationX/Y
+    public void computeAccelerations() {
+        for (int i = 0; i < bodyCount; i++) {
+            computeAcceleration(i, stack);
+        }
+    }
+
+    // scratch for computeAcceleration, one per thread walking the tree
+    public static int[] newWalkStack() {
+        return new int[3 * MAX_DEPTH + 4];
+    }
+
+    // acceleration of one body, once built the tree is only read so threads with their own stacks
+    // can compute different bodies at the same time
+    public void computeAcceleration(int body, int[] stack) {
+        double x = bodyX[body];
+        double y = bodyY[body];
+        double ax = 0, ay = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int cell = stack[--top];
+            double mass = cellMass[cell];
+            if (mass == 0) {
+                continue;
+            }
+            double dx = massX[cell] - x;
+            double dy = massY[cell] - y;
+            double distanceSquared = dx * dx + dy * dy;
+            if (firstChild[cell] != EMPTY) {
+                // open cells that are too close for their size, and always the ones holding the body
+                double half = cellHalf[cell];
+                double size = half * 2;
+                boolean inside = Math.abs(x - cellX[cell]) <= half && Math.abs(y - cellY[cell]) <= half;
+                if (inside || size * size >= thetaSquared * distanceSquared) {
+                    int first = firstChild[cell];
+                    stack[top++] = first;
+                    stack[top++] = first + 1;
+                    stack[top++] = first + 2;
+                    stack[top++] = first + 3;
+                    continue;
+                }
+            } else if (leafBody[cell] == body) {
+                continue;
+            }
+            // a shared leaf holding this body pulls it towards the others with its own mass included,
+            // the bodies are within a fraction of a pixel so the softening keeps that pull tiny
+            double inverse = 1 / (distanceSquared + softeningSquared);
+            double pull = mass * inverse * Math.sqrt(inverse);
+            ax += dx * pull;
+            ay += dy * pull;
+        }
+        accelerationX[body] = ax;
+        accelerationY[body] = ay;
+    }
+
+    // exact acceleration of one body summed over every other body, the reference the tree approximates
+    public void computeDirect(int body, double[] result) {
+        double x = bodyX[body];
+        double y = bodyY[body];
+        double ax = 0, ay = 0;
+        for (int i = 0; i < bodyCount; i++) {
+            if (i == body || bodyMass[i] == 0) {
+                continue;
+            }
+            double dx = bodyX[i] - x;
+            double dy = bodyY[i] - y;
+            double inverse = 1 / (dx * dx + dy * dy + softeningSquared);
+            double pull = bodyMass[i] * inverse * Math.sqrt(inverse);
+            ax += dx * pull;
+            ay += dy * pull;
+        }
+        result[0] = ax;
+        result[1] = ay;
+    }
+
+    public double getAccelerationX(int body) {
+        return accelerationX[body];
+    }
+
+    public double getAccelerationY(int body) {
+        return accelerationY[body];
+    }
+}
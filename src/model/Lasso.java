@@ -8,6 +8,10 @@
 ******************************************/
 package model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 public class Lasso {
     // position coordinates
     private int startX;             // starting x position of lasso (character position)
@@ -22,6 +26,8 @@ public class Lasso {
     private double angle;           // angle of lasso throw direction
     private int currentLength;      // current extended length of lasso
     private int speed;              // speed of lasso extension and retraction    
+    private final Rope rope = new Rope(); // simulated rope from the character to the lasso end, drawn only
+    private boolean quiet;          // no console log of throws and retractions, for headless sessions
 
     // constructor to initialize lasso with starting position    
     public Lasso(int startX, int startY) {
@@ -42,9 +48,10 @@ public class Lasso {
             isRetracting = false;
             angle = Math.atan2(targetY - startY, targetX - startX);
             currentLength = 0;
-            System.out.println("Lasso thrown towards (" + targetX + ", " + targetY + ") at angle " + Math.toDegrees(angle));
+            rope.reset(startX, startY, startX, startY);
+            if (!quiet) System.out.println("Lasso thrown towards (" + targetX + ", " + targetY + ") at angle " + Math.toDegrees(angle));
         } else {
-            System.out.println("Lasso already active, cannot throw again");
+            if (!quiet) System.out.println("Lasso already active, cannot throw again");
         }
     }    // updates lasso position and state each frame
     public void update() {
@@ -58,7 +65,7 @@ public class Lasso {
                 // check if lasso reached maximum length
                 if (currentLength >= maxLength) {
                     isRetracting = true;
-                    System.out.println("Lasso reached max length, starting retraction");
+                    if (!quiet) System.out.println("Lasso reached max length, starting retraction");
                 }
 
             } else if (isRetracting) {
@@ -72,7 +79,7 @@ public class Lasso {
                     currentLength = 0;
                     endX = startX;
                     endY = startY;
-                    System.out.println("Lasso fully retracted and deactivated");
+                    if (!quiet) System.out.println("Lasso fully retracted and deactivated");
                 } else {
                     // update end position during retraction
                     endX = startX + (int)(Math.cos(angle) * currentLength);
@@ -80,7 +87,35 @@ public class Lasso {
                 }
             }
         }
+        if (isActive) {
+            rope.step(startX, startY, endX, endY);
+        }
+    }
+    // writes lasso state for replay snapshots
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(startX);
+        out.writeInt(startY);
+        out.writeInt(endX);
+        out.writeInt(endY);
+        out.writeBoolean(isActive);
+        out.writeBoolean(isRetracting);
+        out.writeDouble(angle);
+        out.writeInt(currentLength);
     }
+    
+    // restores lasso state written by writeState
+    public void readState(DataInput in) throws IOException {
+        startX = in.readInt();
+        startY = in.readInt();
+        endX = in.readInt();
+        endY = in.readInt();
+        isActive = in.readBoolean();
+        isRetracting = in.readBoolean();
+        angle = in.readDouble();
+        currentLength = in.readInt();
+        rope.reset(startX, startY, endX, endY);
+    }
+    
     // getters and setters for lasso properties
     
     // position getters and setters
@@ -142,5 +177,21 @@ public class Lasso {
     }    public int getMaxLength() { 
         return maxLength; 
     }
+    
+    public double getAngle() { 
+        return angle; 
+    }
+    
+    public Rope getRope() {
+        return rope;
+    }
+    
+    public void setAngle(double angle) { 
+        this.angle = angle; 
+    }
+    
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
 }
 
@@ -0,0 +1,287 @@
+/******************************************
+ * Filename		: MusicPlayer.java
+ * Description	: model class streaming background music to one SourceDataLine on its own audio thread.
+ *                tracks are read in small chunks and loop without a gap, switching tracks crossfades
+ *                the old one out while the new one fades in. callers only queue commands.
+ * Author		: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-13
+******************************************/
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.sound.sampled.*;
+
+public class MusicPlayer implements Runnable {
+    // every track is converted to this format and mixed into one line
+    private static final AudioFormat LINE_FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    private static final int CHUNK_FRAMES = 2048;           // frames mixed per write, about 46 ms
+    private static final int LINE_BUFFER_FRAMES = 8192;     // frames buffered in the device, about 190 ms
+    private static final float CROSSFADE_SECONDS = 1.5f;    // length of a track switch
+
+    private static MusicPlayer shared;
+
+    private final LinkedBlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+    private final float[] mix = new float[CHUNK_FRAMES * 2];
+    private final byte[] output = new byte[CHUNK_FRAMES * 4];
+    private final float fadeStep = 1f / (LINE_FORMAT.getSampleRate() * CROSSFADE_SECONDS);
+
+    // owned by the audio thread
+    private SourceDataLine line;
+    private Track current;          // track fading in or playing
+    private Track fading;           // previous track fading out
+    private boolean paused;
+
+    private volatile float volume = 0.6f;
+    private volatile boolean playing;
+
+    private MusicPlayer() {
+        Thread thread = new Thread(this, "music-player");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // one player for the whole application so menu and battle music can crossfade
+    public static synchronized MusicPlayer getShared() {
+        if (shared == null) {
+            shared = new MusicPlayer();
+        }
+        return shared;
+    }
+
+    // switch to a track, returns right away, the file is opened on the audio thread
+    public void play(String audioFilePath) {
+        playing = true;
+        commands.offer(() -> startTrack(audioFilePath));
+    }
+
+    // fade out the current track
+    public void stop() {
+        playing = false;
+        commands.offer(() -> {
+            if (current != null) System.out.println("Background music stopped");
+            fadeOutCurrent();
+        });
+    }
+
+    public void pause() {
+        commands.offer(() -> {
+            paused = true;
+            if (line != null) line.stop();
+        });
+    }
+
+    public void resume() {
+        commands.offer(() -> {
+            paused = false;
+            if (line != null) line.start();
+        });
+    }
+
+    // master volume (0.0 to 1.0), applied to the next chunk
+    public void setVolume(float volume) {
+        this.volume = Math.max(0.0f, Math.min(1.0f, volume));
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            try {
+                // block while there is nothing to mix, otherwise only pick up waiting commands
+                boolean idle = paused || (current == null && fading == null);
+                Runnable command = idle ? commands.take() : commands.poll();
+                if (command != null) {
+                    command.run();
+                    continue;
+                }
+                mixChunk();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Music playback error: " + e.getMessage());
+                closeTracks();
+            }
+        }
+    }
+
+    private void startTrack(String audioFilePath) {
+        if (current != null && current.path.equals(audioFilePath) && current.targetGain > 0) {
+            return; // already playing this track
+        }
+        File audioFile = new File(audioFilePath);
+        if (!audioFile.exists()) {
+            System.err.println("Audio file not found: " + audioFilePath);
+            fadeOutCurrent();
+            return;
+        }
+        try {
+            Track next = new Track(audioFilePath, audioFile);
+            boolean silent = current == null && fading == null;
+            fadeOutCurrent();
+            // nothing to crossfade from, start at full level
+            next.gain = silent ? 1f : 0f;
+            next.targetGain = 1f;
+            current = next;
+            if (!openLine()) {
+                closeTracks();
+                return;
+            }
+            System.out.println("Playing background music: " + audioFilePath);
+        } catch (UnsupportedAudioFileException e) {
+            System.err.println("Unsupported audio file format: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Error reading audio file: " + e.getMessage());
+        }
+    }
+
+    private void fadeOutCurrent() {
+        if (current == null) return;
+        if (fading != null) {
+            fading.close(); // only one track fades out at a time
+        }
+        fading = current;
+        fading.targetGain = 0f;
+        current = null;
+    }
+
+    // mix one chunk of every active track and hand it to the line, blocks while the line is full
+    private void mixChunk() {
+        Arrays.fill(mix, 0f);
+        if (current != null && !current.mixInto(mix, CHUNK_FRAMES, fadeStep)) {
+            current.close();
+            current = null;
+        }
+        if (fading != null && (!fading.mixInto(mix, CHUNK_FRAMES, fadeStep) || fading.gain <= 0f)) {
+            fading.close();
+            fading = null;
+        }
+
+        float master = volume;
+        for (int i = 0; i < mix.length; i++) {
+            int sample = (int) (mix[i] * master);
+            if (sample > Short.MAX_VALUE) sample = Short.MAX_VALUE;
+            if (sample < Short.MIN_VALUE) sample = Short.MIN_VALUE;
+            output[i * 2] = (byte) sample;
+            output[i * 2 + 1] = (byte) (sample >> 8);
+        }
+        line.write(output, 0, output.length);
+    }
+
+    private boolean openLine() {
+        if (line != null) return true;
+        try {
+            line = AudioSystem.getSourceDataLine(LINE_FORMAT);
+            line.open(LINE_FORMAT, LINE_BUFFER_FRAMES * LINE_FORMAT.getFrameSize());
+            line.start();
+            return true;
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Audio line unavailable: " + e.getMessage());
+            line = null;
+            return false;
+        }
+    }
+
+    private void closeTracks() {
+        if (current != null) current.close();
+        if (fading != null) fading.close();
+        current = null;
+        fading = null;
+    }
+
+    // one streamed track, reopened at its end so it loops without a gap
+    private static class Track {
+        final String path;
+        final File file;
+        AudioInputStream stream;
+        int channels;
+        byte[] buffer = new byte[0];
+        float gain;
+        float targetGain;
+
+        Track(String path, File file) throws IOException, UnsupportedAudioFileException {
+            this.path = path;
+            this.file = file;
+            open();
+        }
+
+        // open the file as 16 bit little endian pcm at the line rate
+        private void open() throws IOException, UnsupportedAudioFileException {
+            AudioInputStream source = AudioSystem.getAudioInputStream(file);
+            AudioFormat format = source.getFormat();
+            channels = Math.min(2, format.getChannels());
+            AudioFormat pcm = new AudioFormat(LINE_FORMAT.getSampleRate(), 16, format.getChannels(), true, false);
+            if (!format.matches(pcm)) {
+                try {
+                    source = AudioSystem.getAudioInputStream(pcm, source);
+                } catch (IllegalArgumentException e) {
+                    source.close();
+                    throw new UnsupportedAudioFileException(file.getName() + ": " + format);
+                }
+            }
+            stream = source;
+        }
+
+        // add frames to the mix, ramping gain toward its target; false when the file cannot be read
+        // or holds no audio
+        boolean mixInto(float[] mix, int frames, float fadeStep) {
+            int frameSize = stream.getFormat().getFrameSize();
+            int wanted = frames * frameSize;
+            if (buffer.length < wanted) {
+                buffer = new byte[wanted];
+            }
+            try {
+                // counted in bytes, a read may end inside a frame and the next one completes it
+                int filled = 0;
+                boolean reopened = false;   // reached the end again without reading anything since
+                while (filled < wanted) {
+                    int read = stream.read(buffer, filled, wanted - filled);
+                    if (read < 0) {
+                        if (reopened) {
+                            System.err.println("No audio data in " + path);
+                            return false;
+                        }
+                        // end of track, continue from the start inside the same chunk; a partial
+                        // last frame is dropped so the next file start stays frame aligned
+                        filled -= filled % frameSize;
+                        stream.close();
+                        open();
+                        reopened = true;
+                        continue;
+                    }
+                    if (read > 0) {
+                        reopened = false;
+                    }
+                    filled += read;
+                }
+            } catch (IOException | UnsupportedAudioFileException e) {
+                System.err.println("Error reading audio file: " + e.getMessage());
+                return false;
+            }
+
+            for (int f = 0; f < frames; f++) {
+                if (gain < targetGain) gain = Math.min(targetGain, gain + fadeStep);
+                else if (gain > targetGain) gain = Math.max(targetGain, gain - fadeStep);
+                int base = f * frameSize;
+                float left = (short) ((buffer[base] & 0xFF) | (buffer[base + 1] << 8));
+                float right = channels == 2 ? (short) ((buffer[base + 2] & 0xFF) | (buffer[base + 3] << 8)) : left;
+                mix[f * 2] += left * gain;
+                mix[f * 2 + 1] += right * gain;
+            }
+            return true;
+        }
+
+        void close() {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // nothing left to release
+            }
+        }
+    }
+}
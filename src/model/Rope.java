@@ -0,0 +1,188 @@
+/******************************************
+ * Filename		: Rope.java
+ * Description	: model class simulating a rope of fixed segments with Verlet integration.
+ *                points live in primitive float arrays, both ends are pinned (character centre and lasso tip or
+ *                caught ball) and distance constraints keep every segment from stretching, so the rope sags and
+ *                swings between its ends. the number of solver iterations is calibrated once against a per-tick
+ *                budget (-Ddino.ropebudget=<microseconds> for all ropes of a tick, 100 by default). the rope is
+ *                only drawn, game state never depends on it, so it is not part of snapshots.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-22
+******************************************/
+package model;
+
+public final class Rope {
+    public static final int SEGMENTS = 24;
+    // most ropes alive in one tick: the lasso and a rope to each of the 10 balls on screen
+    public static final int MAX_ROPES = 11;
+    private static final float GRAVITY = 0.25f;     // px per tick squared
+    private static final float DAMPING = 0.97f;     // velocity kept per tick
+    private static final float SLACK = 1.03f;       // rope length over the distance between its ends
+    private static final int MIN_ITERATIONS = 6;
+    private static final int MAX_ITERATIONS = 30;
+    private static final long BUDGET_NANOS = Long.getLong("dino.ropebudget", 100) * 1000;
+
+    private static final int ITERATIONS = calibrate();
+
+    private final float[] x = new float[SEGMENTS + 1];
+    private final float[] y = new float[SEGMENTS + 1];
+    private final float[] oldX = new float[SEGMENTS + 1];
+    private final float[] oldY = new float[SEGMENTS + 1];
+    private final int iterations;
+    private boolean placed;                 // false until the first reset or step
+    // bounds of all points after the last step, for culling and dirty regions
+    private float minX, minY, maxX, maxY;
+
+    public Rope() {
+        this(ITERATIONS);
+    }
+
+    private Rope(int iterations) {
+        this.iterations = iterations;
+    }
+
+    // lay the rope straight between its ends, at rest
+    public void reset(float startX, float startY, float endX, float endY) {
+        for (int i = 0; i <= SEGMENTS; i++) {
+            float t = i / (float) SEGMENTS;
+            x[i] = startX + (endX - startX) * t;
+            y[i] = startY + (endY - startY) * t;
+            oldX[i] = x[i];
+            oldY[i] = y[i];
+        }
+        placed = true;
+        updateBounds();
+    }
+
+    // one tick: move the ends to the given points, integrate the inner points and satisfy the segment lengths
+    public void step(float startX, float startY, float endX, float endY) {
+        if (!placed) {
+            reset(startX, startY, endX, endY);
+        }
+        float spanX = endX - startX;
+        float spanY = endY - startY;
+        float rest = (float) Math.sqrt(spanX * spanX + spanY * spanY) * SLACK / SEGMENTS;
+
+        // verlet: the step since last tick is the velocity
+        for (int i = 1; i < SEGMENTS; i++) {
+            float vx = (x[i] - oldX[i]) * DAMPING;
+            float vy = (y[i] - oldY[i]) * DAMPING;
+            oldX[i] = x[i];
+            oldY[i] = y[i];
+            x[i] += vx;
+            y[i] += vy + GRAVITY;
+        }
+        x[0] = startX;
+        y[0] = startY;
+        x[SEGMENTS] = endX;
+        y[SEGMENTS] = endY;
+        oldX[0] = startX;
+        oldY[0] = startY;
+        oldX[SEGMENTS] = endX;
+        oldY[SEGMENTS] = endY;
+
+        solve(rest);
+        updateBounds();
+    }
+
+    // pull stretched segments back to the rest length, pinned ends never move; slack segments are left alone
+    private void solve(float rest) {
+        float restSquared = rest * rest;
+        for (int pass = 0; pass < iterations; pass++) {
+            for (int i = 0; i < SEGMENTS; i++) {
+                float dx = x[i + 1] - x[i];
+                float dy = y[i + 1] - y[i];
+                float distanceSquared = dx * dx + dy * dy;
+                if (distanceSquared <= restSquared) {
+                    continue;
+                }
+                float distance = (float) Math.sqrt(distanceSquared);
+                float correction = (distance - rest) / distance;
+                if (i == 0) {
+                    x[1] -= dx * correction;
+                    y[1] -= dy * correction;
+                } else if (i == SEGMENTS - 1) {
+                    x[i] += dx * correction;
+                    y[i] += dy * correction;
+                } else {
+                    float half = correction * 0.5f;
+                    x[i] += dx * half;
+                    y[i] += dy * half;
+                    x[i + 1] -= dx * half;
+                    y[i + 1] -= dy * half;
+                }
+            }
+        }
+    }
+
+    private void updateBounds() {
+        float lowX = x[0], lowY = y[0], highX = x[0], highY = y[0];
+        for (int i = 1; i <= SEGMENTS; i++) {
+            lowX = Math.min(lowX, x[i]);
+            lowY = Math.min(lowY, y[i]);
+            highX = Math.max(highX, x[i]);
+            highY = Math.max(highY, y[i]);
+        }
+        minX = lowX;
+        minY = lowY;
+        maxX = highX;
+        maxY = highY;
+    }
+
+    // whether the last step ended at these points, a rope that fell behind its ends is not drawn
+    public boolean isAttached(int startX, int startY, int endX, int endY) {
+        return placed && x[0] == startX && y[0] == startY && x[SEGMENTS] == endX && y[SEGMENTS] == endY;
+    }
+
+    public float getX(int point) {
+        return x[point];
+    }
+
+    public float getY(int point) {
+        return y[point];
+    }
+
+    public int getPointCount() {
+        return SEGMENTS + 1;
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    // solver iterations every rope uses
+    public static int getIterations() {
+        return ITERATIONS;
+    }
+
+    // largest iteration count that lets MAX_ROPES ropes step within the budget, measured on a swinging probe rope
+    private static int calibrate() {
+        Rope probe = new Rope(MAX_ITERATIONS);
+        int ticks = 400;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int tick = 0; tick < ticks; tick++) {
+                float angle = tick * 0.05f;
+                probe.step(0, 0, 300 + 60 * (float) Math.cos(angle), 60 * (float) Math.sin(angle));
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double nanosPerIteration = best / (double) ticks / MAX_ITERATIONS;
+        long affordable = (long) (BUDGET_NANOS / (double) MAX_ROPES / nanosPerIteration);
+        return (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, affordable));
+    }
+}
@@ -0,0 +1,60 @@
+/******************************************
+ * Filename		: RopeBenchmark.java
+ * Description	: Cost check for the rope simulation.
+ *                Steps the most ropes a tick can hold (the lasso and one per ball on screen) with their ends
+ *                swinging, and times every tick after a warm-up. Prints the calibrated solver iterations and
+ *                the mean and 99th percentile tick time, and exits with 1 if the 99th percentile is over the
+ *                limit (0.2 ms by default).
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-22
+******************************************/
+package model;
+
+import java.util.Arrays;
+
+public class RopeBenchmark {
+    // usage: java model.RopeBenchmark [warmupTicks] [measuredTicks] [limitMillis]
+    public static void main(String[] args) {
+        int warmupTicks = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int measuredTicks = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        double limitMillis = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+
+        Rope[] ropes = new Rope[Rope.MAX_ROPES];
+        for (int i = 0; i < ropes.length; i++) {
+            ropes[i] = new Rope();
+        }
+        long[] tickNanos = new long[measuredTicks];
+        for (int tick = 0; tick < warmupTicks + measuredTicks; tick++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ropes.length; i++) {
+                // character walking along the bottom, ends circling at different speeds and distances
+                float anchorX = 640 + 300 * (float) Math.sin(tick * 0.01);
+                float angle = tick * (0.02f + i * 0.005f) + i;
+                float reach = 120 + i * 40;
+                ropes[i].step(anchorX, 600, anchorX + reach * (float) Math.cos(angle), 600 - reach * Math.abs((float) Math.sin(angle)));
+            }
+            long elapsed = System.nanoTime() - start;
+            if (tick >= warmupTicks) {
+                tickNanos[tick - warmupTicks] = elapsed;
+            }
+        }
+
+        long total = 0;
+        for (long nanos : tickNanos) {
+            total += nanos;
+        }
+        Arrays.sort(tickNanos);
+        double meanMillis = total / (double) measuredTicks / 1e6;
+        double p99Millis = tickNanos[Math.min(measuredTicks - 1, (int) (measuredTicks * 0.99))] / 1e6;
+        System.out.println("Ropes per tick:      " + ropes.length + " of " + Rope.SEGMENTS + " segments, "
+                + Rope.getIterations() + " solver iterations");
+        System.out.println("Measured ticks:      " + measuredTicks + " after " + warmupTicks + " warm-up ticks");
+        System.out.println("Time per tick:       " + String.format("%.4f ms mean, %.4f ms p99", meanMillis, p99Millis));
+        if (p99Millis > limitMillis) {
+            System.out.println("FAIL: rope simulation is over " + limitMillis + " ms per tick");
+            System.exit(1);
+        }
+        System.out.println("OK: rope simulation fits in " + limitMillis + " ms per tick");
+    }
+}
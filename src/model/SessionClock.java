@@ -0,0 +1,27 @@
+/******************************************
+ * Filename		: SessionClock.java
+ * Description	: model class holding the tick count of one game session.
+ *                entities that move analytically (free-flying skill balls) read their position from it,
+ *                so advancing the clock once per tick moves all of them at no per-entity cost.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-20
+******************************************/
+package model;
+
+public final class SessionClock {
+    private long tick;                  // number of ticks simulated so far
+
+    public long getTick() {
+        return tick;
+    }
+
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    // one simulation step
+    public void advance() {
+        tick++;
+    }
+}
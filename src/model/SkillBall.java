@@ -9,13 +9,15 @@
 package model;
 
 import java.awt.Color;
-import java.awt.Graphics2D;
 import java.awt.Image;
-import java.awt.image.BufferedImage;
-import javax.swing.ImageIcon;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
 
 public class SkillBall {
     // position and movement properties
+    private int id;                         // session unique ball id (spawn index)
     private int x;                          // x coordinate of ball
     private int y;                          // y coordinate of ball
     private int value;                      // point value when collected
@@ -26,17 +28,24 @@ public class SkillBall {
     private int speed;                      // horizontal movement speed
     private int verticalSpeed;              // vertical movement speed
     
+    // analytic flight: while launched, x and y hold the position at launchTick and the
+    // current position is derived from the session clock instead of being stepped every tick
+    private SessionClock clock;             // null unless the ball is flying on its trajectory
+    private long launchTick;                // tick the trajectory starts from
+    private long despawnTick;               // first tick the trajectory is off screen
+    private TimingWheel.Timer<SkillBall> despawnTimer; // pending despawn event, cancelled when caught
+    private boolean quiet;                   // no console log of catches and scores, for headless sessions
+    private boolean despawned;               // left the screen this tick, dropped from the ball list after the timers
+    
     // visual and animation properties
-    private Image ballImage;                // current displayed image
-    private Image[] animationFrames;        // array of animation frames
-    private int currentFrame = 0;           // current animation frame index
-    private long lastFrameTime = 0;         // timestamp of last frame change
-    private static final int FRAME_DELAY = 50; // milliseconds between animation frames
+    private SpriteFrames animationFrames;   // shared animation frames, null when not loaded
+    private long animationPhase;            // session time the animation started, frames follow the clock
     private String ballType;                // ball type: "earth", "galaxy", "gas_planet", "ice_planet"
       // basket movement properties
     private boolean isMovingToBasket;       // whether ball is moving toward basket
     private int targetX, targetY;           // target coordinates (basket position)
-    private double moveSpeedX, moveSpeedY;  // movement speed components toward basket
+    private double moveSpeedX, moveSpeedY;  // velocity toward the basket, or of a free ball in gravity mode
+    public static final double GALAXY_MASS = 300;   // pull of a galaxy in gravity mode, px^3 per tick^2
     private boolean guaranteedCollection = false; // ensures ball reaches basket
     // timing properties for basket movement
     private long basketMovementStartTime = 0;                   // start time of basket movement
@@ -44,13 +53,26 @@ public class SkillBall {
     private boolean isInCutscene = false;    // whether ball is in cutscene animation
     private boolean isLassoed = false;       // whether ball is being lassoed
     private long cutsceneStartTime;          // start time of cutscene
-    private static final long CUTSCENE_DURATION = 800; // 0.8 seconds for faster cutscene
+    // cutscene phase transitions in ms after the catch (of 800 ms), scheduled by the game instead of polled
+    public static final long CUTSCENE_PULL_TIME = 160;     // lasso extended (20%), pulling starts
+    public static final long CUTSCENE_READY_TIME = 257;    // past 20% of the pull, ready to score
+    public static final long CUTSCENE_END_TIME = 640;      // pull done (80%), ball enters the basket
+    private boolean cutscenePulling = false; // whether the cutscene reached the pull phase
+    // cutscene tweens, timed from the catch and set up once so a tick only reads them
+    private final Tween lassoTween = new Tween();        // lasso length while extending
+    private final Tween pullX = new Tween();             // position while pulled to the basket
+    private final Tween pullY = new Tween();
+    private final Tween catchScale = new Tween();        // springy pop when caught
+    private final Tween pullScale = new Tween();         // shrinking into the blackhole
+    private final Tween pullRotation = new Tween();      // spinning into the blackhole
+    private Rope rope;                       // simulated rope from the character while caught, made on first use
     private double cutsceneStartX, cutsceneStartY; // starting position for cutscene
     private double lassoLength = 0;          // current length of lasso rope
     private boolean readyToScore = false;    // flag to indicate ball is ready to be scored
     private boolean alreadyScored = false;   // flag to prevent double scoring
     // constructor to create ball with initial position and movement direction
-    public SkillBall(int x, int y, Color color, boolean movingRight) {
+    // random is the session generator so ball types follow the session seed
+    public SkillBall(int x, int y, Color color, boolean movingRight, SplittableRandom random) {
         this.x = x;
         this.y = y;
         this.color = color;
@@ -62,20 +84,32 @@ public class SkillBall {
         this.isMovingToBasket = false;
         
         // randomly assign ball type and corresponding value
-        assignRandomBallType();
+        assignRandomBallType(random);
+        loadImage();
+    }
+    
+    // empty ball used when restoring from a snapshot
+    private SkillBall() {
+    }
+    
+    // mirror ball for a remote session, state is set by the caller every update
+    public SkillBall(int id, String ballType) {
+        this.id = id;
+        this.ballType = ballType;
+        this.color = Color.WHITE;
         loadImage();
     }
     
     // assigns random ball type with different probabilities and values
-    private void assignRandomBallType() {
-        double random = Math.random();
-        if (random < 0.05) { // 5% chance
+    private void assignRandomBallType(SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll < 0.05) { // 5% chance
             ballType = "galaxy";
             value = 200; // highest value
-        } else if (random < 0.3) { // 25% chance  
+        } else if (roll < 0.3) { // 25% chance  
             ballType = "gas_planet";
             value = 0; // gas planets don't give points, they reduce HP
-        } else if (random < 0.5) { // 20% chance
+        } else if (roll < 0.5) { // 20% chance
             ballType = "ice_planet"; 
             value = 75;
         } else { // 50% chance
@@ -83,128 +117,47 @@ public class SkillBall {
             value = 50; // base value
         }
     }    
-    // loads ball images from assets folder (spritesheet preferred, static fallback)
+    // loads ball frames from assets folder (spritesheet preferred, static fallback)
+    // frames are shared by every ball of the same type, only the first ball pays for decoding
     private void loadImage() {
-        try {
-            int ballSize = getBallSize();
-            
-            // try to load animated spritesheet first
-            ImageIcon spriteIcon = new ImageIcon("assets/" + ballType + "_sp.png");
-            
-            if (spriteIcon.getIconWidth() > 0) {
-                System.out.println("Successfully loaded " + ballType + " spritesheet from assets/");
-                createAnimationFrames(spriteIcon, ballSize);
-            } else {
-                // fall back to static image if spritesheet not found
-                loadStaticImage(ballSize);
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to load " + ballType + " image: " + e.getMessage());
-            ballImage = null;
-            animationFrames = null;
+        // headless sessions render nothing, so skip decoding entirely
+        if (!AssetLoading.isEnabled()) {
+            return;
         }
-    }
-    
-    // creates animation frames from spritesheet
-    private void createAnimationFrames(ImageIcon spriteIcon, int ballSize) {
-        try {
-            Image spriteSheet = spriteIcon.getImage();
-            animationFrames = new Image[50]; // 50 frames standard
-            
-            // calculate frame dimensions
-            int frameWidth = spriteSheet.getWidth(null) / 50;
-            int frameHeight = spriteSheet.getHeight(null);
-            
-            System.out.println("Spritesheet dimensions: " + spriteSheet.getWidth(null) + 
-                             "x" + frameHeight + ", frame width: " + frameWidth);
-            
-            // extract each frame from the spritesheet
-            for (int i = 0; i < 50; i++) {
-                // create buffered image for each frame
-                BufferedImage frameImg = new BufferedImage(frameWidth, frameHeight, BufferedImage.TYPE_INT_ARGB);
-                Graphics2D g = frameImg.createGraphics();
-                
-                // draw specific part of spritesheet
-                g.drawImage(spriteSheet, 0, 0, frameWidth, frameHeight, 
-                           i * frameWidth, 0, (i + 1) * frameWidth, frameHeight, null);
-                g.dispose();
-                
-                // scale frame to ball size
-                animationFrames[i] = frameImg.getScaledInstance(ballSize, ballSize, Image.SCALE_SMOOTH);
-            }
-            
-            // set first frame as current image
-            ballImage = animationFrames[0];
-            System.out.println("Created " + animationFrames.length + " animation frames for " + ballType);
-            
-        } catch (Exception e) {
-            System.err.println("Error creating animation frames: " + e.getMessage());
-            loadStaticImage(ballSize);
-        }
-    }
-    
-    // loads static image as fallback when spritesheet unavailable
-    private void loadStaticImage(int ballSize) {
-        try {
-            ImageIcon icon = new ImageIcon("assets/" + ballType + ".png");
-            
-            if (icon.getIconWidth() > 0) {
-                ballImage = icon.getImage().getScaledInstance(ballSize, ballSize, Image.SCALE_SMOOTH);
-                animationFrames = null; // no animation frames
-                System.out.println("Successfully loaded " + ballType + " static image from assets/");
-            } else {
+        int ballSize = getBallSize();
+        animationFrames = SpriteFrames.strip("assets/" + ballType + "_sp.png", 50, ballSize, ballSize);
+        if (animationFrames == null) {
+            // fall back to static image if spritesheet not found
+            animationFrames = SpriteFrames.single("assets/" + ballType + ".png", ballSize, ballSize);
+            if (animationFrames == null) {
                 System.err.println("Failed to load " + ballType + " images from assets/");
-                ballImage = null;
-                animationFrames = null;
             }
-        } catch (Exception e) {
-            System.err.println("Failed to load static " + ballType + " image: " + e.getMessage());
-            ballImage = null;
-            animationFrames = null;
         }
-    }    
-    // updates ball position and handles movement logic
-    public void move() {        
+    }
+    // updates ball position and handles movement logic (now is the session clock in ms)
+    // cutscene phase changes are not checked here, the game schedules them at the CUTSCENE_*_TIME offsets
+    public void move(long now) {        
         if (isInCutscene) {
             // handle cutscene animation
-            long elapsedTime = System.currentTimeMillis() - cutsceneStartTime;
-            double progress = Math.min(1.0, (double) elapsedTime / CUTSCENE_DURATION);
-            
-            if (progress < 0.2) {
+            if (!cutscenePulling) {
                 // phase 1: extend lasso (20% of animation)
-                double maxDistance = Math.sqrt(Math.pow(targetX - cutsceneStartX, 2) + Math.pow(targetY - cutsceneStartY, 2));
-                lassoLength = maxDistance * (progress / 0.2);
-            } else if (progress < 0.8) {
-                // phase 2: pull ball to basket (60% of animation)
-                double pullProgress = (progress - 0.2) / 0.6;
-                // smooth easing for pull animation
-                double easedProgress = 1 - Math.pow(1 - pullProgress, 3);
-                
-                x = (int) (cutsceneStartX + (targetX - cutsceneStartX) * easedProgress);
-                y = (int) (cutsceneStartY + (targetY - cutsceneStartY) * easedProgress);
-                  // Set readyToScore lebih awal untuk mengurangi delay - saat ball 20% menuju keranjang
-                if (pullProgress > 0.2 && !readyToScore) {
-                    readyToScore = true;
-                    System.out.println(ballType + " ball is ready to score!");
-                }
+                lassoLength = lassoTween.valueAt(now);
             } else {
-                // cutscene finished - ball enters basket
-                x = targetX;
-                y = targetY;
-                isInCutscene = false;
-                isLassoed = false;
-                isCollected = true;
-                System.out.println(ballType + " ball successfully entered the basket via cutscene!");
+                // phase 2: pull ball to basket (60% of animation) with smooth easing
+                x = (int) pullX.valueAt(now);
+                y = (int) pullY.valueAt(now);
             }
         } else if (isMovingToBasket) {
-            // calculate current distance to target
-            double currentDistance = Math.sqrt(Math.pow(x - targetX, 2) + Math.pow(y - targetY, 2));
+            // squared distance to target, the root is only needed when slowing down near it
+            long dx = x - targetX;
+            long dy = y - targetY;
+            long distanceSquared = dx * dx + dy * dy;
             
             if (guaranteedCollection) {
                 // for guaranteed collection, use more precise movement
-                if (currentDistance > 5) { // still moving towards target
+                if (distanceSquared > 5 * 5) { // still moving towards target
                     // calculate step size - smaller as we get closer
-                    double stepFactor = Math.min(1.0, currentDistance / 50.0);
+                    double stepFactor = distanceSquared >= 50 * 50 ? 1.0 : Math.sqrt(distanceSquared) / 50.0;
                     int stepX = (int) (moveSpeedX * stepFactor);
                     int stepY = (int) (moveSpeedY * stepFactor);
                     
@@ -217,7 +170,7 @@ public class SkillBall {
                     y = targetY;
                     isMovingToBasket = false;
                     isCollected = true;
-                    System.out.println(ballType + " ball successfully entered the basket at exact position!");
+                    if (!quiet) System.out.println(ballType + " ball successfully entered the basket at exact position!");
                 }
             } else {
                 // normal movement for non-guaranteed balls
@@ -225,13 +178,13 @@ public class SkillBall {
                 y += (int) moveSpeedY;
             
                 // check if reached basket with generous detection
-                if (currentDistance < 40) { 
+                if (distanceSquared < 40 * 40) { 
                     isMovingToBasket = false;
                     isCollected = true;
-                    System.out.println(ballType + " ball successfully entered the basket!");
+                    if (!quiet) System.out.println(ballType + " ball successfully entered the basket!");
                 }
             }
-        } else if (!isCollected) {
+        } else if (!isCollected && clock == null) {
             // normal movement - horizontal and/or vertical
             if (movingRight) {
                 x += speed;
@@ -245,25 +198,87 @@ public class SkillBall {
                 y -= verticalSpeed;
             }
         }
-
-        // update animation frame
-        updateAnimation();
     }    
     // initiates cutscene animation when ball is caught
-    public void startCutscene(int basketX, int basketY) {
+    public void startCutscene(int basketX, int basketY, long now) {
         if (!isCollected && !isInCutscene) {
+            land();
             isInCutscene = true;
             isLassoed = true;
-            cutsceneStartTime = System.currentTimeMillis();
+            cutsceneStartTime = now;
             cutsceneStartX = x;
             cutsceneStartY = y;
             targetX = basketX;
             targetY = basketY;
             lassoLength = 0;
+            cutscenePulling = false;
+            startCutsceneTweens();
             
-            System.out.println("Starting cutscene for " + ballType + " ball");
+            if (!quiet) System.out.println("Starting cutscene for " + ballType + " ball");
         }
     }
+    
+    // swing the rope between the character centre and the ball for this tick
+    public void stepRope(int anchorX, int anchorY) {
+        if (!isInCutscene) {
+            return;
+        }
+        if (rope == null) {
+            rope = new Rope();
+        }
+        rope.step(anchorX, anchorY, x, y);
+    }
+    
+    // rope to the character, null until the ball was caught and stepped once
+    public Rope getRope() {
+        return rope;
+    }
+    
+    // every cutscene animation at once, each one starting at its phase
+    private void startCutsceneTweens() {
+        long pullStart = cutsceneStartTime + CUTSCENE_PULL_TIME;
+        long pullDuration = CUTSCENE_END_TIME - CUTSCENE_PULL_TIME;
+        double dx = targetX - cutsceneStartX;
+        double dy = targetY - cutsceneStartY;
+        lassoTween.start(0, Math.sqrt(dx * dx + dy * dy), cutsceneStartTime, CUTSCENE_PULL_TIME, Easing.LINEAR);
+        pullX.start(cutsceneStartX, targetX, pullStart, pullDuration, Easing.CUBIC_OUT);
+        pullY.start(cutsceneStartY, targetY, pullStart, pullDuration, Easing.CUBIC_OUT);
+        catchScale.start(0.8, 1.0, cutsceneStartTime, CUTSCENE_PULL_TIME, Easing.ELASTIC_OUT);
+        pullScale.start(1.0, 0.3, pullStart, pullDuration, Easing.QUAD_IN);
+        pullRotation.start(0, 3 * Math.PI, pullStart, pullDuration, Easing.QUAD_IN);
+    }
+    
+    // phase 2 of the cutscene: the lasso is extended and starts pulling the ball
+    public void beginCutscenePull() {
+        if (isInCutscene) {
+            cutscenePulling = true;
+        }
+    }
+    
+    // ball is 20% of the way to the basket, score it early to reduce the delay
+    public void markReadyToScore() {
+        if (isInCutscene && !readyToScore) {
+            readyToScore = true;
+            if (!quiet) System.out.println(ballType + " ball is ready to score!");
+        }
+    }
+    
+    // cutscene finished - ball enters basket
+    public void finishCutscene() {
+        if (isInCutscene) {
+            x = targetX;
+            y = targetY;
+            isInCutscene = false;
+            isLassoed = false;
+            isCollected = true;
+            if (!quiet) System.out.println(ballType + " ball successfully entered the basket via cutscene!");
+        }
+    }
+    
+    // session time the cutscene started
+    public long getCutsceneStartTime() {
+        return cutsceneStartTime;
+    }
     // forces ball to complete basket entry when taking too long
     public void forceCompleteBasketEntry() {
         if (isMovingToBasket) {
@@ -272,39 +287,199 @@ public class SkillBall {
             y = targetY;
             isMovingToBasket = false;
             isCollected = true;
-            System.out.println(ballType + " ball forced entry to basket center!");
+            if (!quiet) System.out.println(ballType + " ball forced entry to basket center!");
         }
     }
     
     // starts timer for basket movement timeout tracking
-    public void startBasketMovementTimer() {
-        basketMovementStartTime = System.currentTimeMillis();
+    public void startBasketMovementTimer(long now) {
+        basketMovementStartTime = now;
     }     
     
-     // checks if ball should be forced to complete basket entry due to timeout
-    public boolean shouldForceBasketEntry() {
-        if (!isMovingToBasket) return false;
-
+     // first session time at which a ball still moving to the basket is forced in
+    public long getBasketEntryDeadline() {
         // shorter timeout for guaranteed collection balls to reduce waiting time
         long timeout = guaranteedCollection ? 500 : 2000; // 0.5s for guaranteed, 2s for others
-        return System.currentTimeMillis() - basketMovementStartTime > timeout;
+        return basketMovementStartTime + timeout + 1;
+    }
+    // writes complete ball state for replay snapshots
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(id);
+        out.writeUTF(ballType);
+        out.writeInt(getX());
+        out.writeInt(getY());
+        out.writeInt(value);
+        out.writeInt(color.getRGB());
+        out.writeBoolean(isCollected);
+        out.writeBoolean(movingRight);
+        out.writeBoolean(movingDown);
+        out.writeInt(speed);
+        out.writeInt(verticalSpeed);
+        // frame 0 at the phase time, older snapshots store (frame, time of that frame) here
+        out.writeInt(0);
+        out.writeLong(animationPhase);
+        out.writeBoolean(isMovingToBasket);
+        out.writeInt(targetX);
+        out.writeInt(targetY);
+        out.writeDouble(moveSpeedX);
+        out.writeDouble(moveSpeedY);
+        out.writeBoolean(guaranteedCollection);
+        out.writeLong(basketMovementStartTime);
+        out.writeBoolean(isInCutscene);
+        out.writeBoolean(isLassoed);
+        out.writeLong(cutsceneStartTime);
+        out.writeDouble(cutsceneStartX);
+        out.writeDouble(cutsceneStartY);
+        out.writeDouble(lassoLength);
+        out.writeBoolean(readyToScore);
+        out.writeBoolean(alreadyScored);
+    }
+    
+    // rebuilds a ball from state written by writeState
+    public static SkillBall readState(DataInput in) throws IOException {
+        SkillBall ball = new SkillBall();
+        ball.id = in.readInt();
+        ball.ballType = in.readUTF();
+        ball.x = in.readInt();
+        ball.y = in.readInt();
+        ball.value = in.readInt();
+        ball.color = new Color(in.readInt(), true);
+        ball.isCollected = in.readBoolean();
+        ball.movingRight = in.readBoolean();
+        ball.movingDown = in.readBoolean();
+        ball.speed = in.readInt();
+        ball.verticalSpeed = in.readInt();
+        int frame = in.readInt();
+        ball.animationPhase = AnimationClock.phaseOf(AnimationClock.PLANET, frame, in.readLong());
+        ball.isMovingToBasket = in.readBoolean();
+        ball.targetX = in.readInt();
+        ball.targetY = in.readInt();
+        ball.moveSpeedX = in.readDouble();
+        ball.moveSpeedY = in.readDouble();
+        ball.guaranteedCollection = in.readBoolean();
+        ball.basketMovementStartTime = in.readLong();
+        ball.isInCutscene = in.readBoolean();
+        ball.isLassoed = in.readBoolean();
+        ball.cutsceneStartTime = in.readLong();
+        ball.cutsceneStartX = in.readDouble();
+        ball.cutsceneStartY = in.readDouble();
+        ball.lassoLength = in.readDouble();
+        ball.readyToScore = in.readBoolean();
+        ball.alreadyScored = in.readBoolean();
+        if (ball.isInCutscene) {
+            ball.startCutsceneTweens();
+        }
+        
+        ball.loadImage();
+        return ball;
     }
+    
     // getters and setters for ball properties
     
+    // id getter and setter
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
+    // start flying on a straight line from the current position, the position then follows the clock
+    // until the ball is caught; despawnTick is the first tick the ball is outside the given bounds
+    public void launch(SessionClock clock, int minX, int maxX, int minY, int maxY) {
+        this.clock = clock;
+        this.launchTick = clock.getTick();
+        this.despawnTick = launchTick + Math.min(
+                ticksUntilOutside(x, movingRight ? speed : -speed, minX, maxX),
+                ticksUntilOutside(y, verticalStep(), minY, maxY));
+    }
+    
+    // leave the trajectory, the current position becomes the stepped position
+    public void land() {
+        if (clock != null) {
+            x = getX();
+            y = getY();
+            clock = null;
+        }
+    }
+    
+    public boolean isFlying() {
+        return clock != null;
+    }
+    
+    // not caught, not scored: flying, or drifting in gravity mode
+    public boolean isFree() {
+        return !isCollected && !isInCutscene && !isMovingToBasket;
+    }
+    
+    // gravity mode: leave the trajectory and keep the current speed as a velocity that pulls then change
+    public void startDrift() {
+        land();
+        moveSpeedX = movingRight ? speed : -speed;
+        moveSpeedY = verticalStep();
+    }
+    
+    // gravity mode: one tick under the given acceleration (px per tick squared), positions stay whole pixels
+    public void drift(double accelerationX, double accelerationY) {
+        moveSpeedX += accelerationX;
+        moveSpeedY += accelerationY;
+        x += (int) Math.round(moveSpeedX);
+        y += (int) Math.round(moveSpeedY);
+    }
+    
+    // mass this ball pulls others with in gravity mode, only galaxies are heavy enough
+    public double getGravityMass() {
+        return "galaxy".equals(ballType) ? GALAXY_MASS : 0;
+    }
+    
+    public long getDespawnTick() {
+        return despawnTick;
+    }
+    
+    public TimingWheel.Timer<SkillBall> getDespawnTimer() {
+        return despawnTimer;
+    }
+    
+    public void setDespawnTimer(TimingWheel.Timer<SkillBall> despawnTimer) {
+        this.despawnTimer = despawnTimer;
+    }
+    
+    // ticks until position + ticks * step first leaves [min, max], Long.MAX_VALUE if it never does
+    private static long ticksUntilOutside(int position, int step, int min, int max) {
+        if (position < min || position > max) return 0;
+        if (step > 0) return Math.floorDiv(max - position, step) + 1;
+        if (step < 0) return Math.floorDiv(position - min, -step) + 1;
+        return Long.MAX_VALUE;
+    }
+    
+    private int verticalStep() {
+        if (movingDown) return verticalSpeed;
+        return -verticalSpeed;
+    }
+    
     // position getters and setters
     public int getX() { 
+        if (clock != null) {
+            return x + (int) (clock.getTick() - launchTick) * (movingRight ? speed : -speed);
+        }
         return x; 
     }
     
     public void setX(int x) { 
+        land();
         this.x = x; 
     }
     
     public int getY() { 
+        if (clock != null) {
+            return y + (int) (clock.getTick() - launchTick) * verticalStep();
+        }
         return y; 
     }
     
     public void setY(int y) { 
+        land();
         this.y = y; 
     }
     
@@ -340,6 +515,7 @@ public class SkillBall {
     }
     
     public void setMovingRight(boolean movingRight) { 
+        land();
         this.movingRight = movingRight; 
     }
     
@@ -348,6 +524,7 @@ public class SkillBall {
     }
     
     public void setMovingDown(boolean movingDown) { 
+        land();
         this.movingDown = movingDown; 
     }
     
@@ -357,6 +534,7 @@ public class SkillBall {
     }
     
     public void setSpeed(int speed) { 
+        land();
         this.speed = speed; 
     }
     
@@ -365,12 +543,28 @@ public class SkillBall {
     }
     
     public void setVerticalSpeed(int verticalSpeed) { 
+        land();
         this.verticalSpeed = verticalSpeed; 
     }
     
-    // image and type getters
-    public Image getBallImage() { 
-        return ballImage; 
+    // image shown at session time now, and type getter
+    public Image getBallImage(long now) { 
+        return animationFrames == null ? null : animationFrames.getFrame(getFrameIndex(now)); 
+    }
+    
+    // shared frames and the index of the one shown at session time now, for atlas drawing
+    public SpriteFrames getFrames() {
+        return animationFrames;
+    }
+    
+    public int getFrameIndex(long now) {
+        return animationFrames == null ? 0
+                : AnimationClock.frameAt(AnimationClock.PLANET, animationPhase, now, animationFrames.getFrameCount());
+    }
+    
+    // session time the animation starts from
+    public void setAnimationPhase(long phase) {
+        this.animationPhase = phase;
     }
     
     public String getBallType() { 
@@ -379,6 +573,11 @@ public class SkillBall {
     
     public boolean isMovingToBasket() { 
         return isMovingToBasket; 
+    }
+    
+    public void setMovingToBasket(boolean movingToBasket) {
+        if (movingToBasket) land();
+        this.isMovingToBasket = movingToBasket;
     }    
     // utility methods
     
@@ -391,17 +590,6 @@ public class SkillBall {
         return 75; // normal size for other ball types
     }
 
-    // updates animation frame for animated balls
-    public void updateAnimation() {
-        if (animationFrames != null) {
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastFrameTime > FRAME_DELAY) {
-                currentFrame = (currentFrame + 1) % animationFrames.length;
-                ballImage = animationFrames[currentFrame];
-                lastFrameTime = currentTime;
-            }
-        }
-    }
       // guaranteed collection getters and setters
     public boolean isGuaranteedCollection() { 
         return guaranteedCollection; 
@@ -416,14 +604,36 @@ public class SkillBall {
         return isInCutscene;
     }
     
+    public void setInCutscene(boolean inCutscene) {
+        this.isInCutscene = inCutscene;
+    }
+    
     public boolean isLassoed() {
         return isLassoed;
     }
     
+    public void setLassoed(boolean lassoed) {
+        this.isLassoed = lassoed;
+    }
+    
     public double getLassoLength() {
         return lassoLength;
     }
     
+    // drawing size relative to getBallSize() at session time now, 1 outside a cutscene
+    public double getScale(long now) {
+        if (!isInCutscene) {
+            return 1.0;
+        }
+        Tween scale = cutscenePulling ? pullScale : catchScale;
+        return scale.isActive() ? scale.valueAt(now) : 1.0;
+    }
+    
+    // drawing rotation in radians at session time now
+    public double getRotation(long now) {
+        return isInCutscene && cutscenePulling ? pullRotation.valueAt(now) : 0.0;
+    }
+    
     public double getCutsceneStartX() {
         return cutsceneStartX;
     }
@@ -441,4 +651,16 @@ public class SkillBall {
     public void setAlreadyScored(boolean scored) {
         this.alreadyScored = scored;
     }
+    
+    public boolean isDespawned() {
+        return despawned;
+    }
+    
+    public void setDespawned(boolean despawned) {
+        this.despawned = despawned;
+    }
+    
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
 }
@@ -0,0 +1,237 @@
+/******************************************
+ * Filename		: SoundEffectMixer.java
+ * Description	: model class mixing sound effects in software into one long-lived output line.
+ *                each effect file is decoded once into a cached pcm buffer, a fixed pool of voices
+ *                plays them with per-voice gain and the oldest voice is stolen when all are busy.
+ * Author		: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-13
+******************************************/
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.*;
+
+public class SoundEffectMixer implements Runnable {
+    // effects are decoded to this format, stereo interleaved
+    private static final AudioFormat LINE_FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    private static final int CHUNK_FRAMES = 256;            // frames mixed per write, about 6 ms
+    private static final int LINE_BUFFER_FRAMES = 1024;     // frames buffered in the device, about 23 ms
+    private static final int DEFAULT_VOICES = 16;
+    private static final short[] MISSING = new short[0];    // cache entry for files that could not be decoded
+
+    private static SoundEffectMixer shared;
+
+    private final ConcurrentHashMap<String, short[]> cache = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Object[]> triggers = new ConcurrentLinkedQueue<>(); // {samples, gain}
+    private final Thread thread;
+
+    // voice pool, owned by the mixer thread
+    private final short[][] voiceSamples;
+    private final int[] voicePosition;
+    private final float[] voiceGain;
+    private final long[] voiceStarted;
+    private long triggerCount;
+
+    private final float[] mix = new float[CHUNK_FRAMES * 2];
+    private final byte[] output = new byte[CHUNK_FRAMES * 4];
+    private SourceDataLine line;
+    private boolean lineFailed;
+
+    // statistics
+    private volatile long played;
+    private volatile long stolen;
+
+    private SoundEffectMixer(int voices) {
+        voiceSamples = new short[voices][];
+        voicePosition = new int[voices];
+        voiceGain = new float[voices];
+        voiceStarted = new long[voices];
+        thread = new Thread(this, "sfx-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    // one mixer for the whole application
+    public static synchronized SoundEffectMixer getShared() {
+        if (shared == null) {
+            shared = new SoundEffectMixer(DEFAULT_VOICES);
+        }
+        return shared;
+    }
+
+    // decode an effect ahead of time so its first trigger is as cheap as the rest
+    public void preload(String audioFilePath) {
+        samples(audioFilePath);
+    }
+
+    // start an effect at the given gain (0.0 to 1.0), safe from any thread
+    public void play(String audioFilePath, float gain) {
+        short[] samples = samples(audioFilePath);
+        if (samples.length == 0 || gain <= 0f) return;
+        triggers.offer(new Object[] {samples, Math.min(1f, gain)});
+        LockSupport.unpark(thread);
+    }
+
+    // whether the effect decoded to something playable, decodes it on first use
+    public boolean isPlayable(String audioFilePath) {
+        return samples(audioFilePath).length > 0;
+    }
+
+    public long getPlayedCount() {
+        return played;
+    }
+
+    public long getStolenCount() {
+        return stolen;
+    }
+
+    public int getCachedCount() {
+        return cache.size();
+    }
+
+    // cached pcm for a file, decoded on first use
+    private short[] samples(String audioFilePath) {
+        return cache.computeIfAbsent(audioFilePath, SoundEffectMixer::decode);
+    }
+
+    // read a whole effect as 16 bit stereo pcm at the line rate
+    private static short[] decode(String audioFilePath) {
+        File audioFile = new File(audioFilePath);
+        if (!audioFile.exists()) {
+            System.err.println("Audio file not found: " + audioFilePath);
+            return MISSING;
+        }
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(audioFile)) {
+            AudioFormat format = source.getFormat();
+            int channels = format.getChannels();
+            AudioFormat pcm = new AudioFormat(LINE_FORMAT.getSampleRate(), 16, channels, true, false);
+            AudioInputStream stream = format.matches(pcm) ? source : AudioSystem.getAudioInputStream(pcm, source);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+            byte[] data = bytes.toByteArray();
+            int frames = data.length / (2 * channels);
+            short[] samples = new short[frames * 2];
+            for (int f = 0; f < frames; f++) {
+                int base = f * 2 * channels;
+                short left = (short) ((data[base] & 0xFF) | (data[base + 1] << 8));
+                short right = channels > 1 ? (short) ((data[base + 2] & 0xFF) | (data[base + 3] << 8)) : left;
+                samples[f * 2] = left;
+                samples[f * 2 + 1] = right;
+            }
+            return samples;
+        } catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+            System.err.println("Unsupported audio file format: " + audioFilePath);
+        } catch (IOException e) {
+            System.err.println("Error reading audio file: " + e.getMessage());
+        }
+        return MISSING;
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            takeTriggers();
+            if (!anyVoiceActive()) {
+                // nothing to play, sleep until the next trigger
+                LockSupport.park(this);
+                continue;
+            }
+            if (!openLine()) {
+                Arrays.fill(voiceSamples, null);
+                continue;
+            }
+            mixChunk();
+        }
+    }
+
+    // move queued triggers into voices, stealing the oldest voice when the pool is full
+    private void takeTriggers() {
+        Object[] trigger;
+        while ((trigger = triggers.poll()) != null) {
+            int voice = -1;
+            for (int i = 0; i < voiceSamples.length; i++) {
+                if (voiceSamples[i] == null) {
+                    voice = i;
+                    break;
+                }
+                if (voice < 0 || voiceStarted[i] < voiceStarted[voice]) {
+                    voice = i;
+                }
+            }
+            if (voiceSamples[voice] != null) {
+                stolen++;
+            }
+            voiceSamples[voice] = (short[]) trigger[0];
+            voiceGain[voice] = (Float) trigger[1];
+            voicePosition[voice] = 0;
+            voiceStarted[voice] = triggerCount++;
+            played++;
+        }
+    }
+
+    private boolean anyVoiceActive() {
+        for (short[] samples : voiceSamples) {
+            if (samples != null) return true;
+        }
+        return false;
+    }
+
+    // add every active voice into one chunk and write it, blocks while the line is full
+    private void mixChunk() {
+        Arrays.fill(mix, 0f);
+        for (int v = 0; v < voiceSamples.length; v++) {
+            short[] samples = voiceSamples[v];
+            if (samples == null) continue;
+            float gain = voiceGain[v];
+            int position = voicePosition[v];
+            int count = Math.min(mix.length, samples.length - position);
+            for (int i = 0; i < count; i++) {
+                mix[i] += samples[position + i] * gain;
+            }
+            position += count;
+            if (position >= samples.length) {
+                voiceSamples[v] = null;
+            } else {
+                voicePosition[v] = position;
+            }
+        }
+
+        for (int i = 0; i < mix.length; i++) {
+            int sample = (int) mix[i];
+            if (sample > Short.MAX_VALUE) sample = Short.MAX_VALUE;
+            if (sample < Short.MIN_VALUE) sample = Short.MIN_VALUE;
+            output[i * 2] = (byte) sample;
+            output[i * 2 + 1] = (byte) (sample >> 8);
+        }
+        line.write(output, 0, output.length);
+    }
+
+    private boolean openLine() {
+        if (line != null) return true;
+        if (lineFailed) return false;
+        try {
+            line = AudioSystem.getSourceDataLine(LINE_FORMAT);
+            line.open(LINE_FORMAT, LINE_BUFFER_FRAMES * LINE_FORMAT.getFrameSize());
+            line.start();
+            return true;
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            // no device, effects are dropped from now on
+            System.err.println("Audio line unavailable: " + e.getMessage());
+            lineFailed = true;
+            line = null;
+            return false;
+        }
+    }
+}
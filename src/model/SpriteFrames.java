@@ -0,0 +1,197 @@
+/******************************************
+ * Filename		: SpriteFrames.java
+ * Description	: model class holding one animation as pre-scaled ARGB frames, shared by every entity using it.
+ *                each sheet is decoded, sliced and smooth scaled once per target size instead of once per
+ *                entity, and the frames are plain BufferedImages the renderer can pack into an atlas.
+ *                scaled frames are kept in the FrameCache so later launches skip decoding and scaling, and
+ *                the FrameStore may drop frames to stay within its memory budget; they come back on demand.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-18
+******************************************/
+package model;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.imageio.ImageIO;
+
+public final class SpriteFrames {
+    // cache entry for sheets that could not be loaded
+    private static final SpriteFrames MISSING = new SpriteFrames("", null, 0, 1, 0, new BufferedImage[0], 0, 0, null);
+
+    private static final ConcurrentHashMap<String, SpriteFrames> cache = new ConcurrentHashMap<>();
+
+    private final String key;               // sheet, slice and size this set was made from
+    private final String path;
+    private final int row;
+    private final int rows;
+    private final int frameWidth;
+    private final byte[] digest;            // sha-256 of the sheet, to read single frames back from the FrameCache
+    private final BufferedImage[] frames;   // null where the FrameStore evicted a frame
+    private final int width;                // size of every frame
+    private final int height;
+
+    // accounting kept by the FrameStore
+    final long[] lastUsed;                  // store clock of each frame's last use
+    long uses;
+    int evictions;
+    int regenerations;
+
+    private SpriteFrames(String key, String path, int row, int rows, int frameWidth, BufferedImage[] frames,
+                         int width, int height, byte[] digest) {
+        this.key = key;
+        this.path = path;
+        this.row = row;
+        this.rows = rows;
+        this.frameWidth = frameWidth;
+        this.frames = frames;
+        this.width = width;
+        this.height = height;
+        this.digest = digest;
+        this.lastUsed = new long[frames.length];
+    }
+
+    // frames laid out left to right across the whole sheet, e.g. the 50 frame planet strips
+    public static SpriteFrames strip(String path, int frameCount, int width, int height) {
+        return row(path, 0, 1, frameCount, 0, width, height);
+    }
+
+    // one row of a grid sheet; frameWidth 0 means the sheet width divided by the frame count
+    public static SpriteFrames row(String path, int row, int rows, int frameCount, int frameWidth, int width, int height) {
+        String key = path + "#" + row + "/" + rows + "x" + frameCount + ":" + frameWidth + "@" + width + "x" + height;
+        SpriteFrames frames = cache.computeIfAbsent(key, k -> {
+            SpriteFrames loaded = slice(k, path, row, rows, frameCount, frameWidth, width, height);
+            if (loaded != MISSING) {
+                FrameStore.getShared().register(loaded);
+            }
+            return loaded;
+        });
+        return frames == MISSING ? null : frames;
+    }
+
+    // a whole image as a single frame, used for static fallbacks
+    public static SpriteFrames single(String path, int width, int height) {
+        return row(path, 0, 1, 1, 0, width, height);
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    // frame for drawing, brought back if the FrameStore evicted it; null only if it can no longer be loaded
+    public BufferedImage getFrame(int index) {
+        return FrameStore.getShared().frame(this, index);
+    }
+
+    // drop the frames once the renderer holds a copy of them (the texture atlas); getFrame loads one again
+    public void releaseFrames() {
+        FrameStore.getShared().release(this);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // bytes of one frame in memory
+    public long getFrameBytes() {
+        return (long) width * height * 4;
+    }
+
+    // frame currently held in memory, without loading it
+    BufferedImage resident(int index) {
+        return frames[index];
+    }
+
+    void evict(int index) {
+        frames[index] = null;
+    }
+
+    // load one evicted frame again, from the FrameCache when possible
+    BufferedImage regenerate(int index) {
+        BufferedImage frame = FrameCache.readFrame(key, digest, width, height, frames.length, index);
+        if (frame == null) {
+            try {
+                BufferedImage sheet = ImageIO.read(new File(path));
+                if (sheet != null) {
+                    frame = scaleCell(sheet, row, rows, frames.length, frameWidth, index, width, height);
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to reload sprite frame from " + path + ": " + e.getMessage());
+            }
+        }
+        frames[index] = frame;
+        return frame;
+    }
+
+    // number of distinct frame sets loaded so far
+    public static int getLoadedCount() {
+        return (int) cache.values().stream().filter(frames -> frames != MISSING).count();
+    }
+
+    private static SpriteFrames slice(String key, String path, int row, int rows, int frameCount,
+                                      int frameWidth, int width, int height) {
+        File file = new File(path);
+        if (!file.exists()) {
+            return MISSING;
+        }
+        try {
+            // frames scaled by an earlier launch
+            byte[] digest = FrameCache.digest(file);
+            BufferedImage[] cached = FrameCache.read(key, digest, width, height, frameCount);
+            if (cached != null) {
+                return new SpriteFrames(key, path, row, rows, frameWidth, cached, width, height, digest);
+            }
+
+            BufferedImage sheet = ImageIO.read(file);
+            if (sheet == null) {
+                System.err.println("Unsupported image format: " + path);
+                return MISSING;
+            }
+            BufferedImage[] frames = new BufferedImage[frameCount];
+            for (int i = 0; i < frameCount; i++) {
+                frames[i] = scaleCell(sheet, row, rows, frameCount, frameWidth, i, width, height);
+            }
+            FrameCache.write(key, digest, frames, width, height);
+            return new SpriteFrames(key, path, row, rows, frameWidth, frames, width, height, digest);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to load sprite frames from " + path + ": " + e.getMessage());
+            return MISSING;
+        }
+    }
+
+    // cut one frame out of a sheet and scale it to the target size
+    private static BufferedImage scaleCell(BufferedImage sheet, int row, int rows, int frameCount, int frameWidth,
+                                           int index, int width, int height) {
+        int sourceWidth = frameWidth > 0 ? frameWidth : sheet.getWidth() / frameCount;
+        int sourceHeight = sheet.getHeight() / rows;
+        int startX = index * sourceWidth;
+        // the last frame of a row may be cut short by the sheet edge
+        int cellWidth = Math.min(sourceWidth, sheet.getWidth() - startX);
+        return scale(sheet.getSubimage(startX, row * sourceHeight, cellWidth, sourceHeight), width, height);
+    }
+
+    // smooth scale into an ARGB image, the area averaging filter gives the same result as before
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = frame.createGraphics();
+        try {
+            // an offscreen source is produced synchronously, so the frame is complete when drawImage returns
+            g.drawImage(source.getScaledInstance(width, height, Image.SCALE_SMOOTH), 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,196 @@
+/******************************************
+ * Filename		: TimingWheel.java
+ * Description	: model class scheduling timed game events by simulation tick.
+ *                a hashed hierarchical timing wheel: four levels of 64 slots, each slot a doubly linked list,
+ *                so scheduling and cancelling are O(1) and a tick only visits the events due on it. events
+ *                further out than the lowest level wait in a coarser slot and cascade down as the wheel turns,
+ *                events beyond the whole wheel (2^24 ticks, over three days) wait in an overflow list.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-20
+******************************************/
+package model;
+
+public final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    // called for every event when its tick is reached
+    public interface Listener<T> {
+        void onTimer(int type, T subject, long tick);
+    }
+
+    // a scheduled event, keep it to cancel the event
+    public static final class Timer<T> {
+        private final int type;
+        private final T subject;
+        private final long deadline;
+        private Timer<T> prev;              // both null when not scheduled
+        private Timer<T> next;
+
+        private Timer(int type, T subject, long deadline) {
+            this.type = type;
+            this.subject = subject;
+            this.deadline = deadline;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        public T getSubject() {
+            return subject;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isPending() {
+            return next != null;
+        }
+    }
+
+    private final Timer<T>[][] slots;       // sentinel of each slot's circular list, by level
+    private final Timer<T> overflow;        // events beyond the top level
+    private long tick;                      // last tick processed
+    private int size;
+
+    public TimingWheel(long tick) {
+        this.tick = tick;
+        // generic arrays cannot be created directly
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Timer<T>[][] slots = new Timer[LEVELS][SLOTS];
+        this.slots = slots;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots[level][slot] = sentinel();
+            }
+        }
+        this.overflow = sentinel();
+    }
+
+    // run type for subject at the given tick; a tick already processed runs on the next advance
+    public Timer<T> schedule(long deadline, int type, T subject) {
+        Timer<T> timer = new Timer<>(type, subject, Math.max(deadline, tick + 1));
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    // drop a pending event, returns false if it already ran or was cancelled
+    public boolean cancel(Timer<T> timer) {
+        if (timer == null || timer.next == null) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    // process every tick up to and including target, handing due events to the listener;
+    // events due on the same tick run in no particular order
+    public void advanceTo(long target, Listener<T> listener) {
+        while (tick < target) {
+            long next = tick + 1;
+            cascade(next);
+            tick = next;
+            Timer<T> due = slots[0][(int) (next & SLOT_MASK)];
+            while (due.next != due) {
+                Timer<T> timer = due.next;
+                unlink(timer);
+                size--;
+                listener.onTimer(timer.type, timer.subject, next);
+            }
+        }
+    }
+
+    // drop every event and continue from the given tick, used when a snapshot is restored
+    public void reset(long tick) {
+        for (Timer<T>[] level : slots) {
+            for (Timer<T> slot : level) {
+                clear(slot);
+            }
+        }
+        clear(overflow);
+        this.tick = tick;
+        this.size = 0;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // before processing tick next, move the events of every coarser slot that starts at next one level down
+    private void cascade(long next) {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((next & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            reinsert(slots[level][(int) ((next >>> shift) & SLOT_MASK)]);
+        }
+        // the top level moved on a slot, bring in overflow events that now fit
+        reinsert(overflow);
+    }
+
+    private void reinsert(Timer<T> slot) {
+        Timer<T> timer = slot.next;
+        slot.next = slot;
+        slot.prev = slot;
+        while (timer != slot) {
+            Timer<T> following = timer.next;
+            insert(timer);
+            timer = following;
+        }
+    }
+
+    // the level is picked by distance from the next tick to process, the slot by the deadline's bits at that level
+    private void insert(Timer<T> timer) {
+        long delta = timer.deadline - (tick + 1);
+        Timer<T> slot = overflow;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if (delta < 1L << (shift + SLOT_BITS)) {
+                slot = slots[level][(int) ((timer.deadline >>> shift) & SLOT_MASK)];
+                break;
+            }
+        }
+        timer.prev = slot.prev;
+        timer.next = slot;
+        slot.prev.next = timer;
+        slot.prev = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private void clear(Timer<T> slot) {
+        Timer<T> timer = slot.next;
+        while (timer != slot) {
+            Timer<T> following = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer = following;
+        }
+        slot.next = slot;
+        slot.prev = slot;
+    }
+
+    private Timer<T> sentinel() {
+        Timer<T> slot = new Timer<>(0, null, 0);
+        slot.prev = slot;
+        slot.next = slot;
+        return slot;
+    }
+}
@@ -0,0 +1,58 @@
+/******************************************
+ * Filename		: Tween.java
+ * Description	: model class animating one value from a start to a target over a span of session time.
+ *                the start-to-target delta and the inverse duration are computed when the tween starts, so
+ *                reading the value at any time is one easing lookup and a multiply-add. an entity keeps one
+ *                tween per animated property (position, scale, rotation) and they run side by side.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-21
+******************************************/
+package model;
+
+public final class Tween {
+    private double start;
+    private double delta;                   // target - start
+    private long startTime;                 // session time in ms
+    private double inverseDuration;         // 1 / duration in ms
+    private Easing easing = Easing.LINEAR;
+    private boolean active;
+
+    // animate from start to target over duration ms from startTime, replacing any running animation
+    public void start(double from, double to, long startTime, long duration, Easing easing) {
+        this.start = from;
+        this.delta = to - from;
+        this.startTime = startTime;
+        this.inverseDuration = duration > 0 ? 1.0 / duration : Double.POSITIVE_INFINITY;
+        this.easing = easing;
+        this.active = true;
+    }
+
+    public void stop() {
+        active = false;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    // value at session time now: the start value before startTime, the target after the end
+    public double valueAt(long now) {
+        if (!active) {
+            return start;
+        }
+        long elapsed = now - startTime;
+        if (elapsed <= 0) {
+            return start;
+        }
+        return start + delta * easing.apply(elapsed * inverseDuration);
+    }
+
+    public boolean isFinished(long now) {
+        return !active || (now - startTime) * inverseDuration >= 1;
+    }
+
+    public double getTarget() {
+        return start + delta;
+    }
+}
@@ -0,0 +1,134 @@
+/******************************************
+ * Filename		: FrameChannel.java
+ * Description	: Length-prefixed frames over a non-blocking SocketChannel.
+ *                Frames may be queued from any thread; reads and writes happen on the selector thread.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-10
+******************************************/
+package net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FrameChannel {
+    // frame types
+    public static final int HELLO = 1;       // client -> server: username
+    public static final int INPUT = 2;       // client -> server: ack tick, input mask, optional lasso click
+    public static final int SNAPSHOT = 3;    // server -> client: delta compressed GameState
+
+    // INPUT flag bits
+    public static final int INPUT_LASSO = 1;        // lasso click x, y follow
+    public static final int INPUT_SEQUENCED = 2;    // numbered one-tick command, sequence follows
+    public static final int INPUT_ACK_ONLY = 4;     // only acknowledges a snapshot, carries no input
+
+    // frame header: 4 byte length of type + payload, then 1 byte type
+    private static final int HEADER_SIZE = 5;
+    private static final int MAX_FRAME = 1 << 16;
+
+    // handler for complete incoming frames, payload is only valid during the call
+    public interface FrameHandler {
+        void onFrame(int type, ByteBuffer payload) throws IOException;
+    }
+
+    private final SocketChannel channel;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(MAX_FRAME + HEADER_SIZE);
+    private final ConcurrentLinkedQueue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();   // frames waiting to be written
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private ByteBuffer writing;                                 // partially written frame
+
+    public FrameChannel(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    // start a frame, the caller writes the payload then passes it to send
+    public static ByteBuffer newFrame(int type, int maxPayload) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + maxPayload);
+        frame.position(4);
+        frame.put((byte) type);
+        return frame;
+    }
+
+    // finish the frame header and queue it, safe from any thread
+    public void send(ByteBuffer frame) {
+        frame.putInt(0, frame.position() - 4);
+        frame.flip();
+        queued.incrementAndGet();
+        outbound.offer(frame);
+    }
+
+    // write as much queued data as the socket accepts, true when everything went out
+    public boolean flush() throws IOException {
+        while (true) {
+            if (writing == null) {
+                writing = outbound.poll();
+                if (writing == null) return true;
+            }
+            int written = channel.write(writing);
+            bytesSent.addAndGet(written);
+            if (writing.hasRemaining()) return false;
+            writing = null;
+            queued.decrementAndGet();
+        }
+    }
+
+    // read available bytes and dispatch complete frames, false once the peer closed
+    public boolean read(FrameHandler handler) throws IOException {
+        int read = channel.read(readBuffer);
+        if (read < 0) return false;
+        bytesReceived.addAndGet(read);
+
+        readBuffer.flip();
+        while (readBuffer.remaining() >= HEADER_SIZE) {
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length <= 0 || length > MAX_FRAME) {
+                throw new IOException("Invalid frame length " + length);
+            }
+            if (readBuffer.remaining() < 4 + length) break;
+
+            int frameEnd = readBuffer.position() + 4 + length;
+            readBuffer.position(readBuffer.position() + 4);
+            int type = readBuffer.get();
+            ByteBuffer payload = readBuffer.slice();
+            payload.limit(length - 1);
+            handler.onFrame(type, payload);
+            readBuffer.position(frameEnd);
+        }
+        readBuffer.compact();
+        return true;
+    }
+
+    public boolean hasPendingOutput() {
+        return writing != null || !outbound.isEmpty();
+    }
+
+    public int getQueuedFrames() {
+        return queued.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/******************************************
+ * Filename		: LatencyProxy.java
+ * Description	: Loopback TCP relay that delays traffic in both directions to simulate a slow network.
+ *                Each chunk is held for the one-way latency plus random jitter, order is kept like real TCP.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-12
+******************************************/
+package net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class LatencyProxy implements Runnable {
+    private final ServerSocket serverSocket;
+    private final String targetHost;
+    private final int targetPort;
+    private final long delayNanos;          // one-way latency
+    private final long jitterNanos;         // extra random delay on top, up to this much
+    private final Thread thread;
+    private volatile boolean running;
+
+    public LatencyProxy(String targetHost, int targetPort, int delayMillis, int jitterMillis) throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.delayNanos = delayMillis * 1_000_000L;
+        this.jitterNanos = jitterMillis * 1_000_000L;
+        this.thread = new Thread(this, "latency-proxy");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket upstream = new Socket(targetHost, targetPort);
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                relay(client, upstream);
+                relay(upstream, client);
+            } catch (IOException e) {
+                if (running) System.err.println("Latency proxy error: " + e.getMessage());
+            }
+        }
+    }
+
+    // one direction: a reader stamps chunks with their due time, a writer releases them in order
+    private void relay(Socket from, Socket to) {
+        LinkedBlockingQueue<Object[]> queue = new LinkedBlockingQueue<>();
+        SplittableRandom random = new SplittableRandom(from.getPort());
+
+        Thread reader = new Thread(() -> {
+            long lastDue = 0;
+            byte[] buffer = new byte[16 * 1024];
+            try (InputStream in = from.getInputStream()) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    long due = System.nanoTime() + delayNanos + (jitterNanos > 0 ? random.nextLong(jitterNanos) : 0);
+                    lastDue = Math.max(lastDue, due);
+                    byte[] chunk = Arrays.copyOf(buffer, read);
+                    queue.put(new Object[] {lastDue, chunk});
+                }
+            } catch (IOException | InterruptedException e) {
+                // connection closed
+            }
+            queue.offer(new Object[] {0L, null});
+        }, "latency-proxy-read");
+
+        Thread writer = new Thread(() -> {
+            try (OutputStream out = to.getOutputStream()) {
+                while (true) {
+                    Object[] item = queue.take();
+                    if (item[1] == null) break;
+                    long wait = (Long) item[0] - System.nanoTime();
+                    if (wait > 0) Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                    out.write((byte[]) item[1]);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // connection closed
+            }
+            try {
+                from.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }, "latency-proxy-write");
+
+        reader.setDaemon(true);
+        writer.setDaemon(true);
+        reader.start();
+        writer.start();
+    }
+}
@@ -0,0 +1,83 @@
+/******************************************
+ * Filename		: LoopbackDemo.java
+ * Description	: Runs a NetServer and several thin clients over loopback.
+ *                Clients mirror the server state into local GameViewModels, throw the lasso
+ *                at mirrored planets and report snapshot rate and bandwidth per client.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-10
+******************************************/
+package net;
+
+import model.AssetLoading;
+import model.SkillBall;
+import viewmodel.GameState;
+import viewmodel.GameViewModel;
+
+public class LoopbackDemo {
+    // usage: java net.LoopbackDemo [clients] [seconds]
+    public static void main(String[] args) throws Exception {
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        AssetLoading.setEnabled(false);
+
+        NetServer server = new NetServer(0, 2);
+        server.start();
+
+        NetClient[] clients = new NetClient[clientCount];
+        GameViewModel[] mirrors = new GameViewModel[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clients[i] = NetClient.connect("127.0.0.1:" + server.getPort(), "client-" + i);
+            mirrors[i] = new GameViewModel(1280, 720);
+            mirrors[i].setQuiet(true);
+            mirrors[i].startMirror("client-" + i);
+        }
+
+        // client frame loop at the render rate: apply latest state, steer, throw
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long frame = 0;
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < clientCount; i++) {
+                GameState state = clients[i].pollLatest();
+                if (state != null) mirrors[i].applyState(state);
+                act(clients[i], mirrors[i], frame + i);
+            }
+            frame++;
+            Thread.sleep(GameViewModel.TICK_MILLIS);
+        }
+
+        long received = 0;
+        long sent = 0;
+        long snapshots = 0;
+        int totalScore = 0;
+        for (int i = 0; i < clientCount; i++) {
+            received += clients[i].getBytesReceived();
+            sent += clients[i].getBytesSent();
+            snapshots += clients[i].getSnapshotCount();
+            totalScore += mirrors[i].getCurrentPlayer().getSkor();
+            clients[i].close();
+        }
+        server.stop();
+
+        System.out.println("Clients:            " + clientCount + " for " + seconds + " s over loopback");
+        System.out.println("Snapshots/client/s: " + String.format("%.1f", snapshots / (double) clientCount / seconds));
+        System.out.println("Downstream/client:  " + String.format("%.2f", received / (double) clientCount / seconds / 1024) + " KB/s");
+        System.out.println("Upstream/client:    " + String.format("%.2f", sent / (double) clientCount / seconds / 1024) + " KB/s");
+        System.out.println("Avg bytes/snapshot: " + String.format("%.1f", received / (double) Math.max(1, snapshots)));
+        System.out.println("Avg mirrored score: " + String.format("%.1f", totalScore / (double) clientCount));
+    }
+
+    // wander up and down and lasso the first visible planet that is not a gas planet
+    private static void act(NetClient client, GameViewModel mirror, long frame) {
+        client.setInput((frame / 90) % 2 == 0 ? GameViewModel.INPUT_UP : GameViewModel.INPUT_DOWN);
+        if (frame % 20 != 0 || mirror.getLasso().isActive()) return;
+        for (SkillBall ball : mirror.getSkillBalls()) {
+            if (!ball.isInCutscene() && !"gas_planet".equals(ball.getBallType())
+                    && ball.getX() > 0 && ball.getX() < mirror.getGameWidth()) {
+                client.requestLasso(ball.getX(), ball.getY());
+                return;
+            }
+        }
+    }
+}
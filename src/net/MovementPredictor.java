@@ -0,0 +1,177 @@
+/******************************************
+ * Filename		: MovementPredictor.java
+ * Description	: Client-side prediction and server reconciliation for the player's own character and lasso.
+ *                Every frame is sent as a numbered command and applied locally right away. When a snapshot
+ *                arrives the mirror is reset to it, commands the server has not applied yet are replayed on
+ *                top, and the remaining jump is hidden by a decaying render offset.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-12
+******************************************/
+package net;
+
+import model.GameCharacter;
+import model.Lasso;
+import viewmodel.GameState;
+import viewmodel.GameViewModel;
+
+public class MovementPredictor {
+    // commands kept for replay, about two seconds of frames
+    private static final int MAX_PENDING = 128;
+    // share of the correction offset kept each frame
+    private static final double CORRECTION_DECAY = 0.8;
+    // corrections larger than this are applied at once instead of smoothed
+    private static final int SNAP_DISTANCE = 120;
+
+    private final NetClient client;
+    private final GameViewModel mirror;
+
+    // unacknowledged commands as a ring: sequence, mask, lasso, x, y
+    private final int[] pendingSequence = new int[MAX_PENDING];
+    private final int[] pendingMask = new int[MAX_PENDING];
+    private final boolean[] pendingLasso = new boolean[MAX_PENDING];
+    private final int[] pendingX = new int[MAX_PENDING];
+    private final int[] pendingY = new int[MAX_PENDING];
+    private int pendingStart;
+    private int pendingCount;
+
+    private int predictedX;                 // predicted character position without the render offset
+    private int predictedY;
+    private boolean hasPrediction;          // at least one snapshot was reconciled
+    private double offsetX;                 // render offset hiding the last corrections
+    private double offsetY;
+
+    // statistics
+    private long frames;
+    private long corrections;               // snapshots that moved the prediction
+    private long snaps;                     // corrections too large to smooth
+    private double errorSum;                // summed correction distance
+    private double maxError;
+
+    public MovementPredictor(NetClient client, GameViewModel mirror) {
+        this.client = client;
+        this.mirror = mirror;
+    }
+
+    // run one client frame: reconcile with the newest snapshot, then send and predict this frame's input
+    public void frame(int mask, boolean lasso, int targetX, int targetY) {
+        frames++;
+        GameCharacter character = mirror.getCharacter();
+        GameState state = client.pollLatest();
+        if (state != null) {
+            reconcile(state);
+        } else if (hasPrediction) {
+            // take back last frame's render offset before stepping
+            character.setX(predictedX);
+            character.setY(predictedY);
+        }
+
+        if (state != null || hasPrediction) {
+            int sequence = client.submitInput(mask, lasso, targetX, targetY);
+            push(sequence, mask, lasso, targetX, targetY);
+            mirror.predictStep(mask, lasso, targetX, targetY);
+            predictedX = character.getX();
+            predictedY = character.getY();
+        } else {
+            // nothing to predict from until the first snapshot, still feed the server
+            client.submitInput(mask, lasso, targetX, targetY);
+        }
+
+        offsetX *= CORRECTION_DECAY;
+        offsetY *= CORRECTION_DECAY;
+        if (Math.abs(offsetX) < 0.5) offsetX = 0;
+        if (Math.abs(offsetY) < 0.5) offsetY = 0;
+        applyRenderOffset();
+    }
+
+    // reset to the authoritative state and replay what the server has not seen yet
+    private void reconcile(GameState state) {
+        mirror.applyState(state);
+        int acked = state.fields[GameState.INPUT_SEQUENCE];
+        while (pendingCount > 0 && pendingSequence[pendingStart] - acked <= 0) {
+            pendingStart = (pendingStart + 1) % MAX_PENDING;
+            pendingCount--;
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            int slot = (pendingStart + i) % MAX_PENDING;
+            mirror.predictStep(pendingMask[slot], pendingLasso[slot], pendingX[slot], pendingY[slot]);
+        }
+
+        GameCharacter character = mirror.getCharacter();
+        if (hasPrediction) {
+            int errorX = predictedX - character.getX();
+            int errorY = predictedY - character.getY();
+            if (errorX != 0 || errorY != 0) {
+                double error = Math.hypot(errorX, errorY);
+                corrections++;
+                errorSum += error;
+                maxError = Math.max(maxError, error);
+                offsetX += errorX;
+                offsetY += errorY;
+                if (Math.hypot(offsetX, offsetY) > SNAP_DISTANCE) {
+                    snaps++;
+                    offsetX = 0;
+                    offsetY = 0;
+                }
+            }
+        }
+        predictedX = character.getX();
+        predictedY = character.getY();
+        hasPrediction = true;
+    }
+
+    private void push(int sequence, int mask, boolean lasso, int x, int y) {
+        if (pendingCount == MAX_PENDING) {
+            // server is far behind, forget the oldest command, the next snapshot corrects it
+            pendingStart = (pendingStart + 1) % MAX_PENDING;
+            pendingCount--;
+        }
+        int slot = (pendingStart + pendingCount) % MAX_PENDING;
+        pendingSequence[slot] = sequence;
+        pendingMask[slot] = mask;
+        pendingLasso[slot] = lasso;
+        pendingX[slot] = x;
+        pendingY[slot] = y;
+        pendingCount++;
+    }
+
+    // shift the drawn character and lasso by the smoothed offset
+    private void applyRenderOffset() {
+        int dx = (int) Math.round(offsetX);
+        int dy = (int) Math.round(offsetY);
+        if (dx == 0 && dy == 0) return;
+        GameCharacter character = mirror.getCharacter();
+        Lasso lasso = mirror.getLasso();
+        character.setX(character.getX() + dx);
+        character.setY(character.getY() + dy);
+        lasso.setStartX(lasso.getStartX() + dx);
+        lasso.setStartY(lasso.getStartY() + dy);
+        lasso.setEndX(lasso.getEndX() + dx);
+        lasso.setEndY(lasso.getEndY() + dy);
+    }
+
+    // getters
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getCorrections() {
+        return corrections;
+    }
+
+    public long getSnaps() {
+        return snaps;
+    }
+
+    public double getAverageError() {
+        return corrections == 0 ? 0 : errorSum / corrections;
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+}
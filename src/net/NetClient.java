@@ -0,0 +1,210 @@
+/******************************************
+ * Filename		: NetClient.java
+ * Description	: Thin client connection to a NetServer.
+ *                Sends held input and lasso clicks, or numbered per-frame commands when predicting,
+ *                decodes delta snapshots against its own history and acknowledges every decoded
+ *                tick so deltas stay small.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-10
+******************************************/
+package net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import replay.ReplayFormat;
+import viewmodel.GameState;
+
+public class NetClient implements Runnable {
+    // decoded states kept as baselines, must cover the server's ack delay
+    private static final int HISTORY = 128;
+
+    private final String username;
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final FrameChannel frames;
+    private final Thread thread;
+    private final GameState[] history = new GameState[HISTORY]; // decoded states by tick, network thread only
+    private volatile GameState latest;                          // newest decoded state, handed to the renderer
+    private volatile boolean fresh;                             // latest not yet polled
+    private volatile int inputMask;
+    private volatile boolean sequenced;                         // commands carry the acks, no separate ack frames
+    private int nextSequence = 1;                               // next command number, caller thread only
+    private volatile long lastDecodedTick;
+    private volatile long snapshots;                            // snapshots decoded so far
+    private volatile boolean running;
+
+    // open a non-blocking connection, the handshake is sent once it completes
+    public NetClient(String host, int port, String username) throws IOException {
+        this.username = username;
+        this.selector = Selector.open();
+        this.channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        channel.connect(new InetSocketAddress(host, port));
+        channel.register(selector, SelectionKey.OP_CONNECT);
+        this.frames = new FrameChannel(channel);
+        for (int i = 0; i < HISTORY; i++) {
+            history[i] = new GameState();
+            history[i].tick = -1;
+        }
+        this.thread = new Thread(this, "net-client-" + username);
+        thread.setDaemon(true);
+    }
+
+    // parse "host:port"
+    public static NetClient connect(String address, String username) throws IOException {
+        int colon = address.lastIndexOf(':');
+        String host = colon > 0 ? address.substring(0, colon) : address;
+        int port = colon > 0 ? Integer.parseInt(address.substring(colon + 1)) : 7777;
+        NetClient client = new NetClient(host, port, username);
+        client.start();
+        return client;
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    public void close() {
+        running = false;
+        selector.wakeup();
+        frames.close();
+    }
+
+    // held input, sent right away when it changes
+    public void setInput(int mask) {
+        if (mask != inputMask) {
+            inputMask = mask;
+            sendInput(false, 0, 0);
+        }
+    }
+
+    public void requestLasso(int targetX, int targetY) {
+        sendInput(true, targetX, targetY);
+    }
+
+    // newest state if it was not returned before, otherwise null
+    public GameState pollLatest() {
+        if (!fresh) return null;
+        fresh = false;
+        return latest;
+    }
+
+    // one numbered command for exactly one server tick, returns its sequence number
+    public int submitInput(int mask, boolean lasso, int targetX, int targetY) {
+        sequenced = true;
+        int sequence = nextSequence++;
+        ByteBuffer frame = FrameChannel.newFrame(FrameChannel.INPUT, 40);
+        SnapshotCodec.putVar(frame, lastDecodedTick);
+        frame.put((byte) mask);
+        frame.put((byte) (FrameChannel.INPUT_SEQUENCED | (lasso ? FrameChannel.INPUT_LASSO : 0)));
+        if (lasso) {
+            SnapshotCodec.putVar(frame, ReplayFormat.zigzag(targetX));
+            SnapshotCodec.putVar(frame, ReplayFormat.zigzag(targetY));
+        }
+        SnapshotCodec.putVar(frame, sequence);
+        frames.send(frame);
+        selector.wakeup();
+        return sequence;
+    }
+
+    private void sendInput(boolean lasso, int x, int y) {
+        sendFrame(lasso ? FrameChannel.INPUT_LASSO : 0, x, y);
+    }
+
+    private void sendFrame(int flags, int x, int y) {
+        ByteBuffer frame = FrameChannel.newFrame(FrameChannel.INPUT, 32);
+        SnapshotCodec.putVar(frame, lastDecodedTick);
+        frame.put((byte) inputMask);
+        frame.put((byte) flags);
+        if ((flags & FrameChannel.INPUT_LASSO) != 0) {
+            SnapshotCodec.putVar(frame, ReplayFormat.zigzag(x));
+            SnapshotCodec.putVar(frame, ReplayFormat.zigzag(y));
+        }
+        frames.send(frame);
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isConnectable() && channel.finishConnect()) {
+                        key.interestOps(SelectionKey.OP_READ);
+                        ByteBuffer hello = FrameChannel.newFrame(FrameChannel.HELLO, 256);
+                        hello.put(StandardCharsets.UTF_8.encode(username));
+                        frames.send(hello);
+                    }
+                    if (key.isValid() && key.isReadable() && !frames.read(this::onFrame)) {
+                        System.err.println("Server closed the connection");
+                        running = false;
+                    }
+                }
+                if (!channel.isConnected()) continue;
+                SelectionKey key = channel.keyFor(selector);
+                boolean done = frames.flush();
+                if (key != null && key.isValid()) {
+                    key.interestOps(done ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            }
+        } catch (IOException e) {
+            if (running) System.err.println("Network client error: " + e.getMessage());
+        } finally {
+            running = false;
+            frames.close();
+        }
+    }
+
+    // decode snapshots against our history and acknowledge them
+    private void onFrame(int type, ByteBuffer payload) throws IOException {
+        if (type != FrameChannel.SNAPSHOT) {
+            throw new IOException("Unexpected frame type " + type);
+        }
+        long baselineTick = SnapshotCodec.peekBaselineTick(payload);
+        GameState baseline = baselineTick == 0 ? null : history[(int) (baselineTick % HISTORY)];
+
+        // decode into a scratch state first, the slot may be the baseline itself
+        GameState decoded = new GameState();
+        SnapshotCodec.decode(payload, baseline, decoded);
+        SnapshotCodec.copy(decoded, history[(int) (decoded.tick % HISTORY)]);
+
+        latest = decoded;
+        fresh = true;
+        lastDecodedTick = decoded.tick;
+        snapshots++;
+        if (!sequenced) {
+            sendFrame(FrameChannel.INPUT_ACK_ONLY, 0, 0);
+        }
+    }
+
+    // statistics
+    public long getBytesReceived() {
+        return frames.getBytesReceived();
+    }
+
+    public long getBytesSent() {
+        return frames.getBytesSent();
+    }
+
+    public long getSnapshotCount() {
+        return snapshots;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,258 @@
+/******************************************
+ * Filename		: NetServer.java
+ * Description	: Non-blocking TCP front end for GameServer.
+ *                Each connection owns one hosted session; after every tick the session state is
+ *                sent as a delta against the last snapshot the client acknowledged.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-10
+******************************************/
+package net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import model.AssetLoading;
+import replay.ReplayFormat;
+import server.GameServer;
+import server.GameSession;
+import server.SessionListener;
+import viewmodel.GameState;
+
+public class NetServer implements SessionListener, Runnable {
+    // snapshots kept per connection as delta baselines
+    private static final int HISTORY = 64;
+    // frames a slow client may have queued before ticks are skipped for it
+    private static final int MAX_QUEUED_FRAMES = 8;
+
+    private final GameServer gameServer;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private final Map<Long, Connection> bySession = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Connection> dirty = new ConcurrentLinkedQueue<>();
+    private volatile boolean running;
+
+    // one client connection and its delta state
+    private static class Connection {
+        final FrameChannel frames;
+        volatile GameSession session;
+        volatile long ackedTick;                            // last snapshot the client decoded
+        final GameState[] history = new GameState[HISTORY]; // sent states by tick, partition thread only
+
+        Connection(FrameChannel frames) {
+            this.frames = frames;
+            for (int i = 0; i < HISTORY; i++) {
+                history[i] = new GameState();
+                history[i].tick = -1;
+            }
+        }
+    }
+
+    // bind the listening socket; port 0 picks a free port
+    public NetServer(int port, int partitions) throws IOException {
+        this.gameServer = new GameServer(1280, 720, partitions, this, null);
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this, "net-server");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        gameServer.start();
+        thread.start();
+    }
+
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        selector.wakeup();
+        thread.join();
+        gameServer.stop();
+        serverChannel.close();
+        selector.close();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public GameServer getGameServer() {
+        return gameServer;
+    }
+
+    // selector loop: accept, read input, flush snapshots
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isReadable() && !connection.frames.read((type, payload) -> onFrame(connection, type, payload))) {
+                                disconnect(key, connection);
+                                continue;
+                            }
+                            if (key.isWritable()) flush(key, connection);
+                        } catch (IOException e) {
+                            System.err.println("Client connection error: " + e.getMessage());
+                            disconnect(key, connection);
+                        }
+                    }
+                }
+
+                // flush connections that received snapshots since the last pass
+                Connection connection;
+                while ((connection = dirty.poll()) != null) {
+                    SelectionKey key = connection.frames.getChannel().keyFor(selector);
+                    if (key == null || !key.isValid()) continue;
+                    try {
+                        flush(key, connection);
+                    } catch (IOException e) {
+                        disconnect(key, connection);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Network server error: " + e.getMessage());
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection connection = new Connection(new FrameChannel(channel));
+        channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    // write queued frames and only ask for write readiness while data is left
+    private void flush(SelectionKey key, Connection connection) throws IOException {
+        boolean done = connection.frames.flush();
+        int ops = done ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+        if (key.interestOps() != ops) key.interestOps(ops);
+    }
+
+    private void disconnect(SelectionKey key, Connection connection) {
+        key.cancel();
+        connection.frames.close();
+        GameSession session = connection.session;
+        if (session != null) {
+            session.close();
+            bySession.remove(session.getId());
+        }
+    }
+
+    // client frames, handled on the selector thread
+    private void onFrame(Connection connection, int type, ByteBuffer payload) throws IOException {
+        switch (type) {
+            case FrameChannel.HELLO -> {
+                String username = StandardCharsets.UTF_8.decode(payload).toString();
+                // one session per connection, a second HELLO would leave the first one running unowned
+                if (connection.session != null) {
+                    throw new IOException("Duplicate HELLO from " + username);
+                }
+                try {
+                    GameSession session = gameServer.createSession(username, System.nanoTime());
+                    connection.session = session;
+                    bySession.put(session.getId(), connection);
+                    System.out.println("Client " + username + " joined as session " + session.getId());
+                } catch (IllegalStateException e) {
+                    throw new IOException(e.getMessage());
+                }
+            }
+            case FrameChannel.INPUT -> {
+                GameSession session = connection.session;
+                if (session == null) return;
+                long ack = ReplayFormat.readVarLong(payload);
+                if (ack > connection.ackedTick) connection.ackedTick = ack;
+                int mask = payload.get();
+                int flags = payload.get();
+                boolean lasso = (flags & FrameChannel.INPUT_LASSO) != 0;
+                int x = 0;
+                int y = 0;
+                if (lasso) {
+                    x = (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(payload));
+                    y = (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(payload));
+                }
+                if ((flags & FrameChannel.INPUT_SEQUENCED) != 0) {
+                    session.submitInput((int) ReplayFormat.readVarLong(payload), mask, lasso, x, y);
+                } else if ((flags & FrameChannel.INPUT_ACK_ONLY) == 0) {
+                    session.setInput(mask);
+                    if (lasso) session.requestLasso(x, y);
+                }
+            }
+            default -> throw new IOException("Unexpected frame type " + type);
+        }
+    }
+
+    // runs on the partition thread right after the session ticked
+    @Override
+    public void afterTick(GameSession session) {
+        Connection connection = bySession.get(session.getId());
+        if (connection == null) return;
+
+        // back-pressure: a client that is not draining gets no new snapshot this tick
+        if (connection.frames.getQueuedFrames() >= MAX_QUEUED_FRAMES) return;
+
+        long tick = session.getViewModel().getTickCount();
+        GameState state = connection.history[(int) (tick % HISTORY)];
+        session.getViewModel().captureState(state);
+        state.fields[GameState.INPUT_SEQUENCE] = session.getLastInputSequence();
+
+        long acked = connection.ackedTick;
+        GameState baseline = connection.history[(int) (acked % HISTORY)];
+        if (acked == 0 || baseline.tick != acked || acked >= tick) {
+            baseline = null;
+        }
+
+        ByteBuffer frame = FrameChannel.newFrame(FrameChannel.SNAPSHOT, SnapshotCodec.maxEncodedSize(state, baseline));
+        SnapshotCodec.encode(state, baseline, frame);
+        connection.frames.send(frame);
+        dirty.offer(connection);
+        selector.wakeup();
+    }
+
+    @Override
+    public void onSessionEnded(GameSession session) {
+        // keep the connection so the client can still show the game over screen
+        bySession.remove(session.getId());
+    }
+
+    // usage: java net.NetServer [port] [partitions]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        int partitions = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        AssetLoading.setEnabled(false);
+
+        NetServer server = new NetServer(port, partitions);
+        server.start();
+        System.out.println("Game server listening on port " + server.getPort());
+        while (true) {
+            Thread.sleep(5000);
+            System.out.print(server.getGameServer().getMetrics().format());
+        }
+    }
+}
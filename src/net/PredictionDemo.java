@@ -0,0 +1,119 @@
+/******************************************
+ * Filename		: PredictionDemo.java
+ * Description	: Plays the same scripted input through a simulated slow link twice, once with client-side
+ *                prediction and once as a plain mirror, and reports how fast the character reacts on
+ *                screen and how large the reconciliation corrections were.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-12
+******************************************/
+package net;
+
+import model.AssetLoading;
+import model.GameCharacter;
+import viewmodel.GameState;
+import viewmodel.GameViewModel;
+
+public class PredictionDemo {
+    // scripted held input, one entry per segment
+    private static final int[] SCRIPT = {
+        GameViewModel.INPUT_RIGHT, 0, GameViewModel.INPUT_DOWN, 0,
+        GameViewModel.INPUT_LEFT, GameViewModel.INPUT_UP, 0, GameViewModel.INPUT_UP | GameViewModel.INPUT_RIGHT, 0
+    };
+    private static final int SEGMENT_FRAMES = 45;
+    private static final int LASSO_EVERY = 70;
+
+    // usage: java net.PredictionDemo [one-way latency ms] [jitter ms] [seconds]
+    public static void main(String[] args) throws Exception {
+        int latency = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int jitter = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        AssetLoading.setEnabled(false);
+
+        NetServer server = new NetServer(0, 1);
+        server.start();
+        LatencyProxy proxy = new LatencyProxy("127.0.0.1", server.getPort(), latency, jitter);
+        proxy.start();
+
+        System.out.println("Link: " + latency + " ms one way, up to " + jitter + " ms jitter, " + seconds + " s per run");
+        run(proxy.getPort(), seconds, true);
+        run(proxy.getPort(), seconds, false);
+
+        proxy.stop();
+        server.stop();
+    }
+
+    // drive one client through the script and print its numbers
+    private static void run(int port, int seconds, boolean predict) throws Exception {
+        String name = predict ? "predicted" : "mirror";
+        NetClient client = NetClient.connect("127.0.0.1:" + port, name);
+        GameViewModel mirror = new GameViewModel(1280, 720);
+        mirror.setQuiet(true);
+        mirror.startMirror(name);
+        MovementPredictor predictor = predict ? new MovementPredictor(client, mirror) : null;
+        GameCharacter character = mirror.getCharacter();
+
+        // wait for the first snapshot so both runs start from a live session
+        while (client.getSnapshotCount() == 0) {
+            if (predictor != null) predictor.frame(0, false, 0, 0);
+            Thread.sleep(GameViewModel.TICK_MILLIS);
+        }
+
+        long responseFrames = 0;    // frames from a key press to visible movement, summed
+        long responses = 0;
+        long pressFrame = -1;
+        int pressX = 0;
+        int pressY = 0;
+        int lastMask = 0;
+        long frames = seconds * 1000L / GameViewModel.TICK_MILLIS;
+        long start = System.nanoTime();
+        for (long frame = 0; frame < frames; frame++) {
+            int mask = SCRIPT[(int) (frame / SEGMENT_FRAMES % SCRIPT.length)];
+            boolean lasso = frame % LASSO_EVERY == 0;
+            int targetX = character.getX() + 300;
+            int targetY = character.getY() - 100;
+            if (mask != 0 && lastMask == 0) {
+                pressFrame = frame;
+                pressX = character.getX();
+                pressY = character.getY();
+            }
+            lastMask = mask;
+
+            if (predictor != null) {
+                predictor.frame(mask, lasso, targetX, targetY);
+            } else {
+                GameState state = client.pollLatest();
+                if (state != null) mirror.applyState(state);
+                client.setInput(mask);
+                if (lasso) client.requestLasso(targetX, targetY);
+            }
+
+            if (pressFrame >= 0 && (character.getX() != pressX || character.getY() != pressY)) {
+                responseFrames += frame - pressFrame + 1;
+                responses++;
+                pressFrame = -1;
+            }
+
+            // keep a steady frame rate like the swing timer
+            long next = start + (frame + 1) * GameViewModel.TICK_MILLIS * 1_000_000L;
+            long wait = next - System.nanoTime();
+            if (wait > 0) Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+        }
+
+        double averageFrames = responses == 0 ? 0 : responseFrames / (double) responses;
+        System.out.println();
+        System.out.println("[" + name + "]");
+        System.out.println("Key to screen:      " + String.format("%.1f frames (%.0f ms) over %d presses",
+                averageFrames, averageFrames * GameViewModel.TICK_MILLIS, responses));
+        System.out.println("Snapshots received: " + client.getSnapshotCount());
+        if (predictor != null) {
+            System.out.println("Corrections:        " + predictor.getCorrections() + " of " + predictor.getFrames()
+                    + " frames, " + predictor.getSnaps() + " snapped");
+            System.out.println("Correction error:   " + String.format("avg %.1f px, max %.1f px",
+                    predictor.getAverageError(), predictor.getMaxError()));
+            System.out.println("Unacked commands:   " + predictor.getPendingCount() + " at the end");
+        }
+        client.close();
+    }
+}
@@ -0,0 +1,217 @@
+/******************************************
+ * Filename		: SnapshotCodec.java
+ * Description	: Binary wire format for GameState with delta compression.
+ *                A state is encoded against the last snapshot the client acknowledged,
+ *                so unchanged fields and balls cost nothing and moving balls a byte or two.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-10
+******************************************/
+package net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import replay.ReplayFormat;
+import viewmodel.GameState;
+
+/*
+ * Snapshot layout (all integers varint, signed ones zigzag)
+ *   tick | baseline tick (0 = full state)
+ *   field mask | for every set bit: field delta against the baseline
+ *   removed ball count | removed ids
+ *   changed ball count | for every ball: id | change mask | payload
+ *     BALL_NEW   : type byte, every other part is then sent in full
+ *     BALL_X/Y   : position delta
+ *     BALL_FLAGS : flag byte
+ *     BALL_SPEED : speed byte
+ */
+public final class SnapshotCodec {
+    private static final int BALL_NEW = 1;
+    private static final int BALL_X = 2;
+    private static final int BALL_Y = 4;
+    private static final int BALL_FLAGS = 8;
+    private static final int BALL_SPEED = 16;
+
+    // longest varint of a long and of a non-negative int or a zigzagged int delta
+    private static final int MAX_LONG_BYTES = 10;
+    private static final int MAX_INT_BYTES = 5;
+    // id, change mask, type, x and y deltas, flags and speed of a new ball
+    private static final int MAX_BALL_BYTES = MAX_INT_BYTES + 1 + 1 + MAX_INT_BYTES + MAX_INT_BYTES + 1 + 1;
+
+    private SnapshotCodec() {
+    }
+
+    // upper bound of what encode writes for state against baseline, to size the frame
+    public static int maxEncodedSize(GameState state, GameState baseline) {
+        int baselineBalls = baseline == null ? 0 : baseline.ballCount;
+        return 2 * MAX_LONG_BYTES
+                + MAX_INT_BYTES + GameState.FIELD_COUNT * MAX_INT_BYTES
+                + MAX_INT_BYTES + baselineBalls * MAX_INT_BYTES
+                + MAX_INT_BYTES + state.ballCount * MAX_BALL_BYTES;
+    }
+
+    // encode state as a delta against baseline, or in full when baseline is null
+    public static void encode(GameState state, GameState baseline, ByteBuffer out) {
+        putVar(out, state.tick);
+        putVar(out, baseline == null ? 0 : baseline.tick);
+
+        int mask = 0;
+        for (int i = 0; i < GameState.FIELD_COUNT; i++) {
+            int base = baseline == null ? 0 : baseline.fields[i];
+            if (state.fields[i] != base) mask |= 1 << i;
+        }
+        putVar(out, mask);
+        for (int i = 0; i < GameState.FIELD_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                int base = baseline == null ? 0 : baseline.fields[i];
+                putVar(out, ReplayFormat.zigzag(state.fields[i] - base));
+            }
+        }
+
+        // balls that disappeared since the baseline
+        int removed = 0;
+        if (baseline != null) {
+            for (int i = 0; i < baseline.ballCount; i++) {
+                if (state.indexOfBall(baseline.ballIds[i]) < 0) removed++;
+            }
+        }
+        putVar(out, removed);
+        if (removed > 0) {
+            for (int i = 0; i < baseline.ballCount; i++) {
+                if (state.indexOfBall(baseline.ballIds[i]) < 0) putVar(out, baseline.ballIds[i]);
+            }
+        }
+
+        // new or changed balls, counted first so the decoder knows how many follow
+        int changed = 0;
+        for (int i = 0; i < state.ballCount; i++) {
+            if (ballChanges(state, i, baseline) != 0) changed++;
+        }
+        putVar(out, changed);
+        for (int i = 0; i < state.ballCount; i++) {
+            int changes = ballChanges(state, i, baseline);
+            if (changes == 0) continue;
+
+            int baseIndex = baseline == null ? -1 : baseline.indexOfBall(state.ballIds[i]);
+            putVar(out, state.ballIds[i]);
+            out.put((byte) changes);
+            if ((changes & BALL_NEW) != 0) out.put(state.ballTypes[i]);
+            if ((changes & BALL_X) != 0) {
+                putVar(out, ReplayFormat.zigzag(state.ballX[i] - (baseIndex < 0 ? 0 : baseline.ballX[baseIndex])));
+            }
+            if ((changes & BALL_Y) != 0) {
+                putVar(out, ReplayFormat.zigzag(state.ballY[i] - (baseIndex < 0 ? 0 : baseline.ballY[baseIndex])));
+            }
+            if ((changes & BALL_FLAGS) != 0) out.put(state.ballFlags[i]);
+            if ((changes & BALL_SPEED) != 0) out.put(state.ballSpeeds[i]);
+        }
+    }
+
+    // which parts of ball i differ from the baseline
+    private static int ballChanges(GameState state, int i, GameState baseline) {
+        int baseIndex = baseline == null ? -1 : baseline.indexOfBall(state.ballIds[i]);
+        if (baseIndex < 0) {
+            return BALL_NEW | BALL_X | BALL_Y | BALL_FLAGS | BALL_SPEED;
+        }
+        int changes = 0;
+        if (state.ballX[i] != baseline.ballX[baseIndex]) changes |= BALL_X;
+        if (state.ballY[i] != baseline.ballY[baseIndex]) changes |= BALL_Y;
+        if (state.ballFlags[i] != baseline.ballFlags[baseIndex]) changes |= BALL_FLAGS;
+        if (state.ballSpeeds[i] != baseline.ballSpeeds[baseIndex]) changes |= BALL_SPEED;
+        return changes;
+    }
+
+    // baseline tick referenced by an encoded snapshot, without consuming the buffer
+    public static long peekBaselineTick(ByteBuffer in) throws IOException {
+        ByteBuffer copy = in.duplicate();
+        ReplayFormat.readVarLong(copy);
+        return ReplayFormat.readVarLong(copy);
+    }
+
+    // decode into target; baseline must be the state with the referenced tick, or null for full states
+    public static void decode(ByteBuffer in, GameState baseline, GameState target) throws IOException {
+        target.tick = ReplayFormat.readVarLong(in);
+        long baselineTick = ReplayFormat.readVarLong(in);
+        if (baselineTick != 0 && (baseline == null || baseline.tick != baselineTick)) {
+            throw new IOException("Missing baseline " + baselineTick + " for snapshot " + target.tick);
+        }
+        GameState base = baselineTick == 0 ? null : baseline;
+
+        int mask = (int) ReplayFormat.readVarLong(in);
+        for (int i = 0; i < GameState.FIELD_COUNT; i++) {
+            int value = base == null ? 0 : base.fields[i];
+            if ((mask & (1 << i)) != 0) value += (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(in));
+            target.fields[i] = value;
+        }
+
+        // start from the baseline balls minus the removed ones
+        int removed = (int) ReplayFormat.readVarLong(in);
+        int[] removedIds = new int[removed];
+        for (int i = 0; i < removed; i++) {
+            removedIds[i] = (int) ReplayFormat.readVarLong(in);
+        }
+        target.ballCount = 0;
+        if (base != null) {
+            target.ensureBallCapacity(base.ballCount);
+            for (int i = 0; i < base.ballCount; i++) {
+                if (contains(removedIds, base.ballIds[i])) continue;
+                int j = target.ballCount++;
+                target.ballIds[j] = base.ballIds[i];
+                target.ballTypes[j] = base.ballTypes[i];
+                target.ballX[j] = base.ballX[i];
+                target.ballY[j] = base.ballY[i];
+                target.ballFlags[j] = base.ballFlags[i];
+                target.ballSpeeds[j] = base.ballSpeeds[i];
+            }
+        }
+
+        int changed = (int) ReplayFormat.readVarLong(in);
+        for (int c = 0; c < changed; c++) {
+            int id = (int) ReplayFormat.readVarLong(in);
+            int changes = in.get();
+            int j = target.indexOfBall(id);
+            if (j < 0) {
+                target.ensureBallCapacity(target.ballCount + 1);
+                j = target.ballCount++;
+                target.ballIds[j] = id;
+                target.ballX[j] = 0;
+                target.ballY[j] = 0;
+            }
+            if ((changes & BALL_NEW) != 0) target.ballTypes[j] = in.get();
+            if ((changes & BALL_X) != 0) target.ballX[j] += (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(in));
+            if ((changes & BALL_Y) != 0) target.ballY[j] += (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(in));
+            if ((changes & BALL_FLAGS) != 0) target.ballFlags[j] = in.get();
+            if ((changes & BALL_SPEED) != 0) target.ballSpeeds[j] = in.get();
+        }
+    }
+
+    // copy every field of source into target
+    public static void copy(GameState source, GameState target) {
+        target.tick = source.tick;
+        System.arraycopy(source.fields, 0, target.fields, 0, GameState.FIELD_COUNT);
+        target.ensureBallCapacity(source.ballCount);
+        target.ballCount = source.ballCount;
+        System.arraycopy(source.ballIds, 0, target.ballIds, 0, source.ballCount);
+        System.arraycopy(source.ballTypes, 0, target.ballTypes, 0, source.ballCount);
+        System.arraycopy(source.ballX, 0, target.ballX, 0, source.ballCount);
+        System.arraycopy(source.ballY, 0, target.ballY, 0, source.ballCount);
+        System.arraycopy(source.ballFlags, 0, target.ballFlags, 0, source.ballCount);
+        System.arraycopy(source.ballSpeeds, 0, target.ballSpeeds, 0, source.ballCount);
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) return true;
+        }
+        return false;
+    }
+
+    // unsigned varint into a buffer
+    static void putVar(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+}
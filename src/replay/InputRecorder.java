@@ -0,0 +1,165 @@
+/******************************************
+ * Filename		: InputRecorder.java
+ * Description	: Records the per-tick input of a game session into a compact binary replay file.
+ *                Only input changes and lasso clicks are written, so idle time costs nothing.
+ *                Periodic keyframes and an index footer allow seeking without re-simulating.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-02
+******************************************/
+package replay;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import viewmodel.GameViewModel;
+
+public class InputRecorder implements GameViewModel.InputListener {
+    // default keyframe spacing, about 19 seconds of play
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 1200;
+
+    private final File file;                // destination replay file
+    private final GameViewModel viewModel;  // recorded session, source of keyframe snapshots
+    private final int keyframeInterval;     // ticks between keyframes, 0 disables them
+    private DataOutputStream out;           // counting file stream, null once closed or failed
+    private final List<long[]> keyframes;   // (tick, file offset) of every keyframe written
+    private long lastEventTick = 0;         // tick of the previously written event
+    private long nextTick = 0;              // first tick not yet observed
+    private int lastMask = 0;               // last written input mask
+    private int lastLassoX = 0;             // last written lasso target x
+    private int lastLassoY = 0;             // last written lasso target y
+
+    // create recorder and write the file header for the given session, played by username
+    public InputRecorder(File file, GameViewModel viewModel, String username, int keyframeInterval) throws IOException {
+        this.file = file;
+        this.viewModel = viewModel;
+        this.keyframeInterval = keyframeInterval;
+        this.keyframes = new ArrayList<>();
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        out.write(ReplayFormat.MAGIC);
+        out.write(ReplayFormat.VERSION);
+        ReplayFormat.writeVarLong(out, viewModel.getGameWidth());
+        ReplayFormat.writeVarLong(out, viewModel.getGameHeight());
+        ReplayFormat.writeLong(out, viewModel.getSeed());
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        ReplayFormat.writeVarLong(out, name.length);
+        out.write(name);
+        boolean ballLimits = viewModel.getMaxBalls() != GameViewModel.DEFAULT_MAX_BALLS || viewModel.getSpawnBatch() != 1;
+        ReplayFormat.writeVarLong(out, (viewModel.isGravityEnabled() ? ReplayFormat.FLAG_GRAVITY : 0)
+                | (ballLimits ? ReplayFormat.FLAG_BALL_LIMITS : 0));
+        if (viewModel.isGravityEnabled()) {
+            ReplayFormat.writeLong(out, Double.doubleToLongBits(viewModel.getGravityTheta()));
+        }
+        if (ballLimits) {
+            ReplayFormat.writeVarLong(out, viewModel.getMaxBalls());
+            ReplayFormat.writeVarLong(out, viewModel.getSpawnBatch());
+        }
+    }
+
+    // attach a recorder to a session that has not ticked yet, before it is started for username
+    public static InputRecorder attach(GameViewModel viewModel, String username, File file) throws IOException {
+        InputRecorder recorder = new InputRecorder(file, viewModel, username, DEFAULT_KEYFRAME_INTERVAL);
+        viewModel.setInputListener(recorder);
+        return recorder;
+    }
+
+    // attach a recorder to a started session that has not ticked yet
+    public static InputRecorder attach(GameViewModel viewModel, File file) throws IOException {
+        return attach(viewModel, viewModel.getCurrentPlayer().getUsername(), file);
+    }
+
+    @Override
+    public void onTickInput(long tick, int inputMask, boolean lassoThrown, int lassoX, int lassoY) {
+        if (out == null) return;
+
+        try {
+            // keyframe first, it captures the state before this tick's input
+            if (keyframeInterval > 0 && tick > 0 && tick % keyframeInterval == 0) {
+                writeKeyframe(tick);
+            }
+            if (inputMask != lastMask) {
+                writeHeader(tick, ReplayFormat.KIND_INPUT);
+                out.write(inputMask);
+                lastMask = inputMask;
+            }
+            if (lassoThrown) {
+                writeHeader(tick, ReplayFormat.KIND_LASSO);
+                ReplayFormat.writeVarLong(out, ReplayFormat.zigzag(lassoX - lastLassoX));
+                ReplayFormat.writeVarLong(out, ReplayFormat.zigzag(lassoY - lastLassoY));
+                lastLassoX = lassoX;
+                lastLassoY = lassoY;
+            }
+            nextTick = tick + 1;
+        } catch (IOException e) {
+            System.err.println("Error writing replay file, recording stopped: " + e.getMessage());
+            closeQuietly();
+        }
+    }
+
+    // snapshot the session along with the decoder state needed to resume the input stream
+    private void writeKeyframe(long tick) throws IOException {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream(1024);
+        viewModel.writeSnapshot(new DataOutputStream(snapshot));
+
+        keyframes.add(new long[] {tick, out.size()});
+        writeHeader(tick, ReplayFormat.KIND_KEYFRAME);
+        ReplayFormat.writeVarLong(out, lastMask);
+        ReplayFormat.writeVarLong(out, ReplayFormat.zigzag(lastLassoX));
+        ReplayFormat.writeVarLong(out, ReplayFormat.zigzag(lastLassoY));
+        ReplayFormat.writeVarLong(out, snapshot.size());
+        snapshot.writeTo(out);
+    }
+
+    // write end marker, keyframe index and close the file
+    public void close() {
+        if (out == null) return;
+
+        try {
+            writeHeader(nextTick, ReplayFormat.KIND_END);
+            long footerOffset = out.size();
+            out.writeInt(keyframes.size());
+            for (long[] entry : keyframes) {
+                out.writeLong(entry[0]);
+                out.writeLong(entry[1]);
+            }
+            out.writeLong(footerOffset);
+            out.write(ReplayFormat.INDEX_MAGIC);
+            out.close();
+            System.out.println("Saved replay (" + nextTick + " ticks, " + keyframes.size() + " keyframes, "
+                    + file.length() + " bytes): " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("Error closing replay file: " + e.getMessage());
+        }
+        out = null;
+    }
+
+    // event header: ticks since previous event shifted above the kind bits
+    private void writeHeader(long tick, int kind) throws IOException {
+        long delta = tick - lastEventTick;
+        ReplayFormat.writeVarLong(out, (delta << ReplayFormat.KIND_BITS) | kind);
+        lastEventTick = tick;
+    }
+
+    private void closeQuietly() {
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // already failing, nothing more to report
+        }
+        out = null;
+    }
+
+    public File getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,133 @@
+/******************************************
+ * Filename		: ReplayFormat.java
+ * Description	: Shared constants and varint helpers for the binary replay file format.
+ *                Every event is one varint header (tick delta and kind) plus a small payload.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-02
+******************************************/
+package replay;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/*
+ * File layout
+ *   header : "DREC" | version (1 byte) | varint width | varint height | seed (8 bytes, big endian)
+ *            | varint length, utf-8 username of the recorded player
+ *            | varint session flags | gravity theta (8 bytes, double bits) if FLAG_GRAVITY
+ *            | varint max balls, varint spawn batch if FLAG_BALL_LIMITS
+ *   events : varint (tickDelta << KIND_BITS | kind) followed by the payload of that kind
+ *     KIND_INPUT    : 1 byte held input mask, only written when the mask changes
+ *     KIND_LASSO    : zigzag varint dx, zigzag varint dy against the previous lasso target
+ *     KIND_KEYFRAME : varint held mask, zigzag varint lasso x and y, varint length, session snapshot
+ *     KIND_END      : no payload, its tick is the total number of recorded ticks
+ *   footer : keyframe count (4 bytes) | count x (tick 8 bytes, offset 8 bytes) | footer offset (8 bytes) | "DIDX"
+ *
+ * Only files of the current version are read; it changes whenever the header or the events
+ * change. Keyframe snapshots start with GameViewModel.SNAPSHOT_LAYOUT and are refused when it
+ * differs, so a snapshot change can never be read with the wrong layout.
+ *
+ * Keyframes are written before the input of their tick, and the footer entries are
+ * sorted by tick so a reader can binary search them in place.
+ */
+public final class ReplayFormat {
+    public static final byte[] MAGIC = {'D', 'R', 'E', 'C'};
+    public static final byte[] INDEX_MAGIC = {'D', 'I', 'D', 'X'};
+    public static final int VERSION = 4;
+
+    // session flags in the header
+    public static final int FLAG_GRAVITY = 1;
+    public static final int FLAG_BALL_LIMITS = 2;
+
+    // event kinds, stored in the low bits of every event header
+    public static final int KIND_BITS = 2;
+    public static final int KIND_INPUT = 0;
+    public static final int KIND_LASSO = 1;
+    public static final int KIND_END = 2;
+    public static final int KIND_KEYFRAME = 3;
+
+    // footer sizes in bytes
+    public static final int INDEX_ENTRY_SIZE = 16;
+    public static final int TRAILER_SIZE = 8 + 4;
+
+    private ReplayFormat() {
+    }
+
+    // write unsigned varint, 7 bits per byte with continuation bit
+    public static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    // read unsigned varint written by writeVarLong
+    public static long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        int shift = 0;
+        while (shift < 64) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated varint in replay file");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+        throw new IOException("Malformed varint in replay file");
+    }
+
+    // read unsigned varint from a mapped buffer
+    public static long readVarLong(ByteBuffer buffer) throws IOException {
+        long result = 0;
+        int shift = 0;
+        try {
+            while (shift < 64) {
+                int b = buffer.get() & 0xFF;
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+                shift += 7;
+            }
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated varint in replay file");
+        }
+        throw new IOException("Malformed varint in replay file");
+    }
+
+    // map signed values to unsigned so small negatives stay short
+    public static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static void writeLong(OutputStream out, long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift) & 0xFF);
+        }
+    }
+
+    public static long readLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated replay header");
+            }
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+}
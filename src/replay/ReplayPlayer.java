@@ -0,0 +1,110 @@
+/******************************************
+ * Filename		: ReplayPlayer.java
+ * Description	: Feeds a recorded replay file back into a headless GameViewModel.
+ *                Runs at unlimited speed for benchmarking or paced in real time,
+ *                optionally starting from any tick through the keyframe index.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-02
+******************************************/
+package replay;
+
+import java.io.File;
+import java.io.IOException;
+import model.AssetLoading;
+import viewmodel.GameViewModel;
+
+public class ReplayPlayer {
+    private final ReplayReader reader;  // mapped replay file
+    private boolean realTime;           // pace ticks at TICK_MILLIS instead of running flat out
+    private long seekNanos;             // wall time spent seeking to the start tick
+    private long elapsedNanos;          // wall time spent playing after the seek
+
+    public ReplayPlayer(File file) throws IOException {
+        this.reader = new ReplayReader(file);
+    }
+
+    public void setRealTime(boolean realTime) {
+        this.realTime = realTime;
+    }
+
+    // replay from the start tick to the end of the file and return the finished session
+    public GameViewModel play(long fromTick) throws IOException {
+        long seekStart = System.nanoTime();
+        GameViewModel viewModel = reader.seek(fromTick);
+        long startNanos = System.nanoTime();
+        seekNanos = startNanos - seekStart;
+
+        long startTick = viewModel.getTickCount();
+        long endTick = reader.getTotalTicks();
+        if (realTime) {
+            // one tick at a time, sleeping until each tick is due
+            for (long tick = startTick + 1; tick <= endTick && viewModel.isGameRunning(); tick++) {
+                long due = startNanos + (tick - startTick) * GameViewModel.TICK_MILLIS * 1_000_000L;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                reader.advanceTo(tick);
+            }
+        } else {
+            reader.advanceTo(endTick);
+        }
+        elapsedNanos = System.nanoTime() - startNanos;
+        return viewModel;
+    }
+
+    public ReplayReader getReader() {
+        return reader;
+    }
+
+    public long getSeekNanos() {
+        return seekNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // usage: java replay.ReplayPlayer <file> [--from <tick>] [--realtime] [--verbose]
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayPlayer <replay file> [--from <tick>] [--realtime] [--verbose]");
+            return;
+        }
+        boolean realTime = false;
+        boolean verbose = false;
+        long fromTick = 0;
+        for (int i = 1; i < args.length; i++) {
+            if ("--realtime".equals(args[i])) realTime = true;
+            if ("--verbose".equals(args[i])) verbose = true;
+            if ("--from".equals(args[i]) && i + 1 < args.length) fromTick = Long.parseLong(args[++i]);
+        }
+
+        // headless playback: no sprites, and game log output muted unless asked for
+        AssetLoading.setEnabled(false);
+
+        ReplayPlayer player = new ReplayPlayer(new File(args[0]));
+        player.setRealTime(realTime);
+        player.getReader().setQuiet(!verbose);
+        long startTick = Math.min(fromTick, player.getReader().getTotalTicks());
+        GameViewModel result = player.play(startTick);
+
+        double seekMillis = player.getSeekNanos() / 1e6;
+        double seconds = player.getElapsedNanos() / 1e9;
+        long played = result.getTickCount() - startTick;
+        System.out.println("Seeked to tick " + startTick + " in " + String.format("%.1f", seekMillis) + " ms ("
+                + player.getReader().getKeyframeCount() + " keyframes in file)");
+        System.out.println("Replayed " + played + " ticks in " + String.format("%.3f", seconds) + " s ("
+                + String.format("%.0f", played / Math.max(seconds, 1e-9)) + " ticks/s)");
+        System.out.println("Final score: " + result.getCurrentPlayer().getSkor()
+                + ", count: " + result.getCurrentPlayer().getCount()
+                + ", hp: " + result.getPlayerHP()
+                + ", game over: " + result.isGameOver());
+    }
+}
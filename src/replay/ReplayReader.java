@@ -0,0 +1,291 @@
+/******************************************
+ * Filename		: ReplayReader.java
+ * Description	: Memory-mapped reader for replay files with random-access seek.
+ *                Seeks jump to the nearest keyframe through the index footer and
+ *                only re-simulate the ticks after it.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-04
+******************************************/
+package replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import viewmodel.GameViewModel;
+
+public class ReplayReader {
+    private final File file;                // replay file being read
+    private final MappedByteBuffer data;    // whole file mapped read only
+    private final int gameWidth;            // recorded session width
+    private final int gameHeight;           // recorded session height
+    private final long seed;                // recorded session seed
+    private final String username;          // recorded player, credited again on replay
+    private final double gravityTheta;      // theta of a gravity mode session, NaN without gravity
+    private final int maxBalls;             // recorded ball limits
+    private final int spawnBatch;
+    private final int eventsStart;          // offset of the first event after the header
+    private final int indexStart;           // offset of the first index entry, -1 without footer
+    private final int keyframeCount;        // number of index entries
+    private final long totalTicks;          // tick of the end marker
+
+    // playback cursor
+    private GameViewModel viewModel;        // session positioned at the cursor
+    private ByteBuffer cursor;              // event stream position of the cursor
+    private long eventTick;                 // tick of the last decoded event
+    private int lassoX, lassoY;             // lasso delta decoder state
+    private long pendingEventTick = -1;     // tick of a decoded but not yet applied event
+    private int pendingKind;                // kind of that event
+    private boolean ended;                  // end marker reached
+    private boolean quiet;                  // replayed sessions keep their game log to themselves
+
+    // map the file and read header and index footer
+    public ReplayReader(File file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Replay file too large: " + file.getPath());
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer header = data.duplicate();
+        for (byte b : ReplayFormat.MAGIC) {
+            if (header.remaining() == 0 || header.get() != b) {
+                throw new IOException("Not a replay file: " + file.getPath());
+            }
+        }
+        int version = header.get();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unsupported replay version: " + version);
+        }
+        gameWidth = (int) ReplayFormat.readVarLong(header);
+        gameHeight = (int) ReplayFormat.readVarLong(header);
+        seed = header.getLong();
+        byte[] name = new byte[(int) ReplayFormat.readVarLong(header)];
+        header.get(name);
+        username = new String(name, StandardCharsets.UTF_8);
+        int flags = (int) ReplayFormat.readVarLong(header);
+        gravityTheta = (flags & ReplayFormat.FLAG_GRAVITY) != 0 ? Double.longBitsToDouble(header.getLong()) : Double.NaN;
+        if ((flags & ReplayFormat.FLAG_BALL_LIMITS) != 0) {
+            maxBalls = (int) ReplayFormat.readVarLong(header);
+            spawnBatch = (int) ReplayFormat.readVarLong(header);
+        } else {
+            maxBalls = GameViewModel.DEFAULT_MAX_BALLS;
+            spawnBatch = 1;
+        }
+        eventsStart = header.position();
+
+        // a recording that was not closed has no footer
+        if (hasIndexTrailer()) {
+            int trailer = data.limit() - ReplayFormat.TRAILER_SIZE;
+            int footerOffset = (int) data.getLong(trailer);
+            keyframeCount = data.getInt(footerOffset);
+            indexStart = footerOffset + 4;
+        } else {
+            keyframeCount = 0;
+            indexStart = -1;
+        }
+        totalTicks = scanEndTick();
+    }
+
+    private boolean hasIndexTrailer() {
+        int magicStart = data.limit() - ReplayFormat.INDEX_MAGIC.length;
+        if (magicStart < eventsStart) return false;
+        for (int i = 0; i < ReplayFormat.INDEX_MAGIC.length; i++) {
+            if (data.get(magicStart + i) != ReplayFormat.INDEX_MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    // find total length, starting from the last keyframe so long files are not walked from the top
+    private long scanEndTick() throws IOException {
+        ByteBuffer events = data.duplicate();
+        long tick = 0;
+        if (keyframeCount > 0) {
+            tick = keyframeTick(keyframeCount - 1);
+            events.position((int) keyframeOffset(keyframeCount - 1));
+            long header = ReplayFormat.readVarLong(events);
+            skipPayload(events, (int) (header & kindMask()));
+        } else {
+            events.position(eventsStart);
+        }
+        while (true) {
+            long header = ReplayFormat.readVarLong(events);
+            tick += header >>> ReplayFormat.KIND_BITS;
+            int kind = (int) (header & kindMask());
+            if (kind == ReplayFormat.KIND_END) {
+                return tick;
+            }
+            skipPayload(events, kind);
+        }
+    }
+
+    private void skipPayload(ByteBuffer events, int kind) throws IOException {
+        switch (kind) {
+            case ReplayFormat.KIND_INPUT -> events.get();
+            case ReplayFormat.KIND_LASSO -> {
+                ReplayFormat.readVarLong(events);
+                ReplayFormat.readVarLong(events);
+            }
+            case ReplayFormat.KIND_KEYFRAME -> {
+                ReplayFormat.readVarLong(events);
+                ReplayFormat.readVarLong(events);
+                ReplayFormat.readVarLong(events);
+                int length = (int) ReplayFormat.readVarLong(events);
+                events.position(events.position() + length);
+            }
+            default -> throw new IOException("Unknown replay event kind: " + kind);
+        }
+    }
+
+    private static long kindMask() {
+        return (1 << ReplayFormat.KIND_BITS) - 1;
+    }
+
+    private long keyframeTick(int index) {
+        return data.getLong(indexStart + index * ReplayFormat.INDEX_ENTRY_SIZE);
+    }
+
+    private long keyframeOffset(int index) {
+        return data.getLong(indexStart + index * ReplayFormat.INDEX_ENTRY_SIZE + 8);
+    }
+
+    // binary search for the last keyframe at or before the tick, -1 if none
+    private int findKeyframe(long tick) {
+        int low = 0;
+        int high = keyframeCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keyframeTick(mid) <= tick) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    // position a fresh headless session at the given tick and return it
+    public GameViewModel seek(long tick) throws IOException {
+        ByteBuffer events = data.duplicate();
+        viewModel = new GameViewModel(gameWidth, gameHeight, seed);
+        viewModel.setQuiet(quiet);
+        if (!Double.isNaN(gravityTheta)) {
+            viewModel.setGravity(gravityTheta);
+        }
+        viewModel.setBallLimits(maxBalls, spawnBatch);
+        viewModel.startSimulation(username);
+        lassoX = 0;
+        lassoY = 0;
+        eventTick = 0;
+        pendingEventTick = -1;
+        ended = false;
+
+        int keyframe = findKeyframe(tick);
+        if (keyframe >= 0) {
+            // restore snapshot and the input decoder state stored with it
+            events.position((int) keyframeOffset(keyframe));
+            long header = ReplayFormat.readVarLong(events);
+            if ((header & kindMask()) != ReplayFormat.KIND_KEYFRAME) {
+                throw new IOException("Replay index points at a non keyframe event");
+            }
+            int mask = (int) ReplayFormat.readVarLong(events);
+            lassoX = (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(events));
+            lassoY = (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(events));
+            byte[] snapshot = new byte[(int) ReplayFormat.readVarLong(events)];
+            events.get(snapshot);
+            viewModel.restoreSnapshot(new DataInputStream(new ByteArrayInputStream(snapshot)));
+            viewModel.setInput(mask);
+            eventTick = keyframeTick(keyframe);
+        } else {
+            events.position(eventsStart);
+        }
+        cursor = events;
+        advanceTo(tick);
+        return viewModel;
+    }
+
+    // apply events and simulate until the session has run the given number of ticks
+    public void advanceTo(long tick) throws IOException {
+        if (viewModel == null) {
+            throw new IllegalStateException("seek must be called before advanceTo");
+        }
+        while (viewModel.getTickCount() < tick && viewModel.isGameRunning()) {
+            applyEventsFor(viewModel.getTickCount());
+            if (ended) break;
+            viewModel.tick();
+        }
+    }
+
+    // apply every event recorded for the given tick, events for later ticks stay pending
+    private void applyEventsFor(long tick) throws IOException {
+        while (!ended) {
+            if (pendingEventTick < 0) {
+                long header = ReplayFormat.readVarLong(cursor);
+                pendingEventTick = eventTick + (header >>> ReplayFormat.KIND_BITS);
+                pendingKind = (int) (header & kindMask());
+                eventTick = pendingEventTick;
+            }
+            if (pendingEventTick > tick) return;
+
+            switch (pendingKind) {
+                case ReplayFormat.KIND_INPUT -> viewModel.setInput(cursor.get() & 0xFF);
+                case ReplayFormat.KIND_LASSO -> {
+                    lassoX += (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(cursor));
+                    lassoY += (int) ReplayFormat.unzigzag(ReplayFormat.readVarLong(cursor));
+                    viewModel.requestLasso(lassoX, lassoY);
+                }
+                case ReplayFormat.KIND_KEYFRAME -> skipPayload(cursor, pendingKind);
+                case ReplayFormat.KIND_END -> ended = true;
+                default -> throw new IOException("Unknown replay event kind: " + pendingKind);
+            }
+            pendingEventTick = -1;
+        }
+    }
+
+    // mute the game log of the replayed session, from the current one on
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+        if (viewModel != null) {
+            viewModel.setQuiet(quiet);
+        }
+    }
+
+    // getters
+    public GameViewModel getViewModel() {
+        return viewModel;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public int getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public double getGravityTheta() {
+        return gravityTheta;
+    }
+
+    public File getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,234 @@
+/******************************************
+ * Filename		: GameServer.java
+ * Description	: Hosts many independent game sessions in one process.
+ *                Sessions are partitioned across one tick thread per core; each partition
+ *                ticks its sessions at the game rate and sheds backlog when it overruns.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-08
+******************************************/
+package server;
+
+import bot.ScoreSink;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import viewmodel.GameViewModel;
+
+public class GameServer {
+    // tick period shared by every session
+    private static final long TICK_NANOS = GameViewModel.TICK_MILLIS * 1_000_000L;
+    // ticks a partition may fall behind before the backlog is dropped
+    private static final int MAX_CATCH_UP_TICKS = 4;
+    // partitions busier than this share of the tick period refuse new sessions
+    private static final double ADMISSION_LOAD_LIMIT = 0.8;
+
+    private final int gameWidth;
+    private final int gameHeight;
+    private final Partition[] partitions;           // one tick thread each
+    private final SessionListener listener;         // optional lifecycle callbacks
+    private final ScoreSink scoreSink;              // optional score persistence
+    private final ExecutorService scoreWriter;      // keeps database writes off the tick threads
+    private final AtomicLong nextSessionId = new AtomicLong(1);
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong finished = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile boolean running;
+
+    public GameServer(int gameWidth, int gameHeight, int partitionCount, SessionListener listener, ScoreSink scoreSink) {
+        this.gameWidth = gameWidth;
+        this.gameHeight = gameHeight;
+        this.listener = listener != null ? listener : new SessionListener() { };
+        this.scoreSink = scoreSink;
+        this.scoreWriter = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "score-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i);
+        }
+    }
+
+    // start all partition threads
+    public void start() {
+        running = true;
+        for (Partition partition : partitions) {
+            partition.thread.start();
+        }
+    }
+
+    // stop ticking, close every session and wait for pending score writes
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Partition partition : partitions) {
+            partition.thread.join();
+            // sessions queued after the partition's last round never started, close them the same way
+            GameSession queued;
+            while ((queued = partition.incoming.poll()) != null) {
+                queued.close();
+                partition.size.decrementAndGet();
+                retire(queued);
+            }
+        }
+        scoreWriter.shutdown();
+        scoreWriter.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // create a session on the least loaded partition, throws when every partition is saturated
+    public GameSession createSession(String username, long seed) {
+        Partition target = null;
+        for (Partition partition : partitions) {
+            if (target == null || partition.size.get() < target.size.get()) {
+                target = partition;
+            }
+        }
+        if (target.load() > ADMISSION_LOAD_LIMIT) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Server at capacity, session for " + username + " rejected");
+        }
+
+        GameSession session = new GameSession(nextSessionId.getAndIncrement(), username, gameWidth, gameHeight, seed);
+        target.size.incrementAndGet();
+        target.incoming.offer(session);
+        created.incrementAndGet();
+        return session;
+    }
+
+    // session left its partition, count it and hand the score to the writer thread
+    private void retire(GameSession session) {
+        switch (session.getState()) {
+            case FINISHED -> finished.incrementAndGet();
+            case FAILED -> failed.incrementAndGet();
+            default -> closed.incrementAndGet();
+        }
+        if (scoreSink != null && session.getState() != GameSession.State.FAILED) {
+            model.Player player = session.getViewModel().getCurrentPlayer();
+            if (player.getSkor() > 0 || player.getCount() > 0) {
+                scoreWriter.execute(() -> scoreSink.save(player));
+            }
+        }
+        listener.onSessionEnded(session);
+    }
+
+    // current metrics across all partitions
+    public ServerMetrics getMetrics() {
+        ServerMetrics.PartitionMetrics[] perPartition = new ServerMetrics.PartitionMetrics[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            Partition p = partitions[i];
+            perPartition[i] = new ServerMetrics.PartitionMetrics(i, p.size.get(), p.ticks.get(),
+                    p.lastRoundNanos, p.maxRoundNanos.getAndSet(0), p.lagNanos, p.maxLagNanos.getAndSet(0),
+                    p.overruns.get(), p.skippedTicks.get());
+        }
+        return new ServerMetrics(created.get(), finished.get(), failed.get(), closed.get(), rejected.get(), perPartition);
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    // one tick thread and the sessions it owns
+    private class Partition implements Runnable {
+        private final Thread thread;
+        private final List<GameSession> sessions = new ArrayList<>();   // only touched by the partition thread
+        private final ConcurrentLinkedQueue<GameSession> incoming = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();         // sessions owned or incoming
+        private final AtomicLong ticks = new AtomicLong();              // rounds completed
+        private final AtomicLong overruns = new AtomicLong();           // rounds longer than a tick
+        private final AtomicLong skippedTicks = new AtomicLong();       // ticks dropped to shed backlog
+        private final AtomicLong maxRoundNanos = new AtomicLong();
+        private final AtomicLong maxLagNanos = new AtomicLong();
+        private volatile long lastRoundNanos;
+        private volatile long lagNanos;
+
+        Partition(int index) {
+            thread = new Thread(this, "game-partition-" + index);
+            thread.setDaemon(true);
+        }
+
+        // share of the tick period the last round used
+        double load() {
+            return (double) lastRoundNanos / TICK_NANOS;
+        }
+
+        @Override
+        public void run() {
+            long nextDue = System.nanoTime();
+            while (running) {
+                long now = System.nanoTime();
+                if (now < nextDue) {
+                    LockSupport.parkNanos(nextDue - now);
+                    continue;
+                }
+
+                // back-pressure: when too far behind, drop the backlog instead of bursting
+                long lag = now - nextDue;
+                lagNanos = lag;
+                maxLagNanos.accumulateAndGet(lag, Math::max);
+                if (lag > MAX_CATCH_UP_TICKS * TICK_NANOS) {
+                    long dropped = lag / TICK_NANOS;
+                    skippedTicks.addAndGet(dropped);
+                    nextDue += dropped * TICK_NANOS;
+                }
+
+                runRound();
+                long roundNanos = System.nanoTime() - now;
+                lastRoundNanos = roundNanos;
+                maxRoundNanos.accumulateAndGet(roundNanos, Math::max);
+                if (roundNanos > TICK_NANOS) {
+                    overruns.incrementAndGet();
+                }
+                ticks.incrementAndGet();
+                nextDue += TICK_NANOS;
+            }
+
+            // server stopped, close whatever is still running
+            for (GameSession session : sessions) {
+                session.close();
+                size.decrementAndGet();
+                retire(session);
+            }
+            sessions.clear();
+        }
+
+        // admit new sessions, tick every session once and retire the ones that ended
+        private void runRound() {
+            GameSession added;
+            while ((added = incoming.poll()) != null) {
+                sessions.add(added);
+                listener.onSessionStarted(added);
+            }
+
+            for (int i = sessions.size() - 1; i >= 0; i--) {
+                GameSession session = sessions.get(i);
+                if (session.isActive()) {
+                    // a failing listener only takes down its own session
+                    try {
+                        listener.beforeTick(session);
+                        session.tick();
+                        listener.afterTick(session);
+                    } catch (RuntimeException e) {
+                        session.fail(e);
+                    }
+                }
+                if (!session.isActive()) {
+                    // swap remove, order inside a partition does not matter
+                    int last = sessions.size() - 1;
+                    sessions.set(i, sessions.get(last));
+                    sessions.remove(last);
+                    size.decrementAndGet();
+                    retire(session);
+                }
+            }
+        }
+    }
+}
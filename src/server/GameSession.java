@@ -0,0 +1,158 @@
+/******************************************
+ * Filename		: GameSession.java
+ * Description	: One hosted game inside the server, wrapping its own headless GameViewModel.
+ *                Input may arrive from any thread and is handed to the simulation at the next tick,
+ *                either as held input or as numbered per-frame commands from a predicting client.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-08
+******************************************/
+package server;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import viewmodel.GameViewModel;
+
+public class GameSession {
+    // queued commands beyond this are skipped so a client that got ahead does not gain input latency
+    private static final int MAX_BUFFERED_COMMANDS = 4;
+
+    // lifecycle of a hosted session
+    public enum State {
+        RUNNING, FINISHED, FAILED, CLOSED
+    }
+
+    private final long id;                                  // server wide session id
+    private final String username;                          // player name for score saving
+    private final GameViewModel viewModel;                  // session simulation, only touched by its partition
+    private final long createdNanos;                        // creation time for lifetime metrics
+    private volatile State state = State.RUNNING;           // current lifecycle state
+    private volatile int inputMask;                         // latest held input from the client
+    private final ConcurrentLinkedQueue<int[]> lassoClicks; // lasso clicks waiting for the next tick
+    private final ConcurrentLinkedQueue<int[]> commands;    // {sequence, mask, lasso, x, y} one applied per tick
+    private volatile boolean sequenced;                     // client sends numbered commands instead of held input
+    private volatile int lastInputSequence;                 // last command applied, echoed in snapshots
+    private volatile long lastTickNanos;                    // duration of the last tick
+    private volatile Throwable failure;                     // error that stopped the session
+
+    GameSession(long id, String username, int gameWidth, int gameHeight, long seed) {
+        this.id = id;
+        this.username = username;
+        this.viewModel = new GameViewModel(gameWidth, gameHeight, seed);
+        viewModel.setQuiet(true); // hundreds of sessions share one console
+        this.lassoClicks = new ConcurrentLinkedQueue<>();
+        this.commands = new ConcurrentLinkedQueue<>();
+        this.createdNanos = System.nanoTime();
+        viewModel.startSimulation(username);
+    }
+
+    // client input, safe to call from any thread
+    public void setInput(int mask) {
+        this.inputMask = mask;
+    }
+
+    public void requestLasso(int targetX, int targetY) {
+        lassoClicks.offer(new int[] {targetX, targetY});
+    }
+    
+    // numbered input for exactly one tick, the client replays unapplied ones on top of each snapshot
+    public void submitInput(int sequence, int mask, boolean lasso, int targetX, int targetY) {
+        sequenced = true;
+        commands.offer(new int[] {sequence, mask, lasso ? 1 : 0, targetX, targetY});
+    }
+
+    // ask the server to drop this session at its next tick
+    public void close() {
+        if (state == State.RUNNING) {
+            state = State.CLOSED;
+        }
+    }
+
+    // run one tick on the partition thread, failures stay inside this session
+    void tick() {
+        if (state != State.RUNNING) return;
+
+        long start = System.nanoTime();
+        try {
+            if (sequenced) {
+                takeCommand();
+            }
+            viewModel.setInput(inputMask);
+            int[] click = lassoClicks.poll();
+            if (click != null) {
+                viewModel.requestLasso(click[0], click[1]);
+            }
+            viewModel.tick();
+            if (!viewModel.isGameRunning()) {
+                state = State.FINISHED;
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+        lastTickNanos = System.nanoTime() - start;
+    }
+    
+    // move the next command into the held input, a tick without one does not move the character
+    private void takeCommand() {
+        int[] command = commands.poll();
+        while (command != null && commands.size() >= MAX_BUFFERED_COMMANDS) {
+            // skipped commands keep their lasso click, the lost movement comes back as a correction
+            if (command[2] != 0) lassoClicks.offer(new int[] {command[3], command[4]});
+            lastInputSequence = command[0];
+            command = commands.poll();
+        }
+        if (command == null) {
+            inputMask = 0;
+            return;
+        }
+        inputMask = command[1];
+        lastInputSequence = command[0];
+        if (command[2] != 0) {
+            lassoClicks.offer(new int[] {command[3], command[4]});
+        }
+    }
+    
+    // mark the session as failed, the partition drops it after this round
+    void fail(Throwable error) {
+        failure = error;
+        state = State.FAILED;
+        System.err.println("Session " + id + " failed: " + error);
+    }
+
+    // getters
+    public long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isActive() {
+        return state == State.RUNNING;
+    }
+
+    // the simulation is owned by the partition thread, read it from there or after the session ended
+    public GameViewModel getViewModel() {
+        return viewModel;
+    }
+
+    public int getLastInputSequence() {
+        return lastInputSequence;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getAgeNanos() {
+        return System.nanoTime() - createdNanos;
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+}
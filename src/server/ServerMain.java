@@ -0,0 +1,68 @@
+/******************************************
+ * Filename		: ServerMain.java
+ * Description	: Entry point for server mode. Hosts bot-driven sessions and prints
+ *                lifecycle and tick-lag metrics every second.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-08
+******************************************/
+package server;
+
+import bot.BotPlayer;
+import bot.LocalScoreStore;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import model.AssetLoading;
+
+public class ServerMain {
+    // usage: java server.ServerMain [sessions] [seconds] [partitions]
+    public static void main(String[] args) throws InterruptedException {
+        int sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int partitionCount = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        // headless: no sprites, and sessions keep their game log to themselves
+        AssetLoading.setEnabled(false);
+
+        // bots stand in for thin clients and act on the partition thread before each tick
+        Map<Long, BotPlayer> bots = new ConcurrentHashMap<>();
+        SessionListener botDriver = new SessionListener() {
+            @Override
+            public void onSessionStarted(GameSession session) {
+                bots.put(session.getId(), new BotPlayer(session.getViewModel(), true));
+            }
+
+            @Override
+            public void beforeTick(GameSession session) {
+                bots.get(session.getId()).act();
+            }
+
+            @Override
+            public void onSessionEnded(GameSession session) {
+                bots.remove(session.getId());
+            }
+        };
+
+        LocalScoreStore scores = new LocalScoreStore();
+        GameServer server = new GameServer(1280, 720, partitionCount, botDriver, scores);
+        server.start();
+
+        long seed = 1;
+        for (int second = 0; second < seconds; second++) {
+            // keep the requested number of sessions alive, replacing finished ones
+            int active = server.getMetrics().getActiveSessions();
+            try {
+                for (int i = active; i < sessionCount; i++) {
+                    server.createSession("bot-" + seed, seed++);
+                }
+            } catch (IllegalStateException e) {
+                System.out.println(e.getMessage());
+            }
+            Thread.sleep(1000);
+            System.out.print(server.getMetrics().format());
+        }
+
+        server.stop();
+        System.out.println("Leaderboard entries written: " + scores.size());
+    }
+}
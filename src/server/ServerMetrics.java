@@ -0,0 +1,75 @@
+/******************************************
+ * Filename		: ServerMetrics.java
+ * Description	: Snapshot of session lifecycle counters and per-partition tick lag.
+ *                Max values are reset every time a snapshot is taken.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-08
+******************************************/
+package server;
+
+public class ServerMetrics {
+    // per partition tick statistics
+    public static class PartitionMetrics {
+        public final int index;
+        public final int sessions;
+        public final long ticks;
+        public final long lastRoundNanos;
+        public final long maxRoundNanos;
+        public final long lagNanos;
+        public final long maxLagNanos;
+        public final long overruns;
+        public final long skippedTicks;
+
+        PartitionMetrics(int index, int sessions, long ticks, long lastRoundNanos, long maxRoundNanos,
+                         long lagNanos, long maxLagNanos, long overruns, long skippedTicks) {
+            this.index = index;
+            this.sessions = sessions;
+            this.ticks = ticks;
+            this.lastRoundNanos = lastRoundNanos;
+            this.maxRoundNanos = maxRoundNanos;
+            this.lagNanos = lagNanos;
+            this.maxLagNanos = maxLagNanos;
+            this.overruns = overruns;
+            this.skippedTicks = skippedTicks;
+        }
+    }
+
+    public final long created;
+    public final long finished;
+    public final long failed;
+    public final long closed;
+    public final long rejected;
+    public final PartitionMetrics[] partitions;
+
+    ServerMetrics(long created, long finished, long failed, long closed, long rejected, PartitionMetrics[] partitions) {
+        this.created = created;
+        this.finished = finished;
+        this.failed = failed;
+        this.closed = closed;
+        this.rejected = rejected;
+        this.partitions = partitions;
+    }
+
+    // sessions currently owned by partitions
+    public int getActiveSessions() {
+        int active = 0;
+        for (PartitionMetrics partition : partitions) {
+            active += partition.sessions;
+        }
+        return active;
+    }
+
+    // multi line report for logs and the console
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("sessions active=%d created=%d finished=%d failed=%d closed=%d rejected=%d%n",
+                getActiveSessions(), created, finished, failed, closed, rejected));
+        for (PartitionMetrics p : partitions) {
+            sb.append(String.format("  partition %d: sessions=%d round=%.2fms max=%.2fms lag=%.2fms maxLag=%.2fms overruns=%d skipped=%d%n",
+                    p.index, p.sessions, p.lastRoundNanos / 1e6, p.maxRoundNanos / 1e6,
+                    p.lagNanos / 1e6, p.maxLagNanos / 1e6, p.overruns, p.skippedTicks));
+        }
+        return sb.toString();
+    }
+}
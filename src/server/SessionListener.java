@@ -0,0 +1,27 @@
+/******************************************
+ * Filename		: SessionListener.java
+ * Description	: Callbacks for hosted session lifecycle and ticks.
+ *                All callbacks run on the partition thread that owns the session.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-08
+******************************************/
+package server;
+
+public interface SessionListener {
+    // session was added to a partition and is about to tick
+    default void onSessionStarted(GameSession session) {
+    }
+
+    // right before the session ticks, e.g. to feed input
+    default void beforeTick(GameSession session) {
+    }
+
+    // right after the session ticked, e.g. to publish state
+    default void afterTick(GameSession session) {
+    }
+
+    // session finished, failed or was closed and left its partition
+    default void onSessionEnded(GameSession session) {
+    }
+}
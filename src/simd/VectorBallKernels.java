@@ -0,0 +1,52 @@
+/******************************************
+ * Filename		: VectorBallKernels.java
+ * Description	: Lasso reach test on the jdk.incubator.vector API, loaded by model.BallKernels at startup.
+ *                The loop works on as many ints as one vector of at most 256 bits holds and finishes the
+ *                remainder one lane at a time, giving exactly the scalar result.
+ *                Compile and run with --add-modules jdk.incubator.vector.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-25
+******************************************/
+package simd;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import model.BallKernels;
+
+public final class VectorBallKernels extends BallKernels {
+    // at most 256 bits: on JDK 17 masks of 512 bit vectors are not compiled to mask registers and
+    // the mask-based kernels fall back to allocating, an order of magnitude slower than scalar
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED.vectorBitSize() > 256
+            ? IntVector.SPECIES_256 : IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int firstWithin(int[] x, int[] y, boolean[] eligible, int count,
+                           int centerX, int centerY, int radiusSquared) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            IntVector dx = IntVector.fromArray(SPECIES, x, i).neg().add(centerX);
+            IntVector dy = IntVector.fromArray(SPECIES, y, i).neg().add(centerY);
+            VectorMask<Integer> within = dx.mul(dx).add(dy.mul(dy)).compare(VectorOperators.LT, radiusSquared)
+                    .and(VectorMask.fromArray(SPECIES, eligible, i));
+            if (within.anyTrue()) {
+                return i + within.firstTrue();
+            }
+        }
+        for (; i < count; i++) {
+            int dx = centerX - x[i];
+            int dy = centerY - y[i];
+            if (eligible[i] && dx * dx + dy * dy < radiusSquared) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String getName() {
+        return "vector " + SPECIES.vectorBitSize() + " bit";
+    }
+}
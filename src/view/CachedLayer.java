@@ -0,0 +1,86 @@
+/******************************************
+ * Filename		: CachedLayer.java
+ * Description	: Pre-rendered image for a part of the screen that rarely changes (background, HUD, overlays).
+ *                The layer is painted again only when its state key or size changes, every other frame
+ *                just blits the cached image.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-15
+******************************************/
+package view;
+
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+public class CachedLayer {
+    // draws the layer content into a cleared image of the given size
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private final int transparency;         // Transparency.OPAQUE or TRANSLUCENT
+    private final Painter painter;
+    private BufferedImage image;
+    private long key;                       // state the image was painted for
+    private long renderCount;               // number of times the layer was painted
+
+    public CachedLayer(int transparency, Painter painter) {
+        this.transparency = transparency;
+        this.painter = painter;
+    }
+
+    // cached image for this state, painted again only when key or size differ from the last call
+    public Image get(Component target, int width, int height, long stateKey) {
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = createImage(target, width, height);
+        } else if (stateKey == key) {
+            return image;
+        }
+        key = stateKey;
+        renderCount++;
+
+        Graphics2D g = image.createGraphics();
+        try {
+            if (transparency != Transparency.OPAQUE) {
+                Composite previous = g.getComposite();
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(0, 0, width, height);
+                g.setComposite(previous);
+            }
+            painter.paint(g, width, height);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    // whether get would paint again for this state
+    public boolean isStale(long stateKey) {
+        return image == null || stateKey != key;
+    }
+
+    // force a repaint on the next get
+    public void invalidate() {
+        image = null;
+    }
+
+    public long getRenderCount() {
+        return renderCount;
+    }
+
+    // screen compatible image so blits stay on the fast path
+    private BufferedImage createImage(Component target, int width, int height) {
+        GraphicsConfiguration config = target.getGraphicsConfiguration();
+        if (config != null) {
+            return config.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+                transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -0,0 +1,277 @@
+/******************************************
+ * Filename		: DirtyRegion.java
+ * Description	: Screen areas to repaint for one frame, one rectangle per moving entity.
+ *                Each entity's box is joined with its box of the previous frame so it is erased where it was,
+ *                boxes that overlap are merged, and above a coverage threshold the whole panel is repainted.
+ *                Storage is reused between frames so collecting the areas does not allocate.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-26
+******************************************/
+package view;
+
+import java.util.Arrays;
+import java.util.List;
+import model.Basket;
+import model.GameCharacter;
+import model.Lasso;
+import model.Rope;
+import model.SkillBall;
+import viewmodel.GameViewModel;
+
+public class DirtyRegion {
+    // extra pixels around every box for strokes and antialiasing
+    private static final int MARGIN = 4;
+    // above this share of the panel one full repaint is cheaper than many clipped ones
+    private static final float FULL_REPAINT_COVERAGE = 0.5f;
+    // more separate areas than this are painted as one full repaint as well
+    private static final int MAX_AREAS = 16;
+
+    // entity kinds, the key of an entity is its kind and its id
+    private static final long CHARACTER = 1L << 32;
+    private static final long LASSO = 2L << 32;
+    private static final long BASKET = 3L << 32;
+    private static final long BALL = 4L << 32;
+    private static final long BALL_ROPE = 5L << 32;
+
+    // entity boxes of this frame and of the previous one, x1 y1 x2 y2 per entity
+    private long[] keys = new long[32];
+    private int[] boxes = new int[32 * 4];
+    private int count;
+    private long[] lastKeys = new long[32];
+    private int[] lastBoxes = new int[32 * 4];
+    private int lastCount;
+    private boolean[] lastMatched = new boolean[32];
+    private int lastCursor;
+
+    // areas to repaint, x1 y1 x2 y2 per area, merged in place by finish
+    private int[] areas = new int[32 * 4];
+    private int areaCount;
+    private boolean full;
+    private float coverage;
+
+    // start a frame; the entity boxes of the frame before are kept to be joined with the new ones
+    public void begin() {
+        long[] swapKeys = lastKeys;
+        lastKeys = keys;
+        keys = swapKeys;
+        int[] swapBoxes = lastBoxes;
+        lastBoxes = boxes;
+        boxes = swapBoxes;
+        lastCount = count;
+        count = 0;
+        lastCursor = 0;
+        if (lastMatched.length < lastCount) {
+            lastMatched = new boolean[lastKeys.length];
+        }
+        Arrays.fill(lastMatched, 0, lastCount, false);
+        areaCount = 0;
+    }
+
+    // boxes of everything the game panel draws that can move
+    public void collect(GameViewModel viewModel) {
+        GameCharacter character = viewModel.getCharacter();
+        if (character != null) {
+            add(CHARACTER, character.getX(), character.getY(),
+                    character.getX() + character.getWidth(), character.getY() + character.getHeight());
+        }
+        Lasso lasso = viewModel.getLasso();
+        if (lasso != null && lasso.isActive()) {
+            int x1 = Math.min(lasso.getStartX(), lasso.getEndX() - 5);
+            int y1 = Math.min(lasso.getStartY(), lasso.getEndY() - 5);
+            int x2 = Math.max(lasso.getStartX(), lasso.getEndX() + 5);
+            int y2 = Math.max(lasso.getStartY(), lasso.getEndY() + 5);
+            // a sagging rope can hang outside the box of its ends
+            Rope rope = lasso.getRope();
+            if (rope != null) {
+                x1 = Math.min(x1, (int) rope.getMinX() - 5);
+                y1 = Math.min(y1, (int) rope.getMinY() - 5);
+                x2 = Math.max(x2, (int) rope.getMaxX() + 5);
+                y2 = Math.max(y2, (int) rope.getMaxY() + 5);
+            }
+            add(LASSO, x1, y1, x2, y2);
+        }
+        List<SkillBall> balls = viewModel.getSkillBalls();
+        for (int i = 0; i < balls.size(); i++) {
+            SkillBall ball = balls.get(i);
+            if (ball.isCollected() && !ball.isInCutscene() && !ball.isMovingToBasket()) continue;
+            int half = ball.getBallSize() / 2 + 6; // lasso loop around cutscene balls
+            if (ball.isInCutscene()) {
+                half = ball.getBallSize() * 3 / 4 + 6; // popping and spinning sprite
+            }
+            add(BALL | (ball.getId() & 0xFFFFFFFFL), ball.getX() - half, ball.getY() - half, ball.getX() + half, ball.getY() + half);
+            if (ball.isInCutscene() && ball.isLassoed() && character != null) {
+                int charCenterX = character.getX() + character.getWidth() / 2;
+                int charCenterY = character.getY() + character.getHeight() / 2;
+                int x1 = Math.min(charCenterX, ball.getX());
+                int y1 = Math.min(charCenterY, ball.getY());
+                int x2 = Math.max(charCenterX, ball.getX());
+                int y2 = Math.max(charCenterY, ball.getY());
+                Rope rope = ball.getRope();
+                if (rope != null) {
+                    x1 = Math.min(x1, (int) rope.getMinX() - 5);
+                    y1 = Math.min(y1, (int) rope.getMinY() - 5);
+                    x2 = Math.max(x2, (int) rope.getMaxX() + 5);
+                    y2 = Math.max(y2, (int) rope.getMaxY() + 5);
+                }
+                add(BALL_ROPE | (ball.getId() & 0xFFFFFFFFL), x1, y1, x2, y2);
+            }
+        }
+        Basket basket = viewModel.getBasket();
+        if (basket != null) {
+            add(BASKET, basket.getX(), basket.getY(), basket.getX() + basket.getWidth(), basket.getY() + basket.getHeight());
+        }
+    }
+
+    // a fixed area to repaint this frame only, e.g. a hud whose text changed
+    public void addStatic(int x1, int y1, int x2, int y2) {
+        addArea(x1, y1, x2, y2);
+    }
+
+    // merge the areas and decide between painting them separately and one full repaint
+    public void finish(int width, int height) {
+        // entities that were drawn last frame but are gone now still need erasing
+        for (int i = 0; i < lastCount; i++) {
+            if (!lastMatched[i]) {
+                int b = i * 4;
+                addArea(lastBoxes[b], lastBoxes[b + 1], lastBoxes[b + 2], lastBoxes[b + 3]);
+            }
+        }
+        // grow by the margin and clip to the panel, dropping what is off screen
+        int kept = 0;
+        for (int i = 0; i < areaCount; i++) {
+            int b = i * 4;
+            int x1 = Math.max(0, areas[b] - MARGIN);
+            int y1 = Math.max(0, areas[b + 1] - MARGIN);
+            int x2 = Math.min(width, areas[b + 2] + MARGIN);
+            int y2 = Math.min(height, areas[b + 3] + MARGIN);
+            if (x2 > x1 && y2 > y1) {
+                int a = kept++ * 4;
+                areas[a] = x1;
+                areas[a + 1] = y1;
+                areas[a + 2] = x2;
+                areas[a + 3] = y2;
+            }
+        }
+        areaCount = kept;
+        // merge two areas whenever their bounding box is no larger than the two painted apart
+        for (int i = 0; i < areaCount; i++) {
+            for (int j = i + 1; j < areaCount; j++) {
+                if (mergeable(i, j)) {
+                    int a = i * 4;
+                    int b = j * 4;
+                    areas[a] = Math.min(areas[a], areas[b]);
+                    areas[a + 1] = Math.min(areas[a + 1], areas[b + 1]);
+                    areas[a + 2] = Math.max(areas[a + 2], areas[b + 2]);
+                    areas[a + 3] = Math.max(areas[a + 3], areas[b + 3]);
+                    System.arraycopy(areas, --areaCount * 4, areas, b, 4);
+                    // the grown area may now reach ones already passed, start over
+                    i = -1;
+                    break;
+                }
+            }
+        }
+        long pixels = 0;
+        for (int i = 0; i < areaCount; i++) {
+            pixels += area(i);
+        }
+        long panel = (long) width * height;
+        coverage = panel == 0 ? 0f : pixels / (float) panel;
+        full = coverage > FULL_REPAINT_COVERAGE || areaCount > MAX_AREAS;
+        if (full) {
+            coverage = 1f;
+            areaCount = 0;
+        }
+    }
+
+    // whether the whole panel should be repainted instead of the areas
+    public boolean isFull() {
+        return full;
+    }
+
+    // share of the panel repainted this frame, 1 for a full repaint
+    public float getCoverage() {
+        return coverage;
+    }
+
+    // separate areas to repaint, none for a full repaint
+    public int getAreaCount() {
+        return areaCount;
+    }
+
+    public int getX(int i) {
+        return areas[i * 4];
+    }
+
+    public int getY(int i) {
+        return areas[i * 4 + 1];
+    }
+
+    public int getWidth(int i) {
+        return areas[i * 4 + 2] - areas[i * 4];
+    }
+
+    public int getHeight(int i) {
+        return areas[i * 4 + 3] - areas[i * 4 + 1];
+    }
+
+    // record an entity box and repaint it joined with the box the same entity had last frame
+    private void add(long key, int x1, int y1, int x2, int y2) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            boxes = Arrays.copyOf(boxes, count * 2 * 4);
+        }
+        int b = count * 4;
+        keys[count++] = key;
+        boxes[b] = x1;
+        boxes[b + 1] = y1;
+        boxes[b + 2] = x2;
+        boxes[b + 3] = y2;
+        int last = findLast(key);
+        if (last < 0) {
+            addArea(x1, y1, x2, y2);
+            return;
+        }
+        lastMatched[last] = true;
+        int l = last * 4;
+        addArea(Math.min(x1, lastBoxes[l]), Math.min(y1, lastBoxes[l + 1]),
+                Math.max(x2, lastBoxes[l + 2]), Math.max(y2, lastBoxes[l + 3]));
+    }
+
+    private void addArea(int x1, int y1, int x2, int y2) {
+        if (areaCount * 4 == areas.length) {
+            areas = Arrays.copyOf(areas, areas.length * 2);
+        }
+        int a = areaCount++ * 4;
+        areas[a] = x1;
+        areas[a + 1] = y1;
+        areas[a + 2] = x2;
+        areas[a + 3] = y2;
+    }
+
+    // entities are added in the same order every frame, so the search starts after the last hit
+    private int findLast(long key) {
+        for (int n = 0; n < lastCount; n++) {
+            int i = lastCursor + n;
+            if (i >= lastCount) i -= lastCount;
+            if (lastKeys[i] == key) {
+                lastCursor = i + 1;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean mergeable(int i, int j) {
+        int a = i * 4;
+        int b = j * 4;
+        long unionWidth = Math.max(areas[a + 2], areas[b + 2]) - Math.min(areas[a], areas[b]);
+        long unionHeight = Math.max(areas[a + 3], areas[b + 3]) - Math.min(areas[a + 1], areas[b + 1]);
+        return unionWidth * unionHeight <= area(i) + area(j);
+    }
+
+    private long area(int i) {
+        int b = i * 4;
+        return (long) (areas[b + 2] - areas[b]) * (areas[b + 3] - areas[b + 1]);
+    }
+}
@@ -0,0 +1,381 @@
+/******************************************
+ * Filename		: GameRenderer.java
+ * Description	: Draws the moving part of a game frame: character, lasso, skill balls with their ropes,
+ *                the blackhole basket and the hp paws. Animation frames are source rectangles of a texture
+ *                atlas. Uses only preallocated strokes, colours and scratch geometry, and round shapes are
+ *                pre-rendered stamps blitted at natural size, so a steady-state frame allocates nothing.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-16
+******************************************/
+package view;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.Arrays;
+import java.util.List;
+import model.Basket;
+import model.GameCharacter;
+import model.Lasso;
+import model.Rope;
+import model.SkillBall;
+import model.SpriteFrames;
+import viewmodel.GameViewModel;
+
+public class GameRenderer {
+    // stamps get this much room around the shape for strokes and antialiasing
+    private static final int STAMP_PAD = 3;
+
+    // scratch line reused every frame, Java2D's int line call would allocate its own
+    private final Line2D.Float line = new Line2D.Float();
+
+    // pre-rendered round shapes; filling or stroking an ellipse allocates a path iterator every call
+    private final Stamps stamps = new Stamps();
+
+    // animation frames of every sprite packed into a few pages
+    private final TextureAtlas atlas = new TextureAtlas();
+
+    // scaled and rotated sprites go through a scratch image, Java2D allocates for those blits
+    private final SpriteWarp warp = new SpriteWarp();
+
+    // culled and sorted ball draws, rebuilt every frame
+    private final RenderList renderList = new RenderList();
+    private final Rectangle area = new Rectangle();
+    
+    // state currently set on the graphics, to skip redundant changes
+    private Color currentColor;
+    private Stroke currentStroke;
+    
+    // statistics of the last frame
+    private int drawnCount;
+    private int stateChanges;
+
+    // draw character, lasso, skill balls and basket for a view of the given size
+    public void drawSprites(Graphics2D g2d, GameViewModel viewModel, int viewWidth, int viewHeight, ImageObserver observer) {
+        // only the clip (the dirty region when repainting part of the panel) needs drawing
+        if (g2d.getClip() == null) {
+            area.setBounds(0, 0, viewWidth, viewHeight);
+        } else {
+            g2d.getClipBounds(area);
+        }
+        renderList.begin(area);
+        // animation frames are derived from the session clock
+        long now = viewModel.getGameTime();
+        drawnCount = 0;
+        stateChanges = 0;
+        currentColor = null;
+        currentStroke = null;
+        
+        // draw character
+        GameCharacter character = viewModel.getCharacter();
+        if (character != null && renderList.accept(character.getX(), character.getY(),
+                character.getX() + character.getWidth(), character.getY() + character.getHeight())) {
+            drawnCount++;
+            if (!drawFrame(g2d, character.getFrames(), character.getFrameIndex(now), character.getX(), character.getY(),
+                           character.getWidth(), character.getHeight(), observer)) {
+                useColor(g2d, Color.BLUE);
+                g2d.fillRect(character.getX(), character.getY(), character.getWidth(), character.getHeight());
+                useColor(g2d, Color.WHITE);
+                g2d.drawRect(character.getX(), character.getY(), character.getWidth(), character.getHeight());
+            }
+        }
+        
+        // draw lasso, along its simulated rope when that is attached to the current ends
+        Lasso lasso = viewModel.getLasso();
+        Rope lassoRope = lasso == null ? null : lasso.getRope();
+        boolean lassoRoped = lasso != null && lasso.isActive()
+                && lassoRope.isAttached(lasso.getStartX(), lasso.getStartY(), lasso.getEndX(), lasso.getEndY());
+        if (lasso != null && lasso.isActive()
+                && (lassoRoped ? renderList.accept((int) lassoRope.getMinX() - 5, (int) lassoRope.getMinY() - 5,
+                                                   (int) lassoRope.getMaxX() + 5, (int) lassoRope.getMaxY() + 5)
+                : renderList.accept(Math.min(lasso.getStartX(), lasso.getEndX() - 5), Math.min(lasso.getStartY(), lasso.getEndY() - 5),
+                        Math.max(lasso.getStartX(), lasso.getEndX() + 5), Math.max(lasso.getStartY(), lasso.getEndY() + 5)))) {
+            drawnCount++;
+            useColor(g2d, Color.YELLOW);
+            if (lassoRoped) {
+                useStroke(g2d, RenderContext.LASSO_ROPE_STROKE);
+                drawRope(g2d, lassoRope);
+            } else {
+                useStroke(g2d, RenderContext.LASSO_STROKE);
+                line.setLine(lasso.getStartX(), lasso.getStartY(), lasso.getEndX(), lasso.getEndY());
+                g2d.draw(line);
+            }
+            drawStamp(g2d, stamps.get(Stamps.DISC, Color.YELLOW, 10, 10), lasso.getEndX() - 5, lasso.getEndY() - 5);
+        }
+        
+        // skill balls: cull, then sort ropes, loops and sprites so equal state is drawn together
+        List<SkillBall> balls = viewModel.getSkillBalls();
+        int charCenterX = character == null ? 0 : character.getX() + character.getWidth() / 2;
+        int charCenterY = character == null ? 0 : character.getY() + character.getHeight() / 2;
+        for (int i = 0; i < balls.size(); i++) {
+            SkillBall ball = balls.get(i);
+            // show ball if it's not collected or if it's in cutscene or moving to basket
+            if (ball.isCollected() && !ball.isInCutscene() && !ball.isMovingToBasket()) continue;
+            
+            int ballSize = ball.getBallSize();
+            int half = ballSize / 2;
+            boolean roped = ball.isInCutscene() && ball.isLassoed() && character != null;
+            if (roped) {
+                // rope from character to ball, and the lasso loop around the ball
+                Rope rope = ball.getRope();
+                if (rope != null && rope.isAttached(charCenterX, charCenterY, ball.getX(), ball.getY())
+                        ? renderList.accept((int) rope.getMinX() - 2, (int) rope.getMinY() - 2,
+                                            (int) rope.getMaxX() + 2, (int) rope.getMaxY() + 2)
+                        : renderList.accept(Math.min(charCenterX, ball.getX()), Math.min(charCenterY, ball.getY()),
+                                            Math.max(charCenterX, ball.getX()), Math.max(charCenterY, ball.getY()))) {
+                    renderList.add(RenderList.PASS_ROPE, null, ball);
+                }
+                int loopSize = ballSize + 10;
+                if (renderList.accept(ball.getX() - loopSize / 2, ball.getY() - loopSize / 2,
+                        ball.getX() + loopSize / 2, ball.getY() + loopSize / 2)) {
+                    renderList.add(RenderList.PASS_LOOP, stamps.get(Stamps.RING, Color.YELLOW, loopSize, loopSize), ball);
+                }
+            }
+            // caught balls pop, shrink and spin on their way into the blackhole
+            int size = (int) (ballSize * ball.getScale(now));
+            int reach = ball.getRotation(now) == 0 ? size / 2 : size * 3 / 4;
+            if (renderList.accept(ball.getX() - reach, ball.getY() - reach, ball.getX() + reach, ball.getY() + reach)) {
+                // atlas page when the ball has frames, so balls on the same page are drawn together
+                SpriteFrames frames = ball.getFrames();
+                Image texture = frames == null ? stamps.get(Stamps.BALL, ball.getColor(), ballSize, ballSize)
+                        : atlas.pageOf(frames, ball.getFrameIndex(now));
+                renderList.add(RenderList.PASS_BALL, texture, ball);
+            }
+        }
+        renderList.sort();
+        for (int position = 0; position < renderList.size(); position++) {
+            int entry = renderList.entry(position);
+            SkillBall ball = renderList.ballOf(entry);
+            drawnCount++;
+            switch (renderList.passOf(entry)) {
+                case RenderList.PASS_ROPE -> {
+                    useColor(g2d, Color.ORANGE);
+                    Rope rope = ball.getRope();
+                    if (rope != null && rope.isAttached(charCenterX, charCenterY, ball.getX(), ball.getY())) {
+                        useStroke(g2d, RenderContext.CAUGHT_ROPE_STROKE);
+                        drawRope(g2d, rope);
+                    } else {
+                        useStroke(g2d, RenderContext.ROPE_STROKE);
+                        line.setLine(charCenterX, charCenterY, ball.getX(), ball.getY());
+                        g2d.draw(line);
+                    }
+                }
+                case RenderList.PASS_LOOP -> {
+                    int loopSize = ball.getBallSize() + 10;
+                    double scale = ball.getScale(now);
+                    if (scale != 1) {
+                        // the loop stays 5 px around the scaled ball
+                        warp.draw(g2d, (BufferedImage) renderList.textureOf(entry),
+                                  (ball.getBallSize() * scale + 10) / loopSize, 0, ball.getX(), ball.getY(), observer);
+                    } else {
+                        drawStamp(g2d, (BufferedImage) renderList.textureOf(entry),
+                                  ball.getX() - loopSize / 2, ball.getY() - loopSize / 2);
+                    }
+                }
+                default -> {
+                    double scale = ball.getScale(now);
+                    double rotation = ball.getRotation(now);
+                    if (scale != 1 || rotation != 0) {
+                        drawWarped(g2d, ball, scale, rotation, now, observer);
+                    } else {
+                        int ballSize = ball.getBallSize();
+                        int bx = ball.getX() - ballSize / 2;
+                        int by = ball.getY() - ballSize / 2;
+                        if (!drawFrame(g2d, ball.getFrames(), ball.getFrameIndex(now), bx, by, ballSize, ballSize, observer)) {
+                            drawStamp(g2d, (BufferedImage) renderList.textureOf(entry), bx, by);
+                        }
+                    }
+                }
+            }
+        }
+        
+        // draw basket (blackhole)
+        Basket basket = viewModel.getBasket();
+        if (basket != null && renderList.accept(basket.getX() - STAMP_PAD, basket.getY() - STAMP_PAD,
+                basket.getX() + basket.getWidth() + STAMP_PAD, basket.getY() + basket.getHeight() + STAMP_PAD)) {
+            drawnCount++;
+            if (!drawFrame(g2d, basket.getFrames(), basket.getFrameIndex(now), basket.getX(), basket.getY(),
+                           basket.getWidth(), basket.getHeight(), observer)) {
+                // draw fallback rectangle for basket
+                drawStamp(g2d, stamps.get(Stamps.HOLE, Color.BLACK, basket.getWidth(), basket.getHeight()),
+                          basket.getX(), basket.getY());
+            }
+        }
+    }
+    
+    // draw one animation frame from the atlas, or from its own image if the set is too large for a page;
+    // false when there is no frame to draw
+    private boolean drawFrame(Graphics2D g2d, SpriteFrames frames, int index, int x, int y, int width, int height,
+                              ImageObserver observer) {
+        if (frames == null || index >= frames.getFrameCount()) {
+            return false;
+        }
+        if (!atlas.draw(g2d, frames, index, x, y, width, height, observer)) {
+            g2d.drawImage(frames.getFrame(index), x, y, width, height, observer);
+        }
+        return true;
+    }
+    
+    // simulated rope as one line per segment through the scratch line
+    private void drawRope(Graphics2D g2d, Rope rope) {
+        for (int i = 1; i < rope.getPointCount(); i++) {
+            line.setLine(rope.getX(i - 1), rope.getY(i - 1), rope.getX(i), rope.getY(i));
+            g2d.draw(line);
+        }
+    }
+    
+    // a caught ball popping, shrinking and spinning into the blackhole
+    private void drawWarped(Graphics2D g2d, SkillBall ball, double scale, double rotation, long now, ImageObserver observer) {
+        int ballSize = ball.getBallSize();
+        SpriteFrames frames = ball.getFrames();
+        int index = ball.getFrameIndex(now);
+        BufferedImage frame = frames == null || index >= frames.getFrameCount() ? null : frames.getFrame(index);
+        if (frame != null) {
+            warp.draw(g2d, frame, scale * ballSize / frame.getWidth(), rotation, ball.getX(), ball.getY(), observer);
+        } else {
+            warp.draw(g2d, stamps.get(Stamps.BALL, ball.getColor(), ballSize, ballSize), scale, rotation,
+                      ball.getX(), ball.getY(), observer);
+        }
+    }
+    
+    // set colour and stroke only when they differ from what is already set
+    private void useColor(Graphics2D g2d, Color color) {
+        if (color != currentColor) {
+            g2d.setColor(color);
+            currentColor = color;
+            stateChanges++;
+        }
+    }
+    
+    private void useStroke(Graphics2D g2d, Stroke stroke) {
+        if (stroke != currentStroke) {
+            g2d.setStroke(stroke);
+            currentStroke = stroke;
+            stateChanges++;
+        }
+    }
+    
+    // statistics of the last drawSprites call
+    public int getDrawnCount() {
+        return drawnCount;
+    }
+    
+    public int getCulledCount() {
+        return renderList.getCulledCount();
+    }
+    
+    public int getStateChanges() {
+        return stateChanges;
+    }
+    
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+    
+    // draw player hp as large paw images
+    public void drawPlayerHearts(Graphics2D g, GameViewModel viewModel, int x, int y, ImageObserver observer) {
+        int hp = viewModel.getPlayerHP();
+        GameCharacter character = viewModel.getCharacter();
+        if (character != null && character.getPawImage() != null) {
+            int pawX = x;
+            for (int i = 0; i < hp; i++) {
+                g.drawImage(character.getPawImage(), pawX, y, 40, 40, observer);
+                pawX += 45;
+            }
+        } else {
+            // fallback to larger heart symbols if paw image is not available
+            BufferedImage heart = stamps.get(Stamps.HEART, Color.RED, 32, 32);
+            int heartX = x;
+            for (int i = 0; i < hp; i++) {
+                drawStamp(g, heart, heartX, y);
+                heartX += 40;
+            }
+        }
+    }
+    
+    // stamps are padded, draw them so the shape lands on x, y
+    private static void drawStamp(Graphics2D g, BufferedImage stamp, int x, int y) {
+        g.drawImage(stamp, x - STAMP_PAD, y - STAMP_PAD, null);
+    }
+    
+    // small cache of pre-rendered shapes by kind, colour and size, only a handful ever exist
+    private static final class Stamps {
+        static final int DISC = 0;      // filled circle
+        static final int RING = 1;      // thin outline circle
+        static final int BALL = 2;      // filled circle with a white outline
+        static final int HOLE = 3;      // filled circle with a thicker white outline
+        static final int HEART = 4;     // two circles over a triangle
+        
+        private int[] kinds = new int[8];
+        private Color[] colors = new Color[8];
+        private int[] widths = new int[8];
+        private int[] heights = new int[8];
+        private BufferedImage[] images = new BufferedImage[8];
+        private int count;
+        
+        BufferedImage get(int kind, Color color, int width, int height) {
+            for (int i = 0; i < count; i++) {
+                if (kinds[i] == kind && widths[i] == width && heights[i] == height && colors[i].equals(color)) {
+                    return images[i];
+                }
+            }
+            if (count == images.length) {
+                int size = count * 2;
+                kinds = Arrays.copyOf(kinds, size);
+                colors = Arrays.copyOf(colors, size);
+                widths = Arrays.copyOf(widths, size);
+                heights = Arrays.copyOf(heights, size);
+                images = Arrays.copyOf(images, size);
+            }
+            kinds[count] = kind;
+            colors[count] = color;
+            widths[count] = width;
+            heights[count] = height;
+            images[count] = render(kind, color, width, height);
+            return images[count++];
+        }
+        
+        private static BufferedImage render(int kind, Color color, int width, int height) {
+            BufferedImage image = new BufferedImage(width + 2 * STAMP_PAD, height + 2 * STAMP_PAD, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.translate(STAMP_PAD, STAMP_PAD);
+            Ellipse2D.Float circle = new Ellipse2D.Float(0, 0, width, height);
+            switch (kind) {
+                case DISC -> {
+                    g.setColor(color);
+                    g.fill(circle);
+                }
+                case RING -> outline(g, circle, color, RenderContext.THIN_STROKE);
+                case BALL, HOLE -> {
+                    g.setColor(color);
+                    g.fill(circle);
+                    outline(g, circle, Color.WHITE, kind == BALL ? RenderContext.THIN_STROKE : RenderContext.LASSO_STROKE);
+                }
+                case HEART -> {
+                    g.setColor(color);
+                    g.fill(new Ellipse2D.Float(0, 0, 20, 20));
+                    g.fill(new Ellipse2D.Float(12, 0, 20, 20));
+                    g.fillPolygon(new int[] {0, 16, 32}, new int[] {12, 32, 12}, 3);
+                }
+                default -> throw new IllegalArgumentException("Unknown stamp kind " + kind);
+            }
+            g.dispose();
+            return image;
+        }
+        
+        private static void outline(Graphics2D g, Ellipse2D.Float circle, Color color, Stroke stroke) {
+            g.setColor(color);
+            g.setStroke(stroke);
+            g.draw(circle);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/******************************************
+ * Filename		: GameSounds.java
+ * Description	: Plays sound effects for gameplay events. Runs on the event bus subscriber thread,
+ *                so decoding and mixing never touch the tick or render thread.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-14
+******************************************/
+package view;
+
+import model.AudioService;
+import viewmodel.GameEventBus;
+import viewmodel.GameState;
+
+public class GameSounds implements GameEventBus.Listener {
+    // effect files by event
+    private static final String CATCH_SOUND = "assets/sfx/catch.wav";
+    private static final String HIT_SOUND = "assets/sfx/gas_hit.wav";
+    private static final String MISS_SOUND = "assets/sfx/miss.wav";
+    private static final String GAME_OVER_SOUND = "assets/sfx/game_over.wav";
+    private static final String SCORE_SOUND_PREFIX = "assets/sfx/score_";   // + ball type + .wav
+
+    private final AudioService audioService;
+
+    public GameSounds(AudioService audioService) {
+        this.audioService = audioService;
+    }
+
+    // subscribe to a bus and decode all effects on the subscriber thread before the first event
+    public static GameEventBus attach(AudioService audioService) {
+        GameSounds sounds = new GameSounds(audioService);
+        GameEventBus bus = new GameEventBus();
+        bus.subscribe("game-sounds", new GameEventBus.Listener() {
+            private boolean preloaded;
+
+            @Override
+            public void onGameEvent(int type, int arg) {
+                if (!preloaded) {
+                    sounds.preload();
+                    preloaded = true;
+                }
+                sounds.onGameEvent(type, arg);
+            }
+        });
+        // an empty event wakes the subscriber so preloading starts right away
+        bus.publish(0, 0);
+        return bus;
+    }
+
+    // decode every mapped effect, events whose file is missing or unreadable are reported once here
+    // and stay silent afterwards
+    private void preload() {
+        preload("ball caught", CATCH_SOUND);
+        preload("gas planet hit", HIT_SOUND);
+        preload("lasso missed", MISS_SOUND);
+        preload("game over", GAME_OVER_SOUND);
+        for (String ballType : GameState.BALL_TYPES) {
+            preload(ballType + " scored", SCORE_SOUND_PREFIX + ballType + ".wav");
+        }
+    }
+
+    private void preload(String event, String audioFilePath) {
+        audioService.preloadSoundEffect(audioFilePath);
+        if (!audioService.hasSoundEffect(audioFilePath)) {
+            System.err.println("No sound for " + event + " event, " + audioFilePath + " is not playable");
+        }
+    }
+
+    @Override
+    public void onGameEvent(int type, int arg) {
+        switch (type) {
+            case GameEventBus.BALL_CAUGHT -> audioService.playSoundEffect(CATCH_SOUND);
+            case GameEventBus.BALL_SCORED -> {
+                String ballType = GameState.BALL_TYPES[Math.floorMod(arg, GameState.BALL_TYPES.length)];
+                audioService.playSoundEffect(SCORE_SOUND_PREFIX + ballType + ".wav");
+            }
+            case GameEventBus.GAS_PLANET_HIT -> audioService.playSoundEffect(HIT_SOUND);
+            case GameEventBus.LASSO_MISSED -> audioService.playSoundEffect(MISS_SOUND, 0.6f);
+            case GameEventBus.GAME_OVER -> audioService.playSoundEffect(GAME_OVER_SOUND);
+            default -> {
+                // unknown or wake-up event
+            }
+        }
+    }
+}
@@ -9,13 +9,17 @@ package view;
 
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 import javax.swing.*;
 import model.AudioService;
-import model.GameCharacter;
-import model.Lasso;
-import model.SkillBall;
+import model.GravityField;
+import net.MovementPredictor;
+import net.NetClient;
+import replay.InputRecorder;
+import viewmodel.GameState;
 import viewmodel.GameViewModel;
 
 public class GameView extends JFrame {
@@ -33,23 +37,56 @@ public class GameView extends JFrame {
     private final Set<Integer> pressedKeys;
     // timer for ui updates
     private Timer uiTimer;
+    // optional input recorder, enabled with -Ddino.record=<directory>
+    private InputRecorder recorder;
+    // remote server connection, enabled with -Ddino.server=<host:port>
+    private NetClient netClient;
+    // local prediction of our own character in remote mode, off with -Ddino.predict=false
+    private MovementPredictor predictor;
+    // lasso click waiting for the next predicted frame
+    private boolean lassoClicked;
+    private int lassoClickX;
+    private int lassoClickY;
     // pixel font for ui text
-    private Font pixeloidFont;    // constructor - initializes game window with username
+    private Font pixeloidFont;
+    // derived fonts and laid out ui strings
+    private TextCache textCache;
+    // render statistics overlay, toggled with F3 or enabled with -Ddino.perfhud=true
+    private boolean perfHudVisible = Boolean.getBoolean("dino.perfhud");    // constructor - initializes game window with username
     public GameView(String username, MainView mainView) {
         this.mainView = mainView;
         this.pressedKeys = new HashSet<>();
         this.viewModel = new GameViewModel(GAME_WIDTH, GAME_HEIGHT);
+        // gravity mode with -Ddino.gravity, optionally giving the Barnes-Hut theta (-Ddino.gravity=0.5)
+        String gravity = System.getProperty("dino.gravity");
+        if (gravity != null && !"false".equals(gravity)) {
+            viewModel.setGravity(gravity.isEmpty() || "true".equals(gravity)
+                    ? GravityField.DEFAULT_THETA : Double.parseDouble(gravity));
+        }
+        // more balls on screen with -Ddino.maxballs, spawned -Ddino.spawnbatch at a time
+        viewModel.setBallLimits(Integer.getInteger("dino.maxballs", GameViewModel.DEFAULT_MAX_BALLS),
+                Integer.getInteger("dino.spawnbatch", 1));
         this.audioService = new AudioService();
         
         loadPixeloidFont();
+        textCache = new TextCache(pixeloidFont);
         initializeComponents();
         setupLayout();
         setupKeyListeners();
         
         // start playing battle background music
         audioService.playBackgroundMusic("assets/battle.wav");
+        // sound effects follow gameplay events on their own thread
+        viewModel.setEventBus(GameSounds.attach(audioService));
         
-        viewModel.startGame(username);
+        // remote mode renders a mirror of the server session, local mode simulates here
+        String serverAddress = System.getProperty("dino.server");
+        if (serverAddress != null && !serverAddress.isEmpty()) {
+            startRemote(serverAddress, username);
+        } else {
+            startRecording(username);
+            viewModel.startGame(username);
+        }
         setVisible(true);
     }
 
@@ -86,6 +123,11 @@ public class GameView extends JFrame {
                 if (e.getKeyCode() == KeyEvent.VK_SPACE) {
                     exitGame();
                 }
+                // toggle the render statistics overlay
+                if (e.getKeyCode() == KeyEvent.VK_F3) {
+                    perfHudVisible = !perfHudVisible;
+                    gamePanel.repaint();
+                }
             }
             
             @Override
@@ -110,6 +152,19 @@ public class GameView extends JFrame {
         }        if (viewModel != null) {
             viewModel.stopGame();
         }
+        if (recorder != null) {
+            recorder.close();
+            recorder = null;
+        }
+        if (viewModel.getEventBus() != null) {
+            viewModel.getEventBus().close();
+            viewModel.setEventBus(null);
+        }
+        if (netClient != null) {
+            netClient.close();
+            netClient = null;
+            predictor = null;
+        }
         // stop battle music
         audioService.stopMusic();
         dispose();
@@ -117,47 +172,133 @@ public class GameView extends JFrame {
         mainView.refreshScoreData();
     }    
 
+    // connect to a game server, falling back to a local game if that fails
+    private void startRemote(String serverAddress, String username) {
+        try {
+            netClient = NetClient.connect(serverAddress, username);
+            viewModel.startMirror(username);
+            if (!"false".equals(System.getProperty("dino.predict"))) {
+                predictor = new MovementPredictor(netClient, viewModel);
+            }
+            System.out.println("Playing on server " + serverAddress);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not connect to " + serverAddress + ", playing locally: " + e.getMessage());
+            netClient = null;
+            startRecording(username);
+            viewModel.startGame(username);
+        }
+    }
+
+    // start recording input when a record directory is configured
+    private void startRecording(String username) {
+        String recordDir = System.getProperty("dino.record");
+        if (recordDir == null || recordDir.isEmpty()) return;
+        
+        String safeName = username.replaceAll("[^A-Za-z0-9_-]", "_");
+        File file = new File(recordDir, safeName + "-" + System.currentTimeMillis() + ".drec");
+        try {
+            recorder = InputRecorder.attach(viewModel, username, file);
+            System.out.println("Recording input to " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("Could not start input recording: " + e.getMessage());
+        }
+    }
+
     // update ui and handle input
     private void updateUI() {
+        // predicted remote mode: reconcile with the server and move our character right away
+        if (predictor != null) {
+            boolean over = viewModel.isGameOver();
+            predictor.frame(over ? 0 : sampleInput(), lassoClicked && !over, lassoClickX, lassoClickY);
+            lassoClicked = false;
+            gamePanel.repaintChanged();
+            return;
+        }
+        
+        // remote mode: take the newest server state before drawing
+        if (netClient != null) {
+            GameState state = netClient.pollLatest();
+            if (state != null) {
+                viewModel.applyState(state);
+            }
+        }
+        
         // don't allow movement if game is over
         if (viewModel != null && viewModel.isGameOver()) {
-            gamePanel.repaint();
+            viewModel.setInput(0);
+            gamePanel.repaintChanged();
             return;
         }
         
-        boolean hasMovement = false;
+        // sample held keys, the view model applies them once per tick
+        int input = sampleInput();
+        if (netClient != null) {
+            netClient.setInput(input);
+        } else {
+            viewModel.setInput(input);
+        }
         
-        // handle movement based on pressed keys
+        // always repaint to ensure smooth animation
+        gamePanel.repaintChanged();
+    }
+    
+    // held direction keys as a view model input mask
+    private int sampleInput() {
+        int input = 0;
         if (pressedKeys.contains(KeyEvent.VK_UP) || pressedKeys.contains(KeyEvent.VK_W)) {
-            viewModel.moveCharacterUp();
-            hasMovement = true;
+            input |= GameViewModel.INPUT_UP;
         }
         if (pressedKeys.contains(KeyEvent.VK_DOWN) || pressedKeys.contains(KeyEvent.VK_S)) {
-            viewModel.moveCharacterDown();
-            hasMovement = true;
+            input |= GameViewModel.INPUT_DOWN;
         }
         if (pressedKeys.contains(KeyEvent.VK_LEFT) || pressedKeys.contains(KeyEvent.VK_A)) {
-            viewModel.moveCharacterLeft();
-            hasMovement = true;
+            input |= GameViewModel.INPUT_LEFT;
         }
         if (pressedKeys.contains(KeyEvent.VK_RIGHT) || pressedKeys.contains(KeyEvent.VK_D)) {
-            viewModel.moveCharacterRight();
-            hasMovement = true;
-        }
-        
-        // if no movement keys are pressed, set character to idle
-        if (!hasMovement) {
-            viewModel.setCharacterIdle();
+            input |= GameViewModel.INPUT_RIGHT;
         }
-        
-        // always repaint to ensure smooth animation
-        gamePanel.repaint();
-    }    
+        return input;
+    }
 
     // inner class for game rendering
     private class GamePanel extends JPanel {
+        // area of the hud layer at the top-left corner
+        private static final int HUD_WIDTH = 420;
+        private static final int HUD_HEIGHT = 140;
+        
         private Image backgroundImage;
         
+        // pre-rendered layers, painted again only when their inputs change
+        private final CachedLayer backgroundLayer = new CachedLayer(Transparency.OPAQUE, this::paintBackgroundLayer);
+        private final CachedLayer hudLayer = new CachedLayer(Transparency.TRANSLUCENT, this::paintHudLayer);
+        private final CachedLayer gameOverLayer = new CachedLayer(Transparency.TRANSLUCENT, this::paintGameOverLayer);
+        
+        // areas touched by sprites in the current and the previous frame, painted one by one
+        private final DirtyRegion dirty = new DirtyRegion();
+        private boolean lastGameOver;
+        // share of the panel repainted, averaged over recent frames for the statistics overlay
+        private float dirtyShare;
+        
+        // draws everything that moves, with preallocated state
+        private final GameRenderer renderer = new GameRenderer();
+        
+        // area of the render statistics overlay at the bottom-left corner
+        private static final int PERF_HUD_WIDTH = 600;
+        private static final int PERF_HUD_HEIGHT = 40;
+        
+        // laid out text, numbers are laid out again only when they change
+        private final TextCache.TextRun scoreRun = textCache.run(Font.BOLD, 20, "SCORE: ");
+        private final TextCache.TextRun countRun = textCache.run(Font.BOLD, 20, "COUNT: ");
+        private final TextCache.TextRun finalScoreRun = textCache.run(Font.BOLD, 28, "Final Score: ");
+        private final TextCache.TextRun drawnRun = textCache.run(Font.PLAIN, 14, "DRAWN ");
+        private final TextCache.TextRun culledRun = textCache.run(Font.PLAIN, 14, "CULLED ");
+        private final TextCache.TextRun stateRun = textCache.run(Font.PLAIN, 14, "STATE CHANGES ");
+        private final TextCache.TextRun dirtyRun = textCache.run(Font.PLAIN, 14, "DIRTY % ");
+        
+        // sprite statistics summed over the areas painted for one frame, shown the frame after
+        private int paintedDrawn, paintedCulled, paintedStateChanges;
+        private int frameDrawn, frameCulled, frameStateChanges;
+        
         // constructor - setup panel and load background
         public GamePanel() {
             setBackground(Color.BLACK);
@@ -171,7 +312,15 @@ public class GameView extends JFrame {
                 public void mouseClicked(MouseEvent e) {
                     // don't allow lasso throwing if game is over
                     if (viewModel != null && !viewModel.isGameOver()) {
-                        viewModel.throwLasso(e.getX(), e.getY());
+                        if (predictor != null) {
+                            lassoClicked = true;
+                            lassoClickX = e.getX();
+                            lassoClickY = e.getY();
+                        } else if (netClient != null) {
+                            netClient.requestLasso(e.getX(), e.getY());
+                        } else {
+                            viewModel.requestLasso(e.getX(), e.getY());
+                        }
                     }
                 }
             });
@@ -182,7 +331,8 @@ public class GameView extends JFrame {
             try {
                 ImageIcon icon = new ImageIcon("assets/background.png");
                 if (icon.getIconWidth() > 0) {
-                    backgroundImage = icon.getImage().getScaledInstance(GAME_WIDTH, GAME_HEIGHT, Image.SCALE_SMOOTH);
+                    // scaled once when the background layer is painted
+                    backgroundImage = icon.getImage();
                     System.out.println("Successfully loaded background image from assets/background.png");
                 } else {
                     System.err.println("Failed to load background.png from assets folder");
@@ -204,167 +354,144 @@ public class GameView extends JFrame {
             
             // draw background
             if (backgroundImage != null) {
-                g2d.drawImage(backgroundImage, 0, 0, GAME_WIDTH, GAME_HEIGHT, this);
+                g2d.drawImage(backgroundLayer.get(this, GAME_WIDTH, GAME_HEIGHT, 0), 0, 0, null);
             }
             
-            // draw score and count display at top-left corner
-            g2d.setFont(pixeloidFont.deriveFont(Font.BOLD, 20));
-            g2d.setColor(new Color(0, 191, 255)); // bright blue color
-            g2d.drawString("SCORE: " + viewModel.getCurrentPlayer().getSkor(), 20, 35);
-            g2d.drawString("COUNT: " + viewModel.getCurrentPlayer().getCount(), 20, 65);
-
-            // draw hp as large paw images
-            drawPlayerHearts(g2d, 20, 85, viewModel.getPlayerHP());            
-            // draw character
-            GameCharacter character = viewModel.getCharacter();
-            if (character != null && character.getPlayerImage() != null) {
-                g2d.drawImage(character.getPlayerImage(), character.getX(), character.getY(), 
-                             character.getWidth(), character.getHeight(), this);
-            } else if (character != null) {
-                g2d.setColor(Color.BLUE);
-                g2d.fillRect(character.getX(), character.getY(), character.getWidth(), character.getHeight());
-                g2d.setColor(Color.WHITE);
-                g2d.drawRect(character.getX(), character.getY(), character.getWidth(), character.getHeight());
+            // draw score, count and hp, re-rendered only when one of them changes
+            g2d.drawImage(hudLayer.get(this, HUD_WIDTH, HUD_HEIGHT, hudKey()), 0, 0, null);
+            
+            // draw moving sprites
+            renderer.drawSprites(g2d, viewModel, getWidth(), getHeight(), this);
+            paintedDrawn += renderer.getDrawnCount();
+            paintedCulled += renderer.getCulledCount();
+            paintedStateChanges += renderer.getStateChanges();
+            
+            // render statistics of the sprite passes of the last frame
+            if (perfHudVisible) {
+                int y = getHeight() - 15;
+                g2d.setColor(Color.GREEN);
+                drawnRun.draw(g2d, frameDrawn, 20, y);
+                culledRun.draw(g2d, frameCulled, 170, y);
+                stateRun.draw(g2d, frameStateChanges, 320, y);
+                dirtyRun.draw(g2d, Math.round(dirtyShare * 100), 500, y);
             }
             
-            // draw lasso
-            Lasso lasso = viewModel.getLasso();
-            if (lasso != null && lasso.isActive()) {
-                g2d.setColor(Color.YELLOW);
-                g2d.setStroke(new BasicStroke(3));
-                g2d.drawLine(lasso.getStartX(), lasso.getStartY(), lasso.getEndX(), lasso.getEndY());
-                g2d.fillOval(lasso.getEndX() - 5, lasso.getEndY() - 5, 10, 10);
+            // draw game over screen when needed
+            if (viewModel.isGameOver()) {
+                long scoreKey = viewModel.getCurrentPlayer().getSkor();
+                g2d.drawImage(gameOverLayer.get(this, getWidth(), getHeight(), scoreKey), 0, 0, null);
             }
-              // draw skill balls (show both normal balls and balls in cutscene)
-            for (SkillBall ball : viewModel.getSkillBalls()) {
-                // show ball if it's not collected or if it's in cutscene or moving to basket
-                if (!ball.isCollected() || ball.isInCutscene() || ball.isMovingToBasket()) {
-                    int ballSize = ball.getBallSize();
-                    int bx = ball.getX() - ballSize/2;
-                    int by = ball.getY() - ballSize/2;                    // draw lasso rope if ball is in cutscene
-                    if (ball.isInCutscene() && ball.isLassoed() && character != null) {
-                        g2d.setColor(Color.ORANGE);
-                        g2d.setStroke(new BasicStroke(4));
-                        
-                        // draw rope from character to ball
-                        int charCenterX = character.getX() + character.getWidth() / 2;
-                        int charCenterY = character.getY() + character.getHeight() / 2;
-                        int ballCenterX = ball.getX();
-                        int ballCenterY = ball.getY();
-                        
-                        g2d.drawLine(charCenterX, charCenterY, ballCenterX, ballCenterY);
-                        
-                        // draw lasso loop around ball
-                        g2d.setColor(Color.YELLOW);
-                        g2d.setStroke(new BasicStroke(2));
-                        int loopSize = ballSize + 10;
-                        g2d.drawOval(ballCenterX - loopSize/2, ballCenterY - loopSize/2, loopSize, loopSize);
-                    }
-                
-                    // draw the ball itself
-                    if (ball.getBallImage() != null) {
-                        g2d.drawImage(ball.getBallImage(), bx, by, ballSize, ballSize, this);
-                    } else {
-                        g2d.setColor(ball.getColor());
-                        g2d.fillOval(bx, by, ballSize, ballSize);
-                        g2d.setColor(Color.WHITE);
-                        g2d.setStroke(new BasicStroke(2));
-                        g2d.drawOval(bx, by, ballSize, ballSize);
-                    }
-                }
+        }
+        
+        // repaint only the areas sprites covered in this or the previous frame, plus layers that changed
+        public void repaintChanged() {
+            if (viewModel == null) return;
+            frameDrawn = paintedDrawn;
+            frameCulled = paintedCulled;
+            frameStateChanges = paintedStateChanges;
+            paintedDrawn = 0;
+            paintedCulled = 0;
+            paintedStateChanges = 0;
+            
+            dirty.begin();
+            dirty.collect(viewModel);
+            if (perfHudVisible) {
+                dirty.addStatic(0, getHeight() - PERF_HUD_HEIGHT, PERF_HUD_WIDTH, getHeight());
             }
-            // draw basket (blackhole)
-            if (viewModel.getBasket() != null) {
-                if (viewModel.getBasket().getBlackholeImage() != null) {
-                    g2d.drawImage(viewModel.getBasket().getBlackholeImage(), 
-                                  viewModel.getBasket().getX(), 
-                                  viewModel.getBasket().getY(), 
-                                  viewModel.getBasket().getWidth(), 
-                                  viewModel.getBasket().getHeight(), this);
-                } else {
-                    // draw fallback rectangle for basket
-                    g2d.setColor(Color.BLACK);
-                    g2d.fillOval(viewModel.getBasket().getX(), 
-                                viewModel.getBasket().getY(), 
-                                viewModel.getBasket().getWidth(), 
-                                viewModel.getBasket().getHeight());
-                    g2d.setColor(Color.WHITE);
-                    g2d.setStroke(new BasicStroke(3));
-                    g2d.drawOval(viewModel.getBasket().getX(), 
-                                viewModel.getBasket().getY(), 
-                                viewModel.getBasket().getWidth(), 
-                                viewModel.getBasket().getHeight());
-                }
+            if (hudLayer.isStale(hudKey())) {
+                dirty.addStatic(0, 0, HUD_WIDTH, HUD_HEIGHT);
             }
+            dirty.finish(getWidth(), getHeight());
             
-            // draw game over screen when needed
-            if (viewModel.isGameOver()) {
-                drawGameOverScreen(g2d);
+            // the overlay covers the whole panel when it appears or goes away
+            boolean over = viewModel.isGameOver();
+            if (over != lastGameOver || dirty.isFull()) {
+                lastGameOver = over;
+                dirtyShare += (1f - dirtyShare) / 16;
+                repaint();
+                return;
+            }
+            dirtyShare += (dirty.getCoverage() - dirtyShare) / 16;
+            // painted right away, separate repaint calls would be merged into their bounding box
+            for (int i = 0; i < dirty.getAreaCount(); i++) {
+                paintImmediately(dirty.getX(i), dirty.getY(i), dirty.getWidth(i), dirty.getHeight(i));
             }
         }
         
+        // state the hud layer depends on: score, count and hp
+        private long hudKey() {
+            return ((long) viewModel.getCurrentPlayer().getSkor() << 32)
+                    | ((viewModel.getCurrentPlayer().getCount() & 0xFFFFFFL) << 8)
+                    | (viewModel.getPlayerHP() & 0xFF);
+        }
+        
+        // background scaled to the game size once
+        private void paintBackgroundLayer(Graphics2D g, int width, int height) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.drawImage(backgroundImage, 0, 0, width, height, null);
+        }
+        
+        // score and count text with hp paws
+        private void paintHudLayer(Graphics2D g2d, int width, int height) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(RenderContext.HUD_TEXT); // bright blue color
+            scoreRun.draw(g2d, viewModel.getCurrentPlayer().getSkor(), 20, 35);
+            countRun.draw(g2d, viewModel.getCurrentPlayer().getCount(), 20, 65);
+
+            // draw hp as large paw images
+            renderer.drawPlayerHearts(g2d, viewModel, 20, 85, this);
+        }
+        
         // draw enhanced game over screen
-        private void drawGameOverScreen(Graphics2D g2d) {
+        private void paintGameOverLayer(Graphics2D g2d, int width, int height) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            
             // dark overlay with fade effect
-            g2d.setColor(new Color(0, 0, 0, 220));
-            g2d.fillRect(0, 0, getWidth(), getHeight());
+            g2d.setColor(RenderContext.OVERLAY);
+            g2d.fillRect(0, 0, width, height);
             
             // game over panel background
             int panelWidth = 550;
             int panelHeight = 350;
-            int panelX = (getWidth() - panelWidth) / 2;
-            int panelY = (getHeight() - panelHeight) / 2;
+            int panelX = (width - panelWidth) / 2;
+            int panelY = (height - panelHeight) / 2;
+            int centerX = panelX + panelWidth / 2;
             
             // panel background with gradient-like effect
-            g2d.setColor(new Color(15, 15, 35, 250));
+            g2d.setColor(RenderContext.PANEL_FILL);
             g2d.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 25, 25);
-            g2d.setColor(new Color(255, 255, 255, 200));
-            g2d.setStroke(new BasicStroke(4));
+            g2d.setColor(RenderContext.PANEL_BORDER);
+            g2d.setStroke(RenderContext.ROPE_STROKE);
             g2d.drawRoundRect(panelX, panelY, panelWidth, panelHeight, 25, 25);
             
             // inner border for extra depth
-            g2d.setColor(new Color(100, 100, 150, 150));
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setColor(RenderContext.PANEL_INNER_BORDER);
+            g2d.setStroke(RenderContext.THIN_STROKE);
             g2d.drawRoundRect(panelX + 10, panelY + 10, panelWidth - 20, panelHeight - 20, 15, 15);
             
             // game over title with shadow effect
-            g2d.setColor(new Color(100, 0, 0, 150)); // shadow
-            g2d.setFont(pixeloidFont.deriveFont(Font.BOLD, 52));
-            String gameOverText = "GAME OVER!";
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(gameOverText);
-            g2d.drawString(gameOverText, panelX + (panelWidth - textWidth) / 2 + 3, panelY + 90 + 3);
+            Font titleFont = textCache.font(Font.BOLD, 52);
+            g2d.setColor(RenderContext.TITLE_SHADOW); // shadow
+            textCache.drawCentered(g2d, titleFont, "GAME OVER!", centerX + 3, panelY + 90 + 3);
             
             g2d.setColor(Color.RED); // main text
-            g2d.drawString(gameOverText, panelX + (panelWidth - textWidth) / 2, panelY + 90);
+            textCache.drawCentered(g2d, titleFont, "GAME OVER!", centerX, panelY + 90);
             
             // reason text
             g2d.setColor(Color.YELLOW);
-            g2d.setFont(pixeloidFont.deriveFont(Font.BOLD, 22));
-            String reasonText = "You lost all your HP!";
-            fm = g2d.getFontMetrics();
-            textWidth = fm.stringWidth(reasonText);
-            g2d.drawString(reasonText, panelX + (panelWidth - textWidth) / 2, panelY + 150);
+            textCache.drawCentered(g2d, textCache.font(Font.BOLD, 22), "You lost all your HP!", centerX, panelY + 150);
             
             // final score with emphasis
             g2d.setColor(Color.WHITE);
-            g2d.setFont(pixeloidFont.deriveFont(Font.BOLD, 28));
-            String scoreText = "Final Score: " + viewModel.getCurrentPlayer().getSkor();
-            fm = g2d.getFontMetrics();
-            textWidth = fm.stringWidth(scoreText);
-            g2d.drawString(scoreText, panelX + (panelWidth - textWidth) / 2, panelY + 200);
+            finalScoreRun.drawCentered(g2d, viewModel.getCurrentPlayer().getSkor(), centerX, panelY + 200);
             
             // exit instruction
             g2d.setColor(Color.CYAN);
-            g2d.setFont(pixeloidFont.deriveFont(Font.PLAIN, 18));
-            String exitText = "Press SPACE to return to main menu";
-            fm = g2d.getFontMetrics();
-            textWidth = fm.stringWidth(exitText);
-            g2d.drawString(exitText, panelX + (panelWidth - textWidth) / 2, panelY + 250);
+            textCache.drawCentered(g2d, textCache.font(Font.PLAIN, 18), "Press SPACE to return to main menu", centerX, panelY + 250);
             
             // decorative elements
-            g2d.setColor(new Color(255, 215, 0)); // gold color
-            g2d.setStroke(new BasicStroke(3));
+            g2d.setColor(RenderContext.GOLD); // gold color
+            g2d.setStroke(RenderContext.LASSO_STROKE);
             // top decorative line
             g2d.drawLine(panelX + 75, panelY + 110, panelX + panelWidth - 75, panelY + 110);
             // bottom decorative line
@@ -376,32 +503,6 @@ public class GameView extends JFrame {
             g2d.fillOval(panelX + panelWidth - 60, panelY + 105, 10, 10);
             g2d.fillOval(panelX + 50, panelY + 215, 10, 10);
             g2d.fillOval(panelX + panelWidth - 60, panelY + 215, 10, 10);
-        }        
-        // draw player hp as large paw images
-        private void drawPlayerHearts(Graphics g, int x, int y, int hp) {
-            GameCharacter character = viewModel.getCharacter();
-            if (character != null && character.getPawImage() != null) {
-                int pawX = x;
-                for (int i = 0; i < hp; i++) {
-                    g.drawImage(character.getPawImage(), pawX, y, 40, 40, this);
-                    pawX += 45;
-                }
-            } else {
-                // fallback to larger heart symbols if paw image is not available
-                int heartX = x;
-                for (int i = 0; i < hp; i++) {
-                    g.setColor(Color.RED);
-                    // larger heart shape
-                    g.fillOval(heartX, y, 20, 20);
-                    g.fillOval(heartX + 12, y, 20, 20);
-                    g.fillPolygon(
-                        new int[] {heartX, heartX + 16, heartX + 32},
-                        new int[] {y + 12, y + 32, y + 12},
-                        3
-                    );
-                    heartX += 40;
-                }
-            }
         }
     }    
     // load pixeloid font for ui text
@@ -0,0 +1,120 @@
+/******************************************
+ * Filename		: RenderAllocationCheck.java
+ * Description	: Allocation regression check for the render pass.
+ *                Plays a bot session headless, draws every frame into an offscreen image and measures the
+ *                bytes the render thread allocates per frame once the JIT has warmed up. Exits with 1 if
+ *                the steady-state render pass allocates. Sprites are off by default so the check covers
+ *                the renderer itself; with --sprites the animation frames are loaded and drawn from the
+ *                texture atlas, whose pages are filled while warming up. Also reports the share of the panel
+ *                the game window would repaint per frame (DirtyRegion).
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-16
+******************************************/
+package view;
+
+import bot.BotPlayer;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import model.AssetLoading;
+import model.FrameStore;
+import viewmodel.GameViewModel;
+
+public class RenderAllocationCheck {
+    // usage: java -Djava.awt.headless=true view.RenderAllocationCheck [warmupFrames] [measuredFrames] [--sprites]
+    public static void main(String[] args) {
+        int warmupFrames = 20000;
+        int measuredFrames = 2000;
+        boolean sprites = false;
+        int position = 0;
+        for (String arg : args) {
+            if ("--sprites".equals(arg)) {
+                sprites = true;
+            } else if (position++ == 0) {
+                warmupFrames = Integer.parseInt(arg);
+            } else {
+                measuredFrames = Integer.parseInt(arg);
+            }
+        }
+        AssetLoading.setEnabled(sprites);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.err.println("Thread allocation counters are not supported by this JVM");
+            System.exit(2);
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        BufferedImage frame = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = frame.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        GameRenderer renderer = new GameRenderer();
+        DirtyRegion dirty = new DirtyRegion();
+
+        GameViewModel viewModel = newSession();
+        BotPlayer bot = new BotPlayer(viewModel, false);
+        long allocated = 0;
+        long maxFrame = 0;
+        long drawn = 0;
+        long culled = 0;
+        double coverage = 0;
+        long areas = 0;
+        int fullRepaints = 0;
+        for (int i = 0; i < warmupFrames + measuredFrames; i++) {
+            if (!viewModel.isGameRunning()) {
+                viewModel = newSession();
+                bot = new BotPlayer(viewModel, false);
+            }
+            bot.act();
+            viewModel.tick();
+
+            // only the render calls are measured, the simulation allocates on its own
+            long before = threads.getCurrentThreadAllocatedBytes();
+            dirty.begin();
+            dirty.collect(viewModel);
+            dirty.finish(1280, 720);
+            renderer.drawSprites(g2d, viewModel, 1280, 720, null);
+            renderer.drawPlayerHearts(g2d, viewModel, 20, 85, null);
+            long bytes = threads.getCurrentThreadAllocatedBytes() - before;
+            if (i >= warmupFrames) {
+                allocated += bytes;
+                maxFrame = Math.max(maxFrame, bytes);
+                drawn += renderer.getDrawnCount();
+                culled += renderer.getCulledCount();
+                coverage += dirty.getCoverage();
+                areas += dirty.getAreaCount();
+                if (dirty.isFull()) fullRepaints++;
+            }
+        }
+        g2d.dispose();
+
+        double perFrame = allocated / (double) measuredFrames;
+        System.out.println("Measured frames:     " + measuredFrames + " after " + warmupFrames + " warm-up frames"
+                + (sprites ? ", with sprites" : ", shapes only"));
+        System.out.println("Draws per frame:     " + String.format("%.1f drawn, %.1f culled",
+                drawn / (double) measuredFrames, culled / (double) measuredFrames));
+        System.out.println("Repainted per frame: " + String.format("%.1f%% of the panel in %.1f areas, %.1f%% full repaints",
+                coverage * 100 / measuredFrames, areas / (double) measuredFrames, fullRepaints * 100.0 / measuredFrames));
+        if (sprites) {
+            TextureAtlas atlas = renderer.getAtlas();
+            System.out.println("Texture atlas:       " + atlas.getPackedFrameCount() + " frames on " + atlas.getPageCount()
+                    + " pages, " + String.format("%.0f%%", atlas.getOccupancy() * 100) + " occupied");
+            System.out.print(FrameStore.getShared().report());
+        }
+        System.out.println("Allocated per frame: " + String.format("%.1f", perFrame) + " bytes (max " + maxFrame + ")");
+        if (allocated > 0) {
+            System.out.println("FAIL: the render pass allocates in steady state");
+            System.exit(1);
+        }
+        System.out.println("OK: steady-state render pass is allocation free");
+    }
+
+    private static GameViewModel newSession() {
+        GameViewModel viewModel = new GameViewModel(1280, 720, 1234L);
+        viewModel.setQuiet(true);
+        viewModel.startSimulation("render-check");
+        return viewModel;
+    }
+}
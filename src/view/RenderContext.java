@@ -0,0 +1,35 @@
+/******************************************
+ * Filename		: RenderContext.java
+ * Description	: Shared strokes and colours for game rendering.
+ *                Created once so the per-frame render pass never allocates Java2D state objects.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-16
+******************************************/
+package view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Stroke;
+
+public final class RenderContext {
+    // strokes
+    public static final Stroke THIN_STROKE = new BasicStroke(2);    // ball outline, lasso loop, inner border
+    public static final Stroke LASSO_STROKE = new BasicStroke(3);   // lasso line, basket outline, decorations
+    public static final Stroke ROPE_STROKE = new BasicStroke(4);    // rope to a caught ball, panel border
+    // simulated ropes are drawn segment by segment, square ends close the joins (round caps allocate per draw)
+    public static final Stroke LASSO_ROPE_STROKE = new BasicStroke(3, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER);
+    public static final Stroke CAUGHT_ROPE_STROKE = new BasicStroke(4, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER);
+
+    // colours
+    public static final Color HUD_TEXT = new Color(0, 191, 255);            // bright blue
+    public static final Color OVERLAY = new Color(0, 0, 0, 220);            // game over dim
+    public static final Color PANEL_FILL = new Color(15, 15, 35, 250);
+    public static final Color PANEL_BORDER = new Color(255, 255, 255, 200);
+    public static final Color PANEL_INNER_BORDER = new Color(100, 100, 150, 150);
+    public static final Color TITLE_SHADOW = new Color(100, 0, 0, 150);
+    public static final Color GOLD = new Color(255, 215, 0);
+
+    private RenderContext() {
+    }
+}
@@ -0,0 +1,104 @@
+/******************************************
+ * Filename		: RenderList.java
+ * Description	: Per-frame list of sprite draws. Draws outside the visible area (plus a margin) are culled,
+ *                the rest are sorted by pass and then by texture so consecutive draws share Java2D state.
+ *                Storage is reused between frames so building the list does not allocate.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-17
+******************************************/
+package view;
+
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import model.SkillBall;
+
+public class RenderList {
+    // draw passes, lower passes are drawn first
+    public static final int PASS_ROPE = 0;      // lines from the character to caught balls
+    public static final int PASS_LOOP = 1;      // lasso loops around caught balls
+    public static final int PASS_BALL = 2;      // ball sprites or stamps
+
+    // sprites this close outside the visible area are still drawn
+    private static final int CULL_MARGIN = 16;
+
+    private long[] keys = new long[32];         // pass, texture and entry index packed for sorting
+    private int[] passes = new int[32];
+    private Image[] textures = new Image[32];
+    private SkillBall[] balls = new SkillBall[32];
+    private int count;
+
+    private final Rectangle visible = new Rectangle();
+    private int culled;
+
+    // start a frame, draws must touch this area to be kept
+    public void begin(Rectangle area) {
+        for (int i = 0; i < count; i++) {
+            textures[i] = null;
+            balls[i] = null;
+        }
+        count = 0;
+        culled = 0;
+        visible.setBounds(area.x - CULL_MARGIN, area.y - CULL_MARGIN,
+                area.width + 2 * CULL_MARGIN, area.height + 2 * CULL_MARGIN);
+    }
+
+    // whether a box intersects the visible area, counts it as culled if not
+    public boolean accept(int x1, int y1, int x2, int y2) {
+        if (x2 < visible.x || y2 < visible.y || x1 > visible.x + visible.width || y1 > visible.y + visible.height) {
+            culled++;
+            return false;
+        }
+        return true;
+    }
+
+    // queue a draw for a ball, texture is the image it will blit (null for pure line draws)
+    public void add(int pass, Image texture, SkillBall ball) {
+        if (count == keys.length) {
+            int size = count * 2;
+            keys = Arrays.copyOf(keys, size);
+            passes = Arrays.copyOf(passes, size);
+            textures = Arrays.copyOf(textures, size);
+            balls = Arrays.copyOf(balls, size);
+        }
+        long textureKey = texture == null ? 0 : System.identityHashCode(texture) & 0x0FFFFFFFL;
+        keys[count] = ((long) pass << 60) | (textureKey << 32) | count;
+        passes[count] = pass;
+        textures[count] = texture;
+        balls[count] = ball;
+        count++;
+    }
+
+    // order draws by pass, then texture, list order breaks ties
+    public void sort() {
+        Arrays.sort(keys, 0, count);
+    }
+
+    // number of queued draws
+    public int size() {
+        return count;
+    }
+
+    // entry drawn at the given position after sort
+    public int entry(int position) {
+        return (int) keys[position];
+    }
+
+    public int passOf(int entry) {
+        return passes[entry];
+    }
+
+    public Image textureOf(int entry) {
+        return textures[entry];
+    }
+
+    public SkillBall ballOf(int entry) {
+        return balls[entry];
+    }
+
+    // draws dropped by culling this frame
+    public int getCulledCount() {
+        return culled;
+    }
+}
@@ -0,0 +1,69 @@
+/******************************************
+ * Filename		: SpriteWarp.java
+ * Description	: Draws a sprite scaled and rotated about its centre without allocating.
+ *                Java2D allocates for every scaled or transformed blit of a translucent image, so the sprite
+ *                is resampled (nearest neighbour) into a reusable scratch image and blitted at natural size.
+ *                Used for the few balls spinning into the blackhole.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-21
+******************************************/
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.ImageObserver;
+
+public class SpriteWarp {
+    private BufferedImage scratch;          // grows to the largest warp seen, never shrinks
+    private int[] scratchPixels;
+
+    // draw source centred on centerX, centerY, scale destination pixels per source pixel, rotation in radians;
+    // source must be an int ARGB image
+    public void draw(Graphics2D g, BufferedImage source, double scale, double rotation,
+                     int centerX, int centerY, ImageObserver observer) {
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+        if (scale <= 0 || sourceWidth == 0 || sourceHeight == 0) {
+            return;
+        }
+        // square that holds the sprite at any rotation
+        int size = (int) Math.ceil(Math.sqrt((double) sourceWidth * sourceWidth + (double) sourceHeight * sourceHeight) * scale) + 1;
+        ensureCapacity(size);
+        int[] pixels = ((DataBufferInt) source.getRaster().getDataBuffer()).getData();
+        int stride = scratch.getWidth();
+
+        // walk the destination in source space: one step right or down moves by the inverse rotation and scale
+        double cos = Math.cos(rotation) / scale;
+        double sin = Math.sin(rotation) / scale;
+        double half = size / 2.0;
+        double rowX = sourceWidth / 2.0 - (half - 0.5) * cos - (half - 0.5) * sin;
+        double rowY = sourceHeight / 2.0 + (half - 0.5) * sin - (half - 0.5) * cos;
+        for (int y = 0; y < size; y++) {
+            double sx = rowX;
+            double sy = rowY;
+            int offset = y * stride;
+            for (int x = 0; x < size; x++) {
+                int ix = (int) Math.floor(sx);
+                int iy = (int) Math.floor(sy);
+                scratchPixels[offset + x] = ix >= 0 && iy >= 0 && ix < sourceWidth && iy < sourceHeight
+                        ? pixels[iy * sourceWidth + ix] : 0;
+                sx += cos;
+                sy -= sin;
+            }
+            rowX += sin;
+            rowY += cos;
+        }
+        int left = centerX - size / 2;
+        int top = centerY - size / 2;
+        g.drawImage(scratch, left, top, left + size, top + size, 0, 0, size, size, observer);
+    }
+
+    private void ensureCapacity(int size) {
+        if (scratch == null || scratch.getWidth() < size) {
+            scratch = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            scratchPixels = ((DataBufferInt) scratch.getRaster().getDataBuffer()).getData();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/******************************************
+ * Filename		: TextCache.java
+ * Description	: Cache of derived fonts and laid out glyph vectors for the game ui.
+ *                Fonts are derived once per style and size, constant strings are laid out once,
+ *                and label + number runs are laid out again only when the number changes.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-15
+******************************************/
+package view;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TextCache {
+    private final Font baseFont;
+    private final Map<Integer, Font> fonts = new HashMap<>();                      // by style and size
+    private final Map<Font, Map<String, Line>> lines = new HashMap<>();            // constant strings by font
+
+    public TextCache(Font baseFont) {
+        this.baseFont = baseFont;
+    }
+
+    // derived font, created on first use
+    public Font font(int style, int size) {
+        return fonts.computeIfAbsent(style * 1000 + size, key -> baseFont.deriveFont(style, size));
+    }
+
+    // draw a constant string, its glyphs are laid out once per font
+    public void draw(Graphics2D g, Font font, String text, int x, int y) {
+        g.drawGlyphVector(line(g, font, text).glyphs, x, y);
+    }
+
+    // draw a constant string centered on centerX
+    public void drawCentered(Graphics2D g, Font font, String text, int centerX, int y) {
+        Line line = line(g, font, text);
+        g.drawGlyphVector(line.glyphs, centerX - line.width / 2f, y);
+    }
+
+    // width of a constant string in the given font
+    public float width(Graphics2D g, Font font, String text) {
+        return line(g, font, text).width;
+    }
+
+    // a label followed by a number, e.g. "SCORE: " + score
+    public TextRun run(int style, int size, String label) {
+        return new TextRun(font(style, size), label);
+    }
+
+    private Line line(Graphics2D g, Font font, String text) {
+        Map<String, Line> byText = lines.computeIfAbsent(font, key -> new HashMap<>());
+        Line line = byText.get(text);
+        FontRenderContext context = g.getFontRenderContext();
+        if (line == null || !line.context.equals(context)) {
+            line = new Line(font.createGlyphVector(context, text), context);
+            byText.put(text, line);
+        }
+        return line;
+    }
+
+    // laid out constant string
+    private static class Line {
+        final GlyphVector glyphs;
+        final FontRenderContext context;
+        final float width;
+
+        Line(GlyphVector glyphs, FontRenderContext context) {
+            this.glyphs = glyphs;
+            this.context = context;
+            this.width = (float) glyphs.getLogicalBounds().getWidth();
+        }
+    }
+
+    // label with a changing number, laid out again only when the number changes
+    public static class TextRun {
+        private final Font font;
+        private final String label;
+        private GlyphVector glyphs;
+        private FontRenderContext context;
+        private int value;
+        private float width;
+        private long layouts;   // number of times the run was laid out
+
+        TextRun(Font font, String label) {
+            this.font = font;
+            this.label = label;
+        }
+
+        public void draw(Graphics2D g, int value, int x, int y) {
+            g.drawGlyphVector(layout(g, value), x, y);
+        }
+
+        public void drawCentered(Graphics2D g, int value, int centerX, int y) {
+            GlyphVector laidOut = layout(g, value);
+            g.drawGlyphVector(laidOut, centerX - width / 2f, y);
+        }
+
+        private GlyphVector layout(Graphics2D g, int newValue) {
+            FontRenderContext current = g.getFontRenderContext();
+            if (glyphs == null || newValue != value || !current.equals(context)) {
+                value = newValue;
+                context = current;
+                glyphs = font.createGlyphVector(current, label + newValue);
+                width = (float) glyphs.getLogicalBounds().getWidth();
+                layouts++;
+            }
+            return glyphs;
+        }
+
+        public long getLayoutCount() {
+            return layouts;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/******************************************
+ * Filename		: TextureAtlas.java
+ * Description	: Packs the shared animation frames of planets, the blackhole and the character into a few
+ *                large compatible images with a shelf packer. Sprites are then drawn as source rectangles of
+ *                one page, so consecutive draws keep the same surface bound in the accelerated pipelines.
+ *                Frame sets are packed the first time they are drawn, every later draw is a lookup.
+ *                Pages count against the FrameStore budget while the atlas is reachable, and a packed set
+ *                releases its own frames so each sprite is held once; they are loaded again only if needed.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-18
+******************************************/
+package view;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import model.FrameStore;
+import model.SpriteFrames;
+
+public class TextureAtlas {
+    // page edge, safe as a texture size on every Java2D pipeline
+    public static final int PAGE_SIZE = 2048;
+    // empty pixels around each frame so filtered scaling never samples a neighbour
+    private static final int PADDING = 1;
+    // a frame may use a taller shelf if it wastes at most this fraction of the shelf height
+    private static final float SHELF_WASTE = 0.25f;
+    // marks frame sets that do not fit on a page, they are drawn from their own images
+    private static final int[] UNPACKED = new int[0];
+    private static final long PAGE_BYTES = (long) PAGE_SIZE * PAGE_SIZE * 4;
+    // gives the budget back when an atlas is dropped with its renderer
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final List<BufferedImage> pages = new ArrayList<>();
+    private final List<Page> shelves = new ArrayList<>();
+    // per frame set: page, x and y of every frame
+    private final IdentityHashMap<SpriteFrames, int[]> regions = new IdentityHashMap<>();
+
+    // last lookup, frames of one entity are usually drawn several frames in a row
+    private SpriteFrames lastFrames;
+    private int[] lastRegions;
+
+    private int packedFrames;
+    private long usedPixels;
+
+    // draw a frame scaled to the destination box, false if the set could not be packed
+    public boolean draw(Graphics2D g, SpriteFrames frames, int index, int x, int y, int width, int height,
+                        ImageObserver observer) {
+        int[] frameRegions = regionsOf(frames);
+        if (frameRegions == UNPACKED) {
+            return false;
+        }
+        int base = index * 3;
+        int sx = frameRegions[base + 1];
+        int sy = frameRegions[base + 2];
+        g.drawImage(pages.get(frameRegions[base]), x, y, x + width, y + height,
+                    sx, sy, sx + frames.getWidth(), sy + frames.getHeight(), observer);
+        return true;
+    }
+
+    // page holding a frame, null if the set could not be packed; used as the sort key of a draw
+    public BufferedImage pageOf(SpriteFrames frames, int index) {
+        int[] frameRegions = regionsOf(frames);
+        return frameRegions == UNPACKED ? null : pages.get(frameRegions[index * 3]);
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public int getPackedFrameCount() {
+        return packedFrames;
+    }
+
+    // fraction of the page area covered by frames
+    public float getOccupancy() {
+        return pages.isEmpty() ? 0f : usedPixels / (float) ((long) pages.size() * PAGE_SIZE * PAGE_SIZE);
+    }
+
+    private int[] regionsOf(SpriteFrames frames) {
+        if (frames == lastFrames) {
+            return lastRegions;
+        }
+        int[] frameRegions = regions.get(frames);
+        if (frameRegions == null) {
+            frameRegions = pack(frames);
+            regions.put(frames, frameRegions);
+        }
+        lastFrames = frames;
+        lastRegions = frameRegions;
+        return frameRegions;
+    }
+
+    // place every frame of a set on a shelf and copy its pixels to the page
+    private int[] pack(SpriteFrames frames) {
+        int cellWidth = frames.getWidth() + 2 * PADDING;
+        int cellHeight = frames.getHeight() + 2 * PADDING;
+        if (cellWidth > PAGE_SIZE || cellHeight > PAGE_SIZE) {
+            return UNPACKED;
+        }
+        int[] frameRegions = new int[frames.getFrameCount() * 3];
+        for (int i = 0; i < frames.getFrameCount(); i++) {
+            int page = place(cellWidth, cellHeight, frameRegions, i * 3);
+            int x = frameRegions[i * 3 + 1];
+            int y = frameRegions[i * 3 + 2];
+            Graphics2D g = pages.get(page).createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(frames.getFrame(i), x, y, null);
+            } finally {
+                g.dispose();
+            }
+        }
+        // the page holds the pixels now
+        frames.releaseFrames();
+        packedFrames += frames.getFrameCount();
+        usedPixels += (long) frames.getFrameCount() * frames.getWidth() * frames.getHeight();
+        return frameRegions;
+    }
+
+    // find room for one cell, writes page, x and y (inside the padding) at offset
+    private int place(int cellWidth, int cellHeight, int[] out, int offset) {
+        for (int p = 0; p < shelves.size(); p++) {
+            Page page = shelves.get(p);
+            // an open shelf of about the right height
+            for (int s = 0; s < page.shelfCount; s++) {
+                int shelfHeight = page.shelfHeight[s];
+                if (cellHeight <= shelfHeight && shelfHeight - cellHeight <= shelfHeight * SHELF_WASTE
+                        && page.shelfCursor[s] + cellWidth <= PAGE_SIZE) {
+                    return claim(p, page, s, cellWidth, out, offset);
+                }
+            }
+            // a new shelf below the last one
+            if (page.top + cellHeight <= PAGE_SIZE) {
+                return claim(p, page, page.openShelf(cellHeight), cellWidth, out, offset);
+            }
+        }
+        Page page = new Page();
+        shelves.add(page);
+        pages.add(createPage());
+        FrameStore store = FrameStore.getShared();
+        store.chargeAtlasPage(PAGE_BYTES);
+        CLEANER.register(this, () -> store.releaseAtlasPage(PAGE_BYTES));
+        return claim(shelves.size() - 1, page, page.openShelf(cellHeight), cellWidth, out, offset);
+    }
+
+    private static int claim(int pageIndex, Page page, int shelf, int cellWidth, int[] out, int offset) {
+        out[offset] = pageIndex;
+        out[offset + 1] = page.shelfCursor[shelf] + PADDING;
+        out[offset + 2] = page.shelfY[shelf] + PADDING;
+        page.shelfCursor[shelf] += cellWidth;
+        return pageIndex;
+    }
+
+    // screen compatible translucent image, or a premultiplied buffer when there is no screen
+    private static BufferedImage createPage() {
+        if (!GraphicsEnvironment.isHeadless()) {
+            return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDefaultConfiguration().createCompatibleImage(PAGE_SIZE, PAGE_SIZE, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(PAGE_SIZE, PAGE_SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    // shelves of one page, each shelf fills from the left
+    private static final class Page {
+        int[] shelfY = new int[16];
+        int[] shelfHeight = new int[16];
+        int[] shelfCursor = new int[16];
+        int shelfCount;
+        int top;                    // first row below the last shelf
+
+        int openShelf(int height) {
+            if (shelfCount == shelfY.length) {
+                shelfY = Arrays.copyOf(shelfY, shelfCount * 2);
+                shelfHeight = Arrays.copyOf(shelfHeight, shelfCount * 2);
+                shelfCursor = Arrays.copyOf(shelfCursor, shelfCount * 2);
+            }
+            shelfY[shelfCount] = top;
+            shelfHeight[shelfCount] = height;
+            shelfCursor[shelfCount] = 0;
+            top += height;
+            return shelfCount++;
+        }
+    }
+}
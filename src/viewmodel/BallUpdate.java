@@ -0,0 +1,143 @@
+/******************************************
+ * Filename		: BallUpdate.java
+ * Description	: Runs per-ball work of a tick over fixed chunks of the ball list.
+ *                Above a ball count threshold the chunks run in parallel on the common ForkJoinPool,
+ *                below it they run one after the other on the calling thread. Chunk boundaries never
+ *                depend on the thread count, and a chunk only changes its own balls and writes its side
+ *                effects (balls to remove, the first ball caught) to its own buffers. The game merges
+ *                the buffers in chunk order after the join, so both paths produce the same session.
+ *                The threshold defaults to -Ddino.parallelballs=<count> (2048).
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-24
+******************************************/
+package viewmodel;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import model.GravityField;
+
+final class BallUpdate {
+    static final int CHUNK_SIZE = 512;
+    static final int DEFAULT_THRESHOLD = Integer.getInteger("dino.parallelballs", 2048);
+
+    // work on balls from..to-1 of one chunk, returns true once nothing after this chunk is needed
+    interface Kernel {
+        boolean run(Chunk chunk, int from, int to);
+    }
+
+    // one slice of the ball list with its own side effect buffers, reused every tick
+    static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private Kernel kernel;
+        private int from, to;
+        private int[] removed = new int[16];       // ball indices to remove, ascending
+        private int removedCount;
+        int caught;                                // index of the first ball caught in the chunk, -1 if none
+        final int[] walkStack = GravityField.newWalkStack();
+        // positions of the chunk's balls gathered for BallKernels
+        final int[] x = new int[CHUNK_SIZE];
+        final int[] y = new int[CHUNK_SIZE];
+        final boolean[] eligible = new boolean[CHUNK_SIZE];
+
+        void remove(int index) {
+            if (removedCount == removed.length) {
+                removed = Arrays.copyOf(removed, removedCount * 2);
+            }
+            removed[removedCount++] = index;
+        }
+
+        int getRemovedCount() {
+            return removedCount;
+        }
+
+        int getRemoved(int i) {
+            return removed[i];
+        }
+
+        private void prepare(Kernel kernel, int from, int to) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            removedCount = 0;
+            caught = -1;
+            reinitialize();
+        }
+
+        @Override
+        protected void compute() {
+            kernel.run(this, from, to);
+        }
+    }
+
+    // forks every chunk but the first, runs the first itself and joins the rest in order
+    private final class Fork extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        @Override
+        protected void compute() {
+            for (int i = 1; i < chunkCount; i++) {
+                chunks[i].fork();
+            }
+            chunks[0].compute();
+            for (int i = 1; i < chunkCount; i++) {
+                chunks[i].join();
+            }
+        }
+    }
+
+    private Chunk[] chunks = new Chunk[0];
+    private int chunkCount;
+    private int threshold = DEFAULT_THRESHOLD;
+    private final Fork fork = new Fork();
+    private boolean lastParallel;
+
+    // run kernel over count balls, buffers are read back through getChunk until the next run
+    void run(int count, Kernel kernel) {
+        chunkCount = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunks.length < chunkCount) {
+            int old = chunks.length;
+            chunks = Arrays.copyOf(chunks, chunkCount);
+            for (int i = old; i < chunkCount; i++) {
+                chunks[i] = new Chunk();
+            }
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i].prepare(kernel, i * CHUNK_SIZE, Math.min(count, (i + 1) * CHUNK_SIZE));
+        }
+        lastParallel = count >= threshold && chunkCount > 1;
+        if (lastParallel) {
+            fork.reinitialize();
+            ForkJoinPool.commonPool().invoke(fork);
+        } else {
+            for (int i = 0; i < chunkCount; i++) {
+                if (kernel.run(chunks[i], chunks[i].from, chunks[i].to)) {
+                    // later chunks keep empty buffers
+                    chunkCount = i + 1;
+                    break;
+                }
+            }
+        }
+    }
+
+    int getChunkCount() {
+        return chunkCount;
+    }
+
+    Chunk getChunk(int i) {
+        return chunks[i];
+    }
+
+    // whether the last run was forked
+    boolean wasParallel() {
+        return lastParallel;
+    }
+
+    int getThreshold() {
+        return threshold;
+    }
+
+    void setThreshold(int threshold) {
+        this.threshold = Math.max(1, threshold);
+    }
+}
@@ -0,0 +1,102 @@
+/******************************************
+ * Filename		: GameEventBus.java
+ * Description	: Lock-free single-producer single-consumer queue of gameplay events.
+ *                The simulation publishes from its tick thread without blocking or allocating,
+ *                one subscriber thread drains the queue so slow listeners (audio) never cost tick time.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-14
+******************************************/
+package viewmodel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class GameEventBus {
+    // event types, the argument meaning is given per type
+    public static final int BALL_CAUGHT = 1;        // arg: ball type index (GameState.BALL_TYPES)
+    public static final int BALL_SCORED = 2;        // arg: ball type index
+    public static final int GAS_PLANET_HIT = 3;     // arg: hp left
+    public static final int LASSO_MISSED = 4;       // arg: unused
+    public static final int GAME_OVER = 5;          // arg: final score
+
+    // capacity of the ring, a power of two
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+    // how long the subscriber sleeps when the queue is empty
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    // listener called on the subscriber thread
+    public interface Listener {
+        void onGameEvent(int type, int arg);
+    }
+
+    private final long[] ring = new long[CAPACITY];     // type in the high half, argument in the low half
+    private final AtomicLong head = new AtomicLong();    // next slot to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong();    // next slot to write, written by the producer
+    private long cachedHead;                            // producer's last seen head
+    private volatile long dropped;                      // events lost because the ring was full
+    private volatile boolean running;
+    private Thread consumer;
+
+    // producer side, call only from the simulation thread; drops the event if the consumer fell behind
+    public void publish(int type, int arg) {
+        long t = tail.get();
+        if (t - cachedHead >= CAPACITY) {
+            cachedHead = head.get();
+            if (t - cachedHead >= CAPACITY) {
+                dropped++;
+                return;
+            }
+        }
+        ring[(int) (t & MASK)] = ((long) type << 32) | (arg & 0xFFFFFFFFL);
+        tail.lazySet(t + 1);
+    }
+
+    // consumer side: hand every waiting event to the listener, returns how many there were
+    public int drain(Listener listener) {
+        long h = head.get();
+        long t = tail.get();
+        for (long i = h; i < t; i++) {
+            long event = ring[(int) (i & MASK)];
+            listener.onGameEvent((int) (event >>> 32), (int) event);
+        }
+        head.lazySet(t);
+        return (int) (t - h);
+    }
+
+    // start the single consumer thread, at most one subscriber per bus
+    public synchronized void subscribe(String name, Listener listener) {
+        if (consumer != null) {
+            throw new IllegalStateException("Event bus already has a subscriber");
+        }
+        running = true;
+        consumer = new Thread(() -> {
+            while (running) {
+                try {
+                    if (drain(listener) == 0) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("Game event listener failed: " + e.getMessage());
+                }
+            }
+        }, name);
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    // stop the consumer thread, events still queued are discarded
+    public synchronized void close() {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            consumer = null;
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
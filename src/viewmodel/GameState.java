@@ -0,0 +1,78 @@
+/******************************************
+ * Filename		: GameState.java
+ * Description	: Compact per-tick view of a session: character, lasso, score and skill balls.
+ *                Used to mirror a remote session into a local GameViewModel for rendering.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-10
+******************************************/
+package viewmodel;
+
+public class GameState {
+    // scalar field indices
+    public static final int CHARACTER_X = 0;
+    public static final int CHARACTER_Y = 1;
+    public static final int HP = 2;
+    public static final int ANIMATION = 3;
+    public static final int LASSO_FLAGS = 4;        // bit 0 active, bit 1 retracting
+    public static final int LASSO_START_X = 5;
+    public static final int LASSO_START_Y = 6;
+    public static final int LASSO_END_X = 7;
+    public static final int LASSO_END_Y = 8;
+    public static final int SCORE = 9;
+    public static final int COUNT = 10;
+    public static final int GAME_OVER = 11;
+    public static final int LASSO_LENGTH = 12;
+    public static final int LASSO_ANGLE_HIGH = 13;    // throw angle as raw double bits, high half
+    public static final int LASSO_ANGLE_LOW = 14;     // low half
+    public static final int INPUT_SEQUENCE = 15;      // last client input command the session applied
+    public static final int FIELD_COUNT = 16;
+
+    // ball flag bits
+    public static final int BALL_COLLECTED = 1;
+    public static final int BALL_IN_CUTSCENE = 2;
+    public static final int BALL_LASSOED = 4;
+    public static final int BALL_MOVING_TO_BASKET = 8;
+    public static final int BALL_MOVING_RIGHT = 16;
+
+    // ball types by wire index
+    public static final String[] BALL_TYPES = {"earth", "ice_planet", "galaxy", "gas_planet"};
+
+    public long tick;                                   // session tick this state belongs to
+    public final int[] fields = new int[FIELD_COUNT];   // scalar fields by index
+    public int ballCount;                               // number of valid ball entries
+    public int[] ballIds = new int[16];
+    public byte[] ballTypes = new byte[16];             // index into BALL_TYPES
+    public int[] ballX = new int[16];
+    public int[] ballY = new int[16];
+    public byte[] ballFlags = new byte[16];
+    public byte[] ballSpeeds = new byte[16];
+
+    // make room for at least the given number of balls
+    public void ensureBallCapacity(int capacity) {
+        if (ballIds.length >= capacity) return;
+        int size = Math.max(capacity, ballIds.length * 2);
+        ballIds = java.util.Arrays.copyOf(ballIds, size);
+        ballTypes = java.util.Arrays.copyOf(ballTypes, size);
+        ballX = java.util.Arrays.copyOf(ballX, size);
+        ballY = java.util.Arrays.copyOf(ballY, size);
+        ballFlags = java.util.Arrays.copyOf(ballFlags, size);
+        ballSpeeds = java.util.Arrays.copyOf(ballSpeeds, size);
+    }
+
+    // index of the ball with the given id, -1 if absent
+    public int indexOfBall(int id) {
+        for (int i = 0; i < ballCount; i++) {
+            if (ballIds[i] == id) return i;
+        }
+        return -1;
+    }
+
+    // wire index of a ball type name
+    public static int typeIndex(String ballType) {
+        for (int i = 0; i < BALL_TYPES.length; i++) {
+            if (BALL_TYPES[i].equals(ballType)) return i;
+        }
+        return 0;
+    }
+}
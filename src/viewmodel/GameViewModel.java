@@ -10,9 +10,12 @@ package viewmodel;
 import java.awt.Color;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import javax.swing.Timer;
 import model.*;
 
@@ -21,34 +24,108 @@ public class GameViewModel implements ActionListener {
     private GameCharacter character;
     private Lasso lasso;
     private final List<SkillBall> skillBalls;
+    private final List<SkillBall> activeBalls;          // balls stepped every tick (cutscene, basket entry), in list order
     private Player currentPlayer;
     private final DatabaseService databaseService;
     private Basket basket;
     
     // game control variables
     private Timer gameTimer;
-    private final Random random;
+    private final long seed;                    // session seed, all randomness derives from it
+    private SplittableRandom random;            // session generator, reseeded from seed and spawn count
+    private long spawnCount;                    // number of spawns so far, the only rng state to snapshot
     private final int gameWidth;
     private final int gameHeight;
+    private long gameTime;                      // session clock in ms, advanced once per tick
+    private final SessionClock clock;           // number of ticks simulated so far, drives ball trajectories
     private long lastBallSpawn;
+    private boolean spawnDue;                   // spawn interval passed, waiting for room on screen
+    private int despawnCount;                   // balls marked by this tick's despawn events, removed after the timers
+    
+    // timed events, run on the tick they are due instead of being polled every tick
+    private final TimingWheel<SkillBall> timers;
+    private final TimingWheel.Listener<SkillBall> timerHandler = this::onTimer;
+    private static final int EVENT_SPAWN = 0;               // subject: none
+    private static final int EVENT_DESPAWN = 1;             // subject: flying ball leaving the screen
+    private static final int EVENT_CUTSCENE_PULL = 2;       // subject: ball in cutscene
+    private static final int EVENT_READY_TO_SCORE = 3;      // subject: ball in cutscene
+    private static final int EVENT_CUTSCENE_END = 4;        // subject: ball in cutscene
+    private static final int EVENT_FORCE_BASKET_ENTRY = 5;  // subject: ball moving to the basket
+    private static final long SPAWN_INTERVAL = 1500;        // ms between spawns
+    
+    // optional gravity mode: the blackhole and galaxies pull on every free ball
+    private GravityField gravity;                           // null unless gravity mode is on
+    private static final double BLACKHOLE_MASS = 1500;      // px^3 per tick^2, about 0.017 px/tick^2 at 300 px
+    private static final double GRAVITY_SOFTENING = 40;     // px, keeps the pull finite near a centre
+    private int gravityCenterX, gravityCenterY;             // blackhole centre of the current tick
+    private int[] bodyOf = new int[16];                     // gravity body of each ball this tick, -1 if not free
+    
+    // per-ball work of a tick (gravity, lasso reach), split in chunks and run in parallel for many balls
+    private final BallUpdate ballUpdate = new BallUpdate();
+    private final BallUpdate.Kernel driftKernel = this::driftBalls;
+    private final BallUpdate.Kernel catchKernel = this::findCatch;
+    private final BallKernels kernels = BallKernels.get();  // scalar or vector loops over gathered positions
+    
+    // ball limits, part of the session like the seed since they change what happens
+    public static final int DEFAULT_MAX_BALLS = 10;
+    private int maxBalls = DEFAULT_MAX_BALLS;   // most balls on screen, a spawn waits for room
+    private int spawnBatch = 1;                 // balls per spawn
     private boolean gameRunning;
     private boolean gameOver = false;
+    private boolean persistScores = true;       // headless sessions never touch the database
+    private boolean quiet;                      // no per-event console log, for servers, bots and benchmarks
+    
+    // per-tick input state, sampled at the start of every tick
+    private int inputMask;                      // held direction keys (INPUT_* bits)
+    private boolean lassoRequested;             // lasso click waiting for the next tick
+    private int lassoTargetX, lassoTargetY;     // target of the pending lasso click
+    private InputListener inputListener;        // optional observer, e.g. a recorder
+    private GameEventBus eventBus;              // optional gameplay event queue, e.g. for sound
     
     // gas planet tracking
     private int gasPlanetCount = 0;
     private static final int MAX_GAS_PLANETS = 3;
     
-    // constructor - initialize game with screen dimensions
+    // fixed simulation step so a run only depends on seed and input
+    public static final int TICK_MILLIS = 16;
+    
+    // layout of writeSnapshot, change it with every field added, removed or reordered there or in
+    // the ball and model state it includes; snapshots of another layout are refused
+    public static final int SNAPSHOT_LAYOUT = 1;
+    
+    // input bits for held direction keys
+    public static final int INPUT_UP = 1;
+    public static final int INPUT_DOWN = 2;
+    public static final int INPUT_LEFT = 4;
+    public static final int INPUT_RIGHT = 8;
+    
+    // observer for the input applied on each tick
+    public interface InputListener {
+        void onTickInput(long tick, int inputMask, boolean lassoThrown, int lassoX, int lassoY);
+    }
+    
+    // constructor - initialize game with screen dimensions and a fresh seed
     public GameViewModel(int gameWidth, int gameHeight) {
+        this(gameWidth, gameHeight, System.nanoTime());
+    }
+    
+    // constructor - initialize game with a fixed seed for reproducible runs
+    public GameViewModel(int gameWidth, int gameHeight, long seed) {
         this.gameWidth = gameWidth;
         this.gameHeight = gameHeight;
         this.databaseService = new DatabaseService();        
         this.skillBalls = new ArrayList<>();
-        this.random = new Random();
-        this.lastBallSpawn = System.currentTimeMillis();
+        this.activeBalls = new ArrayList<>();
+        this.clock = new SessionClock();
+        this.timers = new TimingWheel<>(0);
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.gameTime = 0;
+        this.lastBallSpawn = 0;
         this.gameRunning = false;
         
         initializeGame();
+        scheduleSpawn();
     }
     
     // initialize game objects
@@ -58,7 +135,7 @@ public class GameViewModel implements ActionListener {
                          character.getY() + character.getHeight() / 2);
         // enlarged basket size for better visibility
         basket = new Basket(gameWidth - 300, gameHeight / 2 - 140, 280, 280);
-        gameTimer = new Timer(16, this); // ~60 fps
+        gameTimer = new Timer(TICK_MILLIS, this); // ~60 fps
     }
     
     // start game with username
@@ -74,7 +151,17 @@ public class GameViewModel implements ActionListener {
         
         gameRunning = true;
         gameTimer.start();
-    }    
+    }
+    
+    // start a session without timer or database, ticks are driven by the caller
+    public void startSimulation(String username) {
+        currentPlayer = new Player(username, 0, 0);
+        character.setHp(3);
+        gasPlanetCount = 0;
+        persistScores = false;
+        gameRunning = true;
+    }
+    
     // stop game and save player data
     public void stopGame() {
         gameRunning = false;
@@ -83,17 +170,25 @@ public class GameViewModel implements ActionListener {
         }
         
         // save player data to database
+        if (!persistScores) {
+            return;
+        }
         if (currentPlayer != null && (currentPlayer.getSkor() > 0 || currentPlayer.getCount() > 0)) {
-            System.out.println("Saving game data for player: " + currentPlayer.getUsername());
+            if (!quiet) System.out.println("Saving game data for player: " + currentPlayer.getUsername());
             databaseService.saveOrUpdatePlayer(currentPlayer);
         } else {
-            System.out.println("No game data to save");
+            if (!quiet) System.out.println("No game data to save");
         }
     }
     
     // timer action handler
     @Override
     public void actionPerformed(ActionEvent e) {
+        tick();
+    }
+    
+    // run one simulation step, used by the timer and by headless drivers
+    public void tick() {
         if (!gameRunning) return;
         
         updateGame();
@@ -101,28 +196,39 @@ public class GameViewModel implements ActionListener {
     
     // main game update loop
     private void updateGame() {
-        // update character animation
-        character.updateAnimation();
+        // apply input sampled for this tick before anything moves
+        applyInput();
+        
+        // advance session clock by one fixed step
+        gameTime += TICK_MILLIS;
+        clock.advance();
         
         // update lasso position
         lasso.setStartX(character.getX() + character.getWidth() / 2);
         lasso.setStartY(character.getY() + character.getHeight() / 2);
         lasso.update();
+
+        // run the events due this tick: spawn interval, despawns, cutscene phases, forced basket entry
+        timers.advanceTo(clock.getTick(), timerHandler);
+        if (despawnCount > 0) {
+            removeDespawnedBalls();
+        }
         
-        // update basket animation
-        if (basket != null) {
-            basket.updateAnimation();
-        }        // move balls and handle scoring (optimized - move all balls that are not fully processed)
-        for (int i = skillBalls.size() - 1; i >= 0; i--) {
-            SkillBall ball = skillBalls.get(i);
+        // free balls fly on their trajectories, unless gravity bends them
+        if (gravity != null) {
+            stepGravity();
+        }
+        
+        // step balls in a cutscene or moving to the basket and handle scoring
+        int anchorX = character.getX() + character.getWidth() / 2;
+        int anchorY = character.getY() + character.getHeight() / 2;
+        for (int i = activeBalls.size() - 1; i >= 0; i--) {
+            SkillBall ball = activeBalls.get(i);
             
             // move ball if it's not collected or if it's in cutscene or moving to basket
             if (!ball.isCollected() || ball.isInCutscene() || ball.isMovingToBasket()) {
-                ball.move(); // this now includes animation update            
-                // force complete basket entry if it's taking too long
-                if (ball.isMovingToBasket() && ball.shouldForceBasketEntry()) {
-                    ball.forceCompleteBasketEntry();
-                }
+                ball.move(gameTime);
+                ball.stepRope(anchorX, anchorY);
             }
             
             // check every frame for ready to score balls
@@ -133,106 +239,497 @@ public class GameViewModel implements ActionListener {
             
             // remove balls that completed cutscene
             if (!ball.isInCutscene() && ball.isCollected()) {
-                skillBalls.remove(i);
-                continue;
-            }
-            
-            // only remove balls that are off screen and not in cutscene and not moving to basket and not collected
-            if (!ball.isInCutscene() && !ball.isMovingToBasket() && !ball.isCollected() && 
-                (ball.getX() < -100 || ball.getX() > gameWidth + 100 || 
-                 ball.getY() < -100 || ball.getY() > gameHeight + 100)) {
-                skillBalls.remove(i);
+                skillBalls.remove(ball);
+                activeBalls.remove(i);
             }
         }
         
-        // spawn new balls
-        spawnBalls();
+        // spawn a new ball once the interval passed
+        if (spawnDue) {
+            spawnBalls();
+        }
         
         // check lasso collisions
         checkLassoCollisions();
     }
 
-    // spawn new skill balls
+    // spawn a new skill ball, called once the spawn interval (1.5 seconds) passed
     private void spawnBalls() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = gameTime;
         
-        // limit maximum number of balls on screen for better performance
-        if (skillBalls.size() >= 10) {
+        // limit maximum number of balls on screen for better performance, the spawn stays due
+        if (skillBalls.size() >= maxBalls) {
             return;
         }
         
-        if (currentTime - lastBallSpawn > 1500) { // spawn every 1.5 seconds
-            Color color = getRandomColor();
-            SkillBall newBall = null;
-            
-            // spawn direction (top or bottom)
-            int spawnDirection = random.nextInt(2); // 0=top, 1=bottom
-            
-            // define vertical spawn ranges (not too close to edges)
-            int topSpawnY = gameHeight / 6; // 1/6 of the screen height from top
-            int bottomSpawnY = gameHeight - (gameHeight / 5); // 1/5 of the screen height from bottom
-            
-            switch (spawnDirection) {
-                case 0 -> { // top row - moving left
-                    // for top balls, spawn at the right edge
-                    newBall = new SkillBall(
-                        gameWidth + 50, // start off-screen to the right
-                        random.nextInt(topSpawnY / 2) + (topSpawnY / 2), // random y in the top third
-                        color, 
-                        false // moving left
-                    );
-                    newBall.setSpeed(2 + random.nextInt(3)); // speed 2-4
-                    
-                    // no vertical movement
-                    newBall.setMovingDown(false);
-                    newBall.setVerticalSpeed(0);
+        spawnDue = false;
+        int batch = Math.min(spawnBatch, maxBalls - skillBalls.size());
+        for (int i = 0; i < batch; i++) {
+            spawnBall(currentTime);
+        }
+        
+        lastBallSpawn = currentTime;
+        scheduleSpawn();
+    }
+    
+    // generator seed of the spawn with this index, mixed so the streams of different spawns are unrelated
+    private long spawnSeed(long index) {
+        return mix64(seed + mix64(index + 1));
+    }
+
+    // splitmix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // one ball of a spawn at a random edge
+    private void spawnBall(long currentTime) {
+        // reseed per ball so snapshots only need the spawn count
+        random = new SplittableRandom(spawnSeed(spawnCount++));
+        Color color = getRandomColor();
+        SkillBall newBall = null;
+        
+        // spawn direction (top or bottom)
+        int spawnDirection = random.nextInt(2); // 0=top, 1=bottom
+        
+        // define vertical spawn ranges (not too close to edges)
+        int topSpawnY = gameHeight / 6; // 1/6 of the screen height from top
+        int bottomSpawnY = gameHeight - (gameHeight / 5); // 1/5 of the screen height from bottom
+        
+        switch (spawnDirection) {
+            case 0 -> { // top row - moving left
+                // for top balls, spawn at the right edge
+                newBall = new SkillBall(
+                    gameWidth + 50, // start off-screen to the right
+                    random.nextInt(topSpawnY / 2) + (topSpawnY / 2), // random y in the top third
+                    color, 
+                    false, // moving left
+                    random
+                );
+                newBall.setSpeed(2 + random.nextInt(3)); // speed 2-4
+                
+                // no vertical movement
+                newBall.setMovingDown(false);
+                newBall.setVerticalSpeed(0);
+            }
+            case 1 -> { // bottom row - moving right
+                // for bottom balls, spawn at the left edge
+                newBall = new SkillBall(
+                    -50, // start off-screen to the left
+                    random.nextInt(topSpawnY / 2) + bottomSpawnY, // random y in the bottom third
+                    color, 
+                    true, // moving right
+                    random
+                );
+                newBall.setSpeed(2 + random.nextInt(3)); // speed 2-4
+                
+                // no vertical movement
+                newBall.setMovingDown(false);
+                newBall.setVerticalSpeed(0);
+            }
+        }
+        
+        if (newBall != null) {
+            newBall.setId((int) spawnCount);
+            newBall.setAnimationPhase(currentTime);
+            newBall.setQuiet(quiet);
+            skillBalls.add(newBall);
+            if (gravity != null) {
+                newBall.startDrift();
+            } else {
+                launch(newBall);
+            }
+        }
+    }
+    
+    // handle a timed event on the tick it is due
+    private void onTimer(int type, SkillBall ball, long tick) {
+        switch (type) {
+            case EVENT_SPAWN -> spawnDue = true;
+            case EVENT_DESPAWN -> {
+                // flying balls move with the clock, their trajectory left the screen this tick
+                ball.setDespawnTimer(null);
+                if (ball.isFlying()) {
+                    ball.setDespawned(true);
+                    despawnCount++;
                 }
-                case 1 -> { // bottom row - moving right
-                    // for bottom balls, spawn at the left edge
-                    newBall = new SkillBall(
-                        -50, // start off-screen to the left
-                        random.nextInt(topSpawnY / 2) + bottomSpawnY, // random y in the bottom third
-                        color, 
-                        true // moving right
-                    );
-                    newBall.setSpeed(2 + random.nextInt(3)); // speed 2-4
-                    
-                    // no vertical movement
-                    newBall.setMovingDown(false);
-                    newBall.setVerticalSpeed(0);
+            }
+            case EVENT_CUTSCENE_PULL -> ball.beginCutscenePull();
+            case EVENT_READY_TO_SCORE -> ball.markReadyToScore();
+            case EVENT_CUTSCENE_END -> ball.finishCutscene();
+            // force complete basket entry if it's taking too long
+            case EVENT_FORCE_BASKET_ENTRY -> ball.forceCompleteBasketEntry();
+            default -> throw new IllegalStateException("Unknown timer event " + type);
+        }
+    }
+    
+    // first tick whose session time is at or after time (ms)
+    private static long tickAt(long time) {
+        return Math.floorDiv(time + TICK_MILLIS - 1, TICK_MILLIS);
+    }
+    
+    // next spawn once more than the interval passed since the last one
+    private void scheduleSpawn() {
+        timers.schedule(tickAt(lastBallSpawn + SPAWN_INTERVAL + 1), EVENT_SPAWN, null);
+    }
+    
+    // cutscene phase transitions of a caught ball, phases already passed run on the next tick
+    private void scheduleCutscene(SkillBall ball) {
+        long start = ball.getCutsceneStartTime();
+        timers.schedule(tickAt(start + SkillBall.CUTSCENE_PULL_TIME), EVENT_CUTSCENE_PULL, ball);
+        timers.schedule(tickAt(start + SkillBall.CUTSCENE_READY_TIME), EVENT_READY_TO_SCORE, ball);
+        timers.schedule(tickAt(start + SkillBall.CUTSCENE_END_TIME), EVENT_CUTSCENE_END, ball);
+    }
+    
+    // put a ball on its straight line and schedule its despawn for the tick it leaves the screen
+    private void launch(SkillBall ball) {
+        ball.launch(clock, -100, gameWidth + 100, -100, gameHeight + 100);
+        ball.setDespawnTimer(timers.schedule(ball.getDespawnTick(), EVENT_DESPAWN, ball));
+    }
+    
+    // gravity mode: rebuild the quadtree from the blackhole and free balls, step every free ball by its pull,
+    // then drop balls that left the screen or fell into the blackhole
+    private void stepGravity() {
+        gravityCenterX = basket.getX() + basket.getWidth() / 2;
+        gravityCenterY = basket.getY() + basket.getHeight() / 2;
+        gravity.clear();
+        gravity.addBody(gravityCenterX, gravityCenterY, BLACKHOLE_MASS);
+        int count = skillBalls.size();
+        if (bodyOf.length < count) {
+            bodyOf = new int[Math.max(count, bodyOf.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            SkillBall ball = skillBalls.get(i);
+            bodyOf[i] = ball.isFree() ? gravity.addBody(ball.getX(), ball.getY(), ball.getGravityMass()) : -1;
+        }
+        gravity.build();
+        
+        // the tree is only read from here on, so chunks of balls can be stepped in parallel
+        ballUpdate.run(count, driftKernel);
+        removeMarkedBalls();
+    }
+    
+    // step the free balls of one chunk and mark the ones to remove
+    private boolean driftBalls(BallUpdate.Chunk chunk, int from, int to) {
+        int swallowRadius = basket.getWidth() / 4;
+        for (int i = from; i < to; i++) {
+            int body = bodyOf[i];
+            if (body < 0) {
+                continue;
+            }
+            SkillBall ball = skillBalls.get(i);
+            gravity.computeAcceleration(body, chunk.walkStack);
+            ball.drift(gravity.getAccelerationX(body), gravity.getAccelerationY(body));
+            long dx = ball.getX() - gravityCenterX;
+            long dy = ball.getY() - gravityCenterY;
+            // swallowed by the blackhole or drifted far off screen
+            if (dx * dx + dy * dy < (long) swallowRadius * swallowRadius
+                    || ball.getX() < -100 || ball.getX() > gameWidth + 100
+                    || ball.getY() < -100 || ball.getY() > gameHeight + 100) {
+                chunk.remove(i);
+            }
+        }
+        return false;
+    }
+    
+    // drop the balls marked by the last ball update in one pass, keeping list order
+    private void removeMarkedBalls() {
+        int size = skillBalls.size();
+        int read = 0;
+        int write = 0;
+        for (int c = 0; c < ballUpdate.getChunkCount(); c++) {
+            BallUpdate.Chunk chunk = ballUpdate.getChunk(c);
+            for (int k = 0; k < chunk.getRemovedCount(); k++) {
+                int removed = chunk.getRemoved(k);
+                while (read < removed) {
+                    skillBalls.set(write++, skillBalls.get(read++));
                 }
+                read++;
             }
-            
-            if (newBall != null) {
-                skillBalls.add(newBall);
+        }
+        if (read == write) {
+            return;
+        }
+        while (read < size) {
+            skillBalls.set(write++, skillBalls.get(read++));
+        }
+        skillBalls.subList(write, size).clear();
+    }
+    
+    // drop the balls despawned by this tick's timers in one pass, keeping list order
+    private void removeDespawnedBalls() {
+        int size = skillBalls.size();
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            SkillBall ball = skillBalls.get(read);
+            if (!ball.isDespawned()) {
+                skillBalls.set(write++, ball);
             }
-            
-            lastBallSpawn = currentTime;
         }
+        skillBalls.subList(write, size).clear();
+        despawnCount = 0;
+    }
+    
+    // turn on gravity mode with the given Barnes-Hut theta (see GravityField), or change theta;
+    // balls already flying start drifting with their current speed
+    public void setGravity(double theta) {
+        if (gravity != null) {
+            gravity.setTheta(theta);
+            return;
+        }
+        gravity = new GravityField(theta, GRAVITY_SOFTENING);
+        for (SkillBall ball : skillBalls) {
+            if (ball.isFlying()) {
+                timers.cancel(ball.getDespawnTimer());
+                ball.setDespawnTimer(null);
+                ball.startDrift();
+            }
+        }
+    }
+    
+    // turn the per-event console log of this session, its lasso and its balls on or off
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+        lasso.setQuiet(quiet);
+        for (SkillBall ball : skillBalls) {
+            ball.setQuiet(quiet);
+        }
+    }
+    
+    // most balls on screen and balls per spawn; set before the session starts
+    public void setBallLimits(int maxBalls, int spawnBatch) {
+        this.maxBalls = Math.max(1, maxBalls);
+        this.spawnBatch = Math.max(1, spawnBatch);
+    }
+    
+    public int getMaxBalls() {
+        return maxBalls;
     }
+    
+    public int getSpawnBatch() {
+        return spawnBatch;
+    }
+    
+    // ball count from which per-ball work runs on the ForkJoinPool, results are the same either way
+    public void setParallelThreshold(int threshold) {
+        ballUpdate.setThreshold(threshold);
+    }
+    
+    public int getParallelThreshold() {
+        return ballUpdate.getThreshold();
+    }
+    
+    public boolean isGravityEnabled() {
+        return gravity != null;
+    }
+    
+    // Barnes-Hut theta of gravity mode, NaN while it is off
+    public double getGravityTheta() {
+        return gravity == null ? Double.NaN : gravity.getTheta();
+    }
+    
+    // hand a ball that left its trajectory to the per-tick loop, keeping list (spawn id) order
+    private void activate(SkillBall ball) {
+        int position = activeBalls.size();
+        while (position > 0 && activeBalls.get(position - 1).getId() > ball.getId()) {
+            position--;
+        }
+        activeBalls.add(position, ball);
+    }
+    
       // process ball scoring when it actually reaches the basket
     private void processBallScore(SkillBall ball) {
         // process scoring based on ball type
         if ("gas_planet".equals(ball.getBallType())) {
             gasPlanetCount++;
             character.takeDamage(1);
-            System.out.println("Gas planet entered basket! HP reduced to: " + character.getHp());
+            if (!quiet) System.out.println("Gas planet entered basket! HP reduced to: " + character.getHp());
+            publish(GameEventBus.GAS_PLANET_HIT, character.getHp());
         
             if (!character.isAlive()) {
-                System.out.println("Game over! HP reduced to 0.");
+                if (!quiet) System.out.println("Game over! HP reduced to 0.");
                 stopGame();
                 gameOver = true;
+                publish(GameEventBus.GAME_OVER, currentPlayer.getSkor());
             }
         } else {
             // add score for non-gas planets
             currentPlayer.setSkor(currentPlayer.getSkor() + ball.getValue());
-            System.out.println(ball.getBallType() + " entered basket! Score: +" + ball.getValue() + " = " + currentPlayer.getSkor());
+            if (!quiet) System.out.println(ball.getBallType() + " entered basket! Score: +" + ball.getValue() + " = " + currentPlayer.getSkor());
+            publish(GameEventBus.BALL_SCORED, GameState.typeIndex(ball.getBallType()));
         }
         
         currentPlayer.setCount(currentPlayer.getCount() + 1);
-        System.out.println("Ball scored! Total score: " + currentPlayer.getSkor());
+        if (!quiet) System.out.println("Ball scored! Total score: " + currentPlayer.getSkor());
     }
 
+    // write full simulation state, pending input is excluded since it comes from the input stream
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeInt(SNAPSHOT_LAYOUT);
+        out.writeLong(gameTime);
+        out.writeLong(clock.getTick());
+        out.writeLong(lastBallSpawn);
+        out.writeLong(spawnCount);
+        out.writeBoolean(gameRunning);
+        out.writeBoolean(gameOver);
+        out.writeInt(gasPlanetCount);
+        out.writeUTF(currentPlayer.getUsername());
+        out.writeInt(currentPlayer.getSkor());
+        out.writeInt(currentPlayer.getCount());
+        character.writeState(out);
+        lasso.writeState(out);
+        basket.writeState(out);
+        out.writeInt(skillBalls.size());
+        for (SkillBall ball : skillBalls) {
+            ball.writeState(out);
+        }
+    }
+    
+    // restore state written by writeSnapshot into this session
+    public void restoreSnapshot(DataInput in) throws IOException {
+        int layout = in.readInt();
+        if (layout != SNAPSHOT_LAYOUT) {
+            throw new IOException("Unsupported snapshot layout " + layout + ", expected " + SNAPSHOT_LAYOUT);
+        }
+        gameTime = in.readLong();
+        clock.setTick(in.readLong());
+        lastBallSpawn = in.readLong();
+        spawnCount = in.readLong();
+        gameRunning = in.readBoolean();
+        gameOver = in.readBoolean();
+        gasPlanetCount = in.readInt();
+        currentPlayer = new Player(in.readUTF(), in.readInt(), in.readInt());
+        character.readState(in);
+        lasso.readState(in);
+        basket.readState(in);
+        skillBalls.clear();
+        activeBalls.clear();
+        // timed events are not stored, schedule them again from the restored state
+        timers.reset(clock.getTick());
+        spawnDue = false;
+        scheduleSpawn();
+        int ballCount = in.readInt();
+        for (int i = 0; i < ballCount; i++) {
+            SkillBall ball = SkillBall.readState(in);
+            ball.setQuiet(quiet);
+            skillBalls.add(ball);
+            if (ball.isCollected() || ball.isInCutscene() || ball.isMovingToBasket()) {
+                if (ball.isInCutscene()) {
+                    scheduleCutscene(ball);
+                }
+                if (ball.isMovingToBasket()) {
+                    timers.schedule(tickAt(ball.getBasketEntryDeadline()), EVENT_FORCE_BASKET_ENTRY, ball);
+                }
+                activeBalls.add(ball);
+            } else if (gravity == null) {
+                launch(ball);
+            }
+        }
+        inputMask = 0;
+        lassoRequested = false;
+    }
+    
+    // start a mirror of a remote session, state only changes through applyState
+    public void startMirror(String username) {
+        currentPlayer = new Player(username, 0, 0);
+        persistScores = false;
+        gameRunning = false;
+    }
+    
+    // capture the renderable state of this session into a reusable state object
+    public void captureState(GameState state) {
+        int[] f = state.fields;
+        state.tick = clock.getTick();
+        f[GameState.CHARACTER_X] = character.getX();
+        f[GameState.CHARACTER_Y] = character.getY();
+        f[GameState.HP] = character.getHp();
+        f[GameState.ANIMATION] = character.getState().ordinal();
+        f[GameState.LASSO_FLAGS] = (lasso.isActive() ? 1 : 0) | (lasso.isRetracting() ? 2 : 0);
+        f[GameState.LASSO_START_X] = lasso.getStartX();
+        f[GameState.LASSO_START_Y] = lasso.getStartY();
+        f[GameState.LASSO_END_X] = lasso.getEndX();
+        f[GameState.LASSO_END_Y] = lasso.getEndY();
+        f[GameState.SCORE] = currentPlayer.getSkor();
+        f[GameState.COUNT] = currentPlayer.getCount();
+        f[GameState.GAME_OVER] = gameOver ? 1 : 0;
+        f[GameState.LASSO_LENGTH] = lasso.getCurrentLength();
+        long angleBits = Double.doubleToRawLongBits(lasso.getAngle());
+        f[GameState.LASSO_ANGLE_HIGH] = (int) (angleBits >>> 32);
+        f[GameState.LASSO_ANGLE_LOW] = (int) angleBits;
+        
+        state.ensureBallCapacity(skillBalls.size());
+        state.ballCount = skillBalls.size();
+        for (int i = 0; i < skillBalls.size(); i++) {
+            SkillBall ball = skillBalls.get(i);
+            state.ballIds[i] = ball.getId();
+            state.ballTypes[i] = (byte) GameState.typeIndex(ball.getBallType());
+            state.ballX[i] = ball.getX();
+            state.ballY[i] = ball.getY();
+            state.ballFlags[i] = (byte) ((ball.isCollected() ? GameState.BALL_COLLECTED : 0)
+                    | (ball.isInCutscene() ? GameState.BALL_IN_CUTSCENE : 0)
+                    | (ball.isLassoed() ? GameState.BALL_LASSOED : 0)
+                    | (ball.isMovingToBasket() ? GameState.BALL_MOVING_TO_BASKET : 0)
+                    | (ball.isMovingRight() ? GameState.BALL_MOVING_RIGHT : 0));
+            state.ballSpeeds[i] = (byte) ball.getSpeed();
+        }
+    }
+    
+    // overwrite the local mirror with state received from a server
+    public void applyState(GameState state) {
+        int[] f = state.fields;
+        clock.setTick(state.tick);
+        gameTime = state.tick * TICK_MILLIS;
+        character.setX(f[GameState.CHARACTER_X]);
+        character.setY(f[GameState.CHARACTER_Y]);
+        character.setHp(f[GameState.HP]);
+        character.setState(GameCharacter.AnimationState.values()[f[GameState.ANIMATION]], gameTime);
+        lasso.setActive((f[GameState.LASSO_FLAGS] & 1) != 0);
+        lasso.setRetracting((f[GameState.LASSO_FLAGS] & 2) != 0);
+        lasso.setStartX(f[GameState.LASSO_START_X]);
+        lasso.setStartY(f[GameState.LASSO_START_Y]);
+        lasso.setEndX(f[GameState.LASSO_END_X]);
+        lasso.setEndY(f[GameState.LASSO_END_Y]);
+        lasso.setCurrentLength(f[GameState.LASSO_LENGTH]);
+        lasso.setAngle(Double.longBitsToDouble(((long) f[GameState.LASSO_ANGLE_HIGH] << 32)
+                | (f[GameState.LASSO_ANGLE_LOW] & 0xFFFFFFFFL)));
+        currentPlayer.setSkor(f[GameState.SCORE]);
+        currentPlayer.setCount(f[GameState.COUNT]);
+        gameOver = f[GameState.GAME_OVER] != 0;
+        
+        // drop balls the server no longer has, keep existing ones so sprites are not reloaded
+        for (int i = skillBalls.size() - 1; i >= 0; i--) {
+            if (state.indexOfBall(skillBalls.get(i).getId()) < 0) {
+                skillBalls.remove(i);
+            }
+        }
+        for (int i = 0; i < state.ballCount; i++) {
+            SkillBall ball = null;
+            for (SkillBall existing : skillBalls) {
+                if (existing.getId() == state.ballIds[i]) {
+                    ball = existing;
+                    break;
+                }
+            }
+            if (ball == null) {
+                ball = new SkillBall(state.ballIds[i], GameState.BALL_TYPES[state.ballTypes[i]]);
+                ball.setAnimationPhase(gameTime);
+                ball.setQuiet(quiet);
+                skillBalls.add(ball);
+            }
+            int flags = state.ballFlags[i];
+            ball.setX(state.ballX[i]);
+            ball.setY(state.ballY[i]);
+            ball.setCollected((flags & GameState.BALL_COLLECTED) != 0);
+            ball.setInCutscene((flags & GameState.BALL_IN_CUTSCENE) != 0);
+            ball.setLassoed((flags & GameState.BALL_LASSOED) != 0);
+            ball.setMovingToBasket((flags & GameState.BALL_MOVING_TO_BASKET) != 0);
+            ball.setMovingRight((flags & GameState.BALL_MOVING_RIGHT) != 0);
+            ball.setSpeed(state.ballSpeeds[i]);
+        }
+    }
+    
     // get random color for skill balls
     private Color getRandomColor() {
         Color[] colors = {
@@ -245,32 +742,33 @@ public class GameViewModel implements ActionListener {
     private void checkLassoCollisions() {
         if (!lasso.isActive()) return;
         
-        int lassoX = lasso.getEndX();
-        int lassoY = lasso.getEndY();
-        int radiusSquared = 60 * 60;
+        // first ball in list order within reach of the lasso end, searched in chunks
+        ballUpdate.run(skillBalls.size(), catchKernel);
+        int caught = -1;
+        for (int c = 0; c < ballUpdate.getChunkCount() && caught < 0; c++) {
+            caught = ballUpdate.getChunk(c).caught;
+        }
         
-        for (int i = 0; i < skillBalls.size(); i++) {
-            SkillBall ball = skillBalls.get(i);
-            if (!ball.isCollected() && !ball.isInCutscene()) {
-                int dx = lassoX - ball.getX();
-                int dy = lassoY - ball.getY();
-                int distanceSquared = dx * dx + dy * dy;                  
-                if (distanceSquared < radiusSquared) {
-                    // ball caught! start cutscene animation
-                    ball.startCutscene(basket.getX() + basket.getWidth()/2, basket.getY() + basket.getHeight()/2);
-                    // Immediately reset lasso for next throw instead of retracting
-                    lasso.setActive(false);
-                    lasso.setCurrentLength(0);
-                    System.out.println("Ball caught! Starting cutscene animation...");
-                    break;
-                }
-            }        
+        if (caught >= 0) {
+            // ball caught! start cutscene animation
+            SkillBall ball = skillBalls.get(caught);
+            ball.startCutscene(basket.getX() + basket.getWidth()/2, basket.getY() + basket.getHeight()/2, gameTime);
+            timers.cancel(ball.getDespawnTimer());
+            ball.setDespawnTimer(null);
+            scheduleCutscene(ball);
+            activate(ball);
+            // Immediately reset lasso for next throw instead of retracting
+            lasso.setActive(false);
+            lasso.setCurrentLength(0);
+            if (!quiet) System.out.println("Ball caught! Starting cutscene animation...");
+            publish(GameEventBus.BALL_CAUGHT, GameState.typeIndex(ball.getBallType()));
         }
         // Let lasso extend fully before retracting if missed
         // Only check for missed lasso when it reaches max length
         if (lasso.isActive() && !lasso.isRetracting() && lasso.getCurrentLength() >= lasso.getMaxLength() - 10) {
+            // balls in a cutscene are all in the active list
             boolean ballCaught = false;
-            for (SkillBall ball : skillBalls) {
+            for (SkillBall ball : activeBalls) {
                 if (ball.isInCutscene()) {
                     ballCaught = true;
                     break;
@@ -279,49 +777,151 @@ public class GameViewModel implements ActionListener {
             if (!ballCaught) {
                 // Give player time to see the lasso at full extension before retracting
                 lasso.setRetracting(true);
-                System.out.println("Lasso missed targets, now retracting...");
+                if (!quiet) System.out.println("Lasso missed targets, now retracting...");
+                publish(GameEventBus.LASSO_MISSED, 0);
             }
         }
     }
     
+    // find the first free ball of one chunk within 60 px of the lasso end
+    private boolean findCatch(BallUpdate.Chunk chunk, int from, int to) {
+        int count = to - from;
+        for (int k = 0; k < count; k++) {
+            SkillBall ball = skillBalls.get(from + k);
+            chunk.x[k] = ball.getX();
+            chunk.y[k] = ball.getY();
+            chunk.eligible[k] = !ball.isCollected() && !ball.isInCutscene();
+        }
+        int hit = kernels.firstWithin(chunk.x, chunk.y, chunk.eligible, count, lasso.getEndX(), lasso.getEndY(), 60 * 60);
+        if (hit < 0) {
+            return false;
+        }
+        chunk.caught = from + hit;
+        return true;
+    }
+    
+    // apply held input and pending lasso click for the current tick
+    private void applyInput() {
+        int mask = inputMask;
+        boolean lassoThrown = lassoRequested;
+        lassoRequested = false;
+        
+        if (inputListener != null) {
+            inputListener.onTickInput(clock.getTick(), mask, lassoThrown, lassoTargetX, lassoTargetY);
+        }
+        
+        applyMovement(mask);
+        if (lassoThrown) {
+            throwLasso(lassoTargetX, lassoTargetY);
+        }
+    }
+    
+    // advance only the player controlled part of a tick: movement, lasso throw and lasso extension.
+    // used by clients to predict their own character ahead of the server, same order as updateGame
+    public void predictStep(int mask, boolean lassoThrown, int targetX, int targetY) {
+        applyMovement(mask);
+        if (lassoThrown) {
+            throwLasso(targetX, targetY);
+        }
+        lasso.setStartX(character.getX() + character.getWidth() / 2);
+        lasso.setStartY(character.getY() + character.getHeight() / 2);
+        lasso.update();
+    }
+    
+    // move the character by one step for the held direction bits
+    private void applyMovement(int mask) {
+        if ((mask & INPUT_UP) != 0) {
+            moveCharacterUp();
+        }
+        if ((mask & INPUT_DOWN) != 0) {
+            moveCharacterDown();
+        }
+        if ((mask & INPUT_LEFT) != 0) {
+            moveCharacterLeft();
+        }
+        if ((mask & INPUT_RIGHT) != 0) {
+            moveCharacterRight();
+        }
+        if (mask == 0) {
+            setCharacterIdle();
+        }
+    }
+    
+    // set held direction keys, applied on every following tick
+    public void setInput(int mask) {
+        this.inputMask = mask;
+    }
+    
+    public int getInput() {
+        return inputMask;
+    }
+    
+    // queue a lasso throw for the next tick
+    public void requestLasso(int targetX, int targetY) {
+        lassoRequested = true;
+        lassoTargetX = targetX;
+        lassoTargetY = targetY;
+    }
+    
+    public void setInputListener(InputListener listener) {
+        this.inputListener = listener;
+    }
+    
+    // queue gameplay events for a subscriber thread, null turns events off
+    public void setEventBus(GameEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+    
+    private void publish(int type, int arg) {
+        if (eventBus != null) {
+            eventBus.publish(type, arg);
+        }
+    }
+    
     // character movement methods
     public void moveCharacterUp() {
         if (character.getY() > 0) {
-            character.moveUp();
+            character.moveUp(gameTime);
         }
     }
     
     public void moveCharacterDown() {
         if (character.getY() < gameHeight - character.getHeight()) {
-            character.moveDown();
+            character.moveDown(gameTime);
         }
     }
     
     public void moveCharacterLeft() {
         if (character.getX() > 0) {
-            character.moveLeft();
+            character.moveLeft(gameTime);
         }
     }
     
     public void moveCharacterRight() {
         if (character.getX() < gameWidth - character.getWidth()) {
-            character.moveRight();
+            character.moveRight(gameTime);
         }
     }
     
     public void setCharacterIdle() {
-        character.setIdle();
+        character.setIdle(gameTime);
     }
       // throw lasso at target position
     public void throwLasso(int mouseX, int mouseY) {
-        System.out.println("throwLasso called with coordinates (" + mouseX + ", " + mouseY + ")");
-        System.out.println("Lasso active status: " + lasso.isActive() + ", Lasso retracting: " + lasso.isRetracting());
+        if (!quiet) {
+            System.out.println("throwLasso called with coordinates (" + mouseX + ", " + mouseY + ")");
+            System.out.println("Lasso active status: " + lasso.isActive() + ", Lasso retracting: " + lasso.isRetracting());
+        }
         
         if (!lasso.isActive()) {
             lasso.throwLasso(mouseX, mouseY);
-            System.out.println("Lasso throw command sent to lasso object");
+            if (!quiet) System.out.println("Lasso throw command sent to lasso object");
         } else {
-            System.out.println("Lasso is already active, cannot throw");
+            if (!quiet) System.out.println("Lasso is already active, cannot throw");
         }
     }
     
@@ -357,4 +957,28 @@ public class GameViewModel implements ActionListener {
     public int getPlayerHP() {
         return character.getHp();
     }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public long getGameTime() {
+        return gameTime;
+    }
+    
+    public long getTickCount() {
+        return clock.getTick();
+    }
+    
+    public boolean isGameRunning() {
+        return gameRunning;
+    }
+    
+    public int getGameWidth() {
+        return gameWidth;
+    }
+    
+    public int getGameHeight() {
+        return gameHeight;
+    }
 }
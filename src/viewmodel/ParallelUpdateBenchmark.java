@@ -0,0 +1,98 @@
+/******************************************
+ * Filename		: ParallelUpdateBenchmark.java
+ * Description	: Throughput and determinism check for the parallel ball update.
+ *                Runs the same gravity session (same seed, same scripted lasso throws) at 1k, 10k and
+ *                50k balls twice: once with every chunk on the calling thread and once forked on the
+ *                ForkJoinPool. The ball count is the spawn cap; balls are swallowed and leave the screen,
+ *                so the mean number actually on screen over the measured ticks is printed next to it.
+ *                Prints the time per tick of both and exits with 1 if the two sessions end in different snapshots.
+ * Project      : Catch the balls game
+ * Programmer	: Mochamad Zidan Rusdhiana
+ * Date			: 2025-07-24
+******************************************/
+package viewmodel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import model.AssetLoading;
+import model.GravityField;
+import model.SkillBall;
+
+public class ParallelUpdateBenchmark {
+    private static final int[] BALL_COUNTS = {1000, 10000, 50000};
+
+    // usage: java -Djava.awt.headless=true viewmodel.ParallelUpdateBenchmark [warmupTicks] [measuredTicks]
+    public static void main(String[] args) throws IOException {
+        int warmupTicks = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int measuredTicks = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        AssetLoading.setEnabled(false);
+
+        System.out.println("Workers: " + ForkJoinPool.getCommonPoolParallelism() + ", chunk size " + BallUpdate.CHUNK_SIZE
+                + ", gravity theta " + GravityField.DEFAULT_THETA);
+        System.out.println(String.format("%8s %10s %14s %14s %9s %10s",
+                "cap", "live balls", "sequential ms", "parallel ms", "speedup", "same"));
+        boolean allSame = true;
+        for (int balls : BALL_COUNTS) {
+            double[] millis = new double[2];
+            byte[][] snapshots = new byte[2][];
+            long liveBalls = 0;
+            for (int run = 0; run < 2; run++) {
+                GameViewModel viewModel = new GameViewModel(1280, 720, 99L);
+                viewModel.setQuiet(true);
+                viewModel.setGravity(GravityField.DEFAULT_THETA);
+                viewModel.setBallLimits(balls, balls);
+                viewModel.setParallelThreshold(run == 0 ? Integer.MAX_VALUE : 1);
+                viewModel.startSimulation("parallel-check");
+                long elapsed = 0;
+                for (int tick = 0; tick < warmupTicks + measuredTicks; tick++) {
+                    script(viewModel, tick);
+                    long start = System.nanoTime();
+                    viewModel.tick();
+                    if (tick >= warmupTicks) {
+                        elapsed += System.nanoTime() - start;
+                        if (run == 0) liveBalls += viewModel.getSkillBalls().size();
+                    }
+                }
+                millis[run] = elapsed / 1e6 / measuredTicks;
+                snapshots[run] = snapshot(viewModel);
+            }
+            boolean same = Arrays.equals(snapshots[0], snapshots[1]);
+            allSame &= same;
+            System.out.println(String.format("%8d %10.0f %14.3f %14.3f %8.2fx %10s",
+                    balls, liveBalls / (double) Math.max(1, measuredTicks),
+                    millis[0], millis[1], millis[0] / millis[1], same ? "yes" : "NO"));
+        }
+        if (!allSame) {
+            System.out.println("FAIL: parallel and sequential updates diverged");
+            System.exit(1);
+        }
+        System.out.println("OK: parallel and sequential updates end in the same session");
+    }
+
+    // walk around and throw the lasso at an on-screen ball every 20 ticks, the same for both runs
+    private static void script(GameViewModel viewModel, int tick) {
+        if (tick % 30 == 0) {
+            viewModel.setInput(1 << ((tick / 30) % 4));
+        }
+        if (tick % 20 == 0) {
+            List<SkillBall> balls = viewModel.getSkillBalls();
+            for (int i = 0; i < balls.size(); i++) {
+                SkillBall ball = balls.get(i);
+                if (ball.isFree() && ball.getX() > 0 && ball.getX() < viewModel.getGameWidth()) {
+                    viewModel.requestLasso(ball.getX(), ball.getY());
+                    break;
+                }
+            }
+        }
+    }
+
+    private static byte[] snapshot(GameViewModel viewModel) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        viewModel.writeSnapshot(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+}